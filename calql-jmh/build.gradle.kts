@@ -0,0 +1,71 @@
+plugins {
+    id("java")
+    id("checkstyle")
+}
+
+repositories {
+    mavenCentral()
+}
+
+group = rootProject.group
+version = rootProject.version
+description = "Benchmarks for CalQL."
+
+configurations {
+    compileClasspath {
+        resolutionStrategy.activateDependencyLocking()
+    }
+    runtimeClasspath {
+        resolutionStrategy.activateDependencyLocking()
+    }
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+dependencies {
+    implementation(project(":calql-query"))
+    implementation(libs.jmh.core)
+    annotationProcessor(libs.jmh.generator.annprocess)
+}
+
+tasks.withType<JavaCompile> {
+    options.compilerArgs.add("-Xlint:deprecation")
+    options.compilerArgs.add("-Xlint:unchecked")
+    options.encoding = "UTF-8"
+}
+
+// Runs benchmarks with the GC profiler by default, to report allocations in addition to throughput.
+//
+// ./gradlew :calql-jmh:jmh
+// ./gradlew :calql-jmh:jmh -Pjmh.args="StreamerBenchmark.naive -p years=1 -prof gc"
+tasks.register<JavaExec>("jmh") {
+    description = "Runs JMH benchmarks."
+    group = "verification"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args((project.findProperty("jmh.args")?.toString() ?: "-prof gc").split(" ").filter { it.isNotEmpty() })
+    javaLauncher.set(javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    })
+}
+
+tasks.withType<Checkstyle> {
+    outputs.upToDateWhen { false }
+    javaLauncher.set(javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    })
+    ignoreFailures = false
+    maxWarnings = 0
+}
+
+checkstyle {
+    toolVersion = libs.versions.checkstyle.get()
+    configFile = file("${rootProject.projectDir}/config/checkstyle/checkstyle.xml")
+    configProperties = mapOf(
+        "org.checkstyle.google.suppressionfilter.config" to "${rootProject.projectDir}/config/checkstyle/checkstyle-suppressions.xml"
+    )
+}
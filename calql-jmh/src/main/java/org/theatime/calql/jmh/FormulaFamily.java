@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.jmh;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import org.theatime.calql.query.And;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.Not;
+import org.theatime.calql.query.Or;
+import org.theatime.calql.query.date.AfterDayOfMonth;
+import org.theatime.calql.query.date.AfterYear;
+import org.theatime.calql.query.date.BeforeDayOfMonth;
+import org.theatime.calql.query.date.BeforeYear;
+import org.theatime.calql.query.date.EitherDate;
+import org.theatime.calql.query.date.EitherDayOfMonth;
+import org.theatime.calql.query.date.EitherDayOfWeek;
+import org.theatime.calql.query.date.EitherMonth;
+
+/**
+ * Builds families of formulae of dates for benchmarks, which grow by sizes, to be used as {@code @Param} values.
+ *
+ * <ul>
+ * <li>{@code andOfOrs}: an AND of {@code 2 * size} ORs of two atoms, whose DNF has {@code 4^size} conjunctions
+ * <li>{@code alternating}: alternating OR and AND of depth {@code size + 1} with fan-out 2, whose DNF grows exponentially by its leaves
+ * <li>{@code negated}: NOT of {@code alternating}, which is normalized by De Morgan's laws
+ * <li>{@code schedule}: an OR of {@code size} realistic schedule rules with holidays and weekends excluded
+ * </ul>
+ */
+final class FormulaFamily {
+    private FormulaFamily() {
+        // No instantiation.
+    }
+
+    static Formula<ChronoLocalDate> of(final String family, final int size) {
+        if ("andOfOrs".equals(family)) {
+            return andOfOrs(2 * size);
+        } else if ("alternating".equals(family)) {
+            return alternating(size + 1, true, 0);
+        } else if ("negated".equals(family)) {
+            return Not.of(alternating(size + 1, true, 0));
+        } else if ("schedule".equals(family)) {
+            return schedule(size);
+        }
+        throw new IllegalArgumentException("Unknown family: " + family);
+    }
+
+    private static Formula<ChronoLocalDate> andOfOrs(final int width) {
+        final ArrayList<Formula<ChronoLocalDate>> ors = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            ors.add(Or.of(EitherMonth.of(1 + i % 12), EitherDayOfMonth.of(1 + i % 28)));
+        }
+        return And.of(ors);
+    }
+
+    private static Formula<ChronoLocalDate> alternating(final int depth, final boolean or, final int seed) {
+        if (depth <= 1) {
+            return Or.of(EitherMonth.of(1 + seed % 12), EitherDayOfWeek.of(DayOfWeek.of(1 + seed % 7)));
+        }
+        final Formula<ChronoLocalDate> left = alternating(depth - 1, !or, seed * 2 + 1);
+        final Formula<ChronoLocalDate> right = alternating(depth - 1, !or, seed * 2 + 2);
+        return or ? Or.of(left, right) : And.of(left, right);
+    }
+
+    /**
+     * Builds rules like "the third Wednesday of each month except August, and the last business days of quarters".
+     */
+    private static Formula<ChronoLocalDate> schedule(final int rules) {
+        final ArrayList<LocalDate> holidays = new ArrayList<>();
+        for (int year = 2020; year < 2030; year++) {
+            holidays.add(LocalDate.of(year, 1, 1));
+            holidays.add(LocalDate.of(year, 5, 1));
+            holidays.add(LocalDate.of(year, 12, 25));
+        }
+        final Formula<ChronoLocalDate> workdays = And.of(
+                Not.of(Or.of(EitherDayOfWeek.of(DayOfWeek.SATURDAY), EitherDayOfWeek.of(DayOfWeek.SUNDAY))),
+                Not.of(EitherDate.of(holidays)));
+
+        final ArrayList<Formula<ChronoLocalDate>> ors = new ArrayList<>();
+        for (int i = 0; i < rules; i++) {
+            final int week = i % 4;
+            ors.add(And.of(
+                    AfterYear.orEqualTo(2020 + i % 5),
+                    BeforeYear.orEqualTo(2025 + i % 5),
+                    Or.of(EitherMonth.of(3, 6, 9, 12), Not.of(EitherMonth.of(8))),
+                    EitherDayOfWeek.of(DayOfWeek.of(1 + i % 5)),
+                    AfterDayOfMonth.orEqualTo(1 + week * 7),
+                    BeforeDayOfMonth.orEqualTo(7 + week * 7),
+                    workdays));
+        }
+        return Or.of(ors);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.jmh;
+
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.DisjunctiveNormalFormula;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.NegationNormalFormula;
+
+/**
+ * Benchmarks normalization of formulae into Negation Normal Form and Disjunctive Normal Form, and operations on
+ * large normalized formulae, by families of formulae growing by sizes.
+ *
+ * <p>Scores by {@code size} make scaling curves of a {@code family}. See {@link FormulaFamily} for the families.
+ * Run with {@code -prof gc} to get allocations per normalization in {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NormalizationBenchmark {
+    @Param({"andOfOrs", "alternating", "negated", "schedule"})
+    public String family;
+
+    @Param({"1", "2", "3", "4", "5", "6"})
+    public int size;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.formula = FormulaFamily.of(this.family, this.size);
+        this.sameFormula = FormulaFamily.of(this.family, this.size);
+        this.disjunctiveNormalForm = this.formula.toDisjunctiveNormalForm();
+        this.sameDisjunctiveNormalForm = this.sameFormula.toDisjunctiveNormalForm();
+    }
+
+    /**
+     * Normalizes into Negation Normal Form, which builds its Disjunctive Normal Form eagerly, too.
+     */
+    @Benchmark
+    public NegationNormalFormula<ChronoLocalDate> negationNormalForm() {
+        return this.formula.toNegationNormalForm();
+    }
+
+    /**
+     * Normalizes into Disjunctive Normal Form, including instrumentation by query listeners.
+     */
+    @Benchmark
+    public DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalForm() {
+        return this.formula.toDisjunctiveNormalForm();
+    }
+
+    @Benchmark
+    public void hashCodes(final Blackhole blackhole) {
+        blackhole.consume(this.formula.hashCode());
+        blackhole.consume(this.disjunctiveNormalForm.hashCode());
+    }
+
+    /**
+     * Compares equal formulae which are not identical, so that they are compared deeply.
+     */
+    @Benchmark
+    public void equalities(final Blackhole blackhole) {
+        blackhole.consume(this.formula.equals(this.sameFormula));
+        blackhole.consume(this.disjunctiveNormalForm.equals(this.sameDisjunctiveNormalForm));
+    }
+
+    /**
+     * Builds conjunctions of the Disjunctive Normal Form again, which computes their bounds from their atoms.
+     */
+    @Benchmark
+    public void conjunctionBounds(final Blackhole blackhole) {
+        for (final Conjunction<ChronoLocalDate> conjunction : this.disjunctiveNormalForm) {
+            final Conjunction<ChronoLocalDate> rebuilt = Conjunction.of(new ArrayList<>(conjunction));
+            blackhole.consume(rebuilt.earliest());
+            blackhole.consume(rebuilt.latest());
+            blackhole.consume(rebuilt.existsPossibly());
+        }
+    }
+
+    private Formula<ChronoLocalDate> formula;
+    private Formula<ChronoLocalDate> sameFormula;
+    private DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalForm;
+    private DisjunctiveNormalFormula<ChronoLocalDate> sameDisjunctiveNormalForm;
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.jmh;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.theatime.calql.query.Atom;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.date.AfterDayOfMonth;
+import org.theatime.calql.query.date.AfterMonth;
+import org.theatime.calql.query.date.AfterYear;
+import org.theatime.calql.query.date.BeforeDayOfMonth;
+import org.theatime.calql.query.date.BeforeMonth;
+import org.theatime.calql.query.date.BeforeYear;
+import org.theatime.calql.query.date.EitherDate;
+import org.theatime.calql.query.date.EitherDayOfMonth;
+import org.theatime.calql.query.date.EitherDayOfWeek;
+import org.theatime.calql.query.date.EitherMonth;
+import org.theatime.calql.query.date.EitherYear;
+
+/**
+ * Benchmarks {@link Conjunction#test(Comparable)} of a conjunction with a single atom, for each type of atoms.
+ *
+ * <p>An operation is a test of one date. Dates are random in 1900-2099 so that branches are not predicted trivially.
+ * The GC profiler's {@code gc.alloc.rate.norm} is the allocation per test then.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredicateBenchmark {
+    @Param({
+            "AfterYear", "BeforeYear", "EitherYear",
+            "AfterMonth", "BeforeMonth", "EitherMonth",
+            "AfterDayOfMonth", "BeforeDayOfMonth", "EitherDayOfMonth",
+            "EitherDayOfWeek", "EitherDate"})
+    public String atom;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random random = new Random(1L);
+        final long fromEpochDay = LocalDate.of(1900, 1, 1).toEpochDay();
+        final long toEpochDay = LocalDate.of(2099, 12, 31).toEpochDay();
+        this.dates = new LocalDate[DATES];
+        for (int i = 0; i < DATES; i++) {
+            this.dates[i] = LocalDate.ofEpochDay(fromEpochDay + (long) random.nextInt((int) (toEpochDay - fromEpochDay + 1L)));
+        }
+
+        final ArrayList<LocalDate> someDates = new ArrayList<>();
+        for (int i = 0; i < DATES; i += 2) {
+            someDates.add(this.dates[i]);
+        }
+        this.conjunction = Conjunction.of(atomOf(this.atom, someDates));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATES)
+    public int test() {
+        int matched = 0;
+        for (final LocalDate date : this.dates) {
+            if (this.conjunction.test(date)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    private static Atom<ChronoLocalDate> atomOf(final String name, final ArrayList<LocalDate> someDates) {
+        if ("AfterYear".equals(name)) {
+            return AfterYear.orEqualTo(2000);
+        } else if ("BeforeYear".equals(name)) {
+            return BeforeYear.orEqualTo(2000);
+        } else if ("EitherYear".equals(name)) {
+            return EitherYear.of(1950, 1970, 1990, 2010, 2030);
+        } else if ("AfterMonth".equals(name)) {
+            return AfterMonth.orEqualTo(7);
+        } else if ("BeforeMonth".equals(name)) {
+            return BeforeMonth.orEqualTo(6);
+        } else if ("EitherMonth".equals(name)) {
+            return EitherMonth.of(1, 4, 7, 10);
+        } else if ("AfterDayOfMonth".equals(name)) {
+            return AfterDayOfMonth.orEqualTo(16);
+        } else if ("BeforeDayOfMonth".equals(name)) {
+            return BeforeDayOfMonth.orEqualTo(15);
+        } else if ("EitherDayOfMonth".equals(name)) {
+            return EitherDayOfMonth.of(1, 10, 20);
+        } else if ("EitherDayOfWeek".equals(name)) {
+            return EitherDayOfWeek.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY);
+        } else if ("EitherDate".equals(name)) {
+            return EitherDate.of(someDates);
+        }
+        throw new IllegalArgumentException("Unknown atom: " + name);
+    }
+
+    private static final int DATES = 4096;
+
+    private LocalDate[] dates;
+    private Conjunction<ChronoLocalDate> conjunction;
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.jmh;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.theatime.calql.query.Atom;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.date.AfterYear;
+import org.theatime.calql.query.date.BeforeYear;
+import org.theatime.calql.query.date.EitherDate;
+import org.theatime.calql.query.date.EitherDayOfMonth;
+import org.theatime.calql.query.date.EitherDayOfWeek;
+import org.theatime.calql.query.date.EitherMonth;
+
+/**
+ * Builds conjunctions of dates for benchmarks by names of selectivities, to be used as {@code @Param} values.
+ *
+ * <ul>
+ * <li>{@code all}: every date
+ * <li>{@code weekday}: Monday to Friday, about 5/7
+ * <li>{@code monday}: Mondays, about 1/7
+ * <li>{@code first}: the first day of each month, about 1/30
+ * <li>{@code leap}: February 29, about 1/1461
+ * </ul>
+ */
+final class Selectivity {
+    private Selectivity() {
+        // No instantiation.
+    }
+
+    /**
+     * Returns a conjunction bounded by years, which is streamed naively.
+     */
+    static Conjunction<ChronoLocalDate> ranged(final String selectivity, final int fromYear, final int years) {
+        final ArrayList<Atom<ChronoLocalDate>> atoms = new ArrayList<>();
+        atoms.add(AfterYear.orEqualTo(fromYear));
+        atoms.add(BeforeYear.orEqualTo(fromYear + years - 1));
+        atoms.addAll(atoms(selectivity));
+        return Conjunction.of(atoms);
+    }
+
+    /**
+     * Returns a conjunction which enumerates every date in the years explicitly, which is streamed exactly.
+     */
+    static Conjunction<ChronoLocalDate> enumerated(final String selectivity, final int fromYear, final int years) {
+        final ArrayList<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = LocalDate.of(fromYear, 1, 1); date.getYear() < fromYear + years; date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        final ArrayList<Atom<ChronoLocalDate>> atoms = new ArrayList<>();
+        atoms.add(EitherDate.of(dates));
+        atoms.addAll(atoms(selectivity));
+        return Conjunction.of(atoms);
+    }
+
+    private static List<Atom<ChronoLocalDate>> atoms(final String selectivity) {
+        final ArrayList<Atom<ChronoLocalDate>> atoms = new ArrayList<>();
+        if ("all".equals(selectivity)) {
+            return atoms;
+        } else if ("weekday".equals(selectivity)) {
+            atoms.add(EitherDayOfWeek.notOf(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+        } else if ("monday".equals(selectivity)) {
+            atoms.add(EitherDayOfWeek.of(DayOfWeek.MONDAY));
+        } else if ("first".equals(selectivity)) {
+            atoms.add(EitherDayOfMonth.of(1));
+        } else if ("leap".equals(selectivity)) {
+            atoms.add(EitherMonth.of(2));
+            atoms.add(EitherDayOfMonth.of(29));
+        } else {
+            throw new IllegalArgumentException("Unknown selectivity: " + selectivity);
+        }
+        return atoms;
+    }
+}
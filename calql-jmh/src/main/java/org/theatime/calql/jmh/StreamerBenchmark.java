@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.jmh;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.Order;
+import org.theatime.calql.query.SourceStreamer;
+import org.theatime.calql.query.date.DefaultDateSourceStreamer;
+import org.theatime.calql.query.date.ExactDateSourceStreamer;
+import org.theatime.calql.query.date.NaiveDateSourceStreamer;
+
+/**
+ * Benchmarks streaming dates of a conjunction by source streamers, across selectivities, range lengths, and orders.
+ *
+ * <p>A benchmark operation streams all the matching dates of a conjunction. The number of dates emitted is reported
+ * as the {@code emitted} counter in dates per second. Divide {@code gc.alloc.rate} of the GC profiler by it to get
+ * the allocation per emitted date.
+ *
+ * <p>{@code naive} and {@code defaultOnRanged} stream a conjunction bounded by years. {@code exact} and
+ * {@code defaultOnEnumerated} stream the same dates from a conjunction which enumerates every date in the years.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamerBenchmark {
+    @Param({"all", "weekday", "monday", "first", "leap"})
+    public String selectivity;
+
+    @Param({"1", "10", "100"})
+    public int years;
+
+    @Param({"forward", "backward"})
+    public String direction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.ranged = Selectivity.ranged(this.selectivity, 1950, this.years);
+        this.enumerated = Selectivity.enumerated(this.selectivity, 1950, this.years);
+        if ("forward".equals(this.direction)) {
+            this.order = Order.FROM_EARLIEST_TO_LATEST;
+        } else if ("backward".equals(this.direction)) {
+            this.order = Order.FROM_LATEST_TO_EARLIEST;
+        } else {
+            throw new IllegalArgumentException("Unknown direction: " + this.direction);
+        }
+    }
+
+    /**
+     * Counts dates emitted per second.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Emitted {
+        public long emitted;
+    }
+
+    @Benchmark
+    public void naive(final Emitted counter, final Blackhole blackhole) {
+        stream(this.ranged, NAIVE, this.order, counter, blackhole);
+    }
+
+    @Benchmark
+    public void exact(final Emitted counter, final Blackhole blackhole) {
+        stream(this.enumerated, EXACT, this.order, counter, blackhole);
+    }
+
+    @Benchmark
+    public void defaultOnRanged(final Emitted counter, final Blackhole blackhole) {
+        stream(this.ranged, DEFAULT, this.order, counter, blackhole);
+    }
+
+    @Benchmark
+    public void defaultOnEnumerated(final Emitted counter, final Blackhole blackhole) {
+        stream(this.enumerated, DEFAULT, this.order, counter, blackhole);
+    }
+
+    private static void stream(
+            final Conjunction<ChronoLocalDate> conjunction,
+            final SourceStreamer<ChronoLocalDate, LocalDate> streamer,
+            final Order order,
+            final Emitted counter,
+            final Blackhole blackhole) {
+        try (final Stream<LocalDate> stream = conjunction.streamBy(streamer, order)) {
+            stream.forEach(date -> {
+                counter.emitted++;
+                blackhole.consume(date);
+            });
+        }
+    }
+
+    private static final NaiveDateSourceStreamer NAIVE = NaiveDateSourceStreamer.of();
+    private static final ExactDateSourceStreamer EXACT = ExactDateSourceStreamer.of();
+    private static final DefaultDateSourceStreamer DEFAULT = DefaultDateSourceStreamer.of();
+
+    private Conjunction<ChronoLocalDate> ranged;
+    private Conjunction<ChronoLocalDate> enumerated;
+    private Order order;
+}
@@ -36,6 +36,7 @@ dependencies {
     testImplementation(libs.bundles.junit5.implementation)
 
     testRuntimeOnly(libs.bundles.junit5.runtime)
+    testRuntimeOnly(libs.h2)
 }
 
 tasks.withType<JavaCompile> {
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Tests {@link Conjunction} with its atoms reordered by their pass rates and costs observed at runtime.
+ *
+ * <p>{@link Conjunction#test(Comparable)} tests atoms in their order in the conjunction. A cheap atom which rejects
+ * most targets is better tested first, but it pays for all the other atoms before it if it comes last.
+ *
+ * <p>It tests every atom of a sampled target, one of every {@code samplingInterval} targets, and measures its pass rate
+ * and cost. The other targets are tested in the current order, which is rejected at the first failing atom. Atoms are
+ * periodically reordered by {@code cost / (1 - passRate)} ascending, which minimizes the expected cost for independent
+ * atoms.
+ *
+ * <p>It is safe to be shared among threads. The statistics are counted in {@link LongAdder}s shared among threads,
+ * which are striped internally to avoid contention. Each thread counts only its intervals of sampling and reordering
+ * in its own {@link ThreadLocal}, which is discarded with the thread. The statistics read in reordering may be slightly
+ * inconsistent with each other while other threads are counting. It does not matter for ordering.
+ */
+public final class AdaptiveConjunction<T extends Comparable<T>> implements Predicate<T> {
+    private AdaptiveConjunction(
+            final Conjunction<T> conjunction,
+            final int samplingInterval,
+            final int reorderingInterval,
+            final LongSupplier nanoClock) {
+        this.conjunction = conjunction;
+        this.atoms = new ArrayList<>(conjunction);
+        this.samplingInterval = samplingInterval;
+        this.reorderingInterval = reorderingInterval;
+        this.nanoClock = nanoClock;
+
+        final int[] initialOrder = new int[this.atoms.size()];
+        for (int i = 0; i < initialOrder.length; i++) {
+            initialOrder[i] = i;
+        }
+        this.order = initialOrder;
+        this.passes = newAdders(this.atoms.size());
+        this.nanos = newAdders(this.atoms.size());
+        this.samples = new LongAdder();
+        this.reordering = new AtomicBoolean(false);
+        this.intervals = ThreadLocal.withInitial(Intervals::new);
+    }
+
+    public static <T extends Comparable<T>> AdaptiveConjunction<T> of(final Conjunction<T> conjunction) {
+        return of(conjunction, DEFAULT_SAMPLING_INTERVAL, DEFAULT_REORDERING_INTERVAL);
+    }
+
+    /**
+     * Creates an adaptive conjunction.
+     *
+     * @param conjunction  the conjunction to test
+     * @param samplingInterval  the interval of targets to be sampled in each thread
+     * @param reorderingInterval  the interval of sampled targets in each thread to reorder atoms
+     */
+    public static <T extends Comparable<T>> AdaptiveConjunction<T> of(
+            final Conjunction<T> conjunction,
+            final int samplingInterval,
+            final int reorderingInterval) {
+        return of(conjunction, samplingInterval, reorderingInterval, System::nanoTime);
+    }
+
+    /**
+     * Creates an adaptive conjunction which measures costs by the clock, for testing.
+     */
+    static <T extends Comparable<T>> AdaptiveConjunction<T> of(
+            final Conjunction<T> conjunction,
+            final int samplingInterval,
+            final int reorderingInterval,
+            final LongSupplier nanoClock) {
+        Objects.requireNonNull(conjunction, "conjunction is null.");
+        if (samplingInterval < 1) {
+            throw new IllegalArgumentException("samplingInterval must be positive.");
+        }
+        if (reorderingInterval < 1) {
+            throw new IllegalArgumentException("reorderingInterval must be positive.");
+        }
+        return new AdaptiveConjunction<>(conjunction, samplingInterval, reorderingInterval, nanoClock);
+    }
+
+    /**
+     * Streams values that satisfy the conjunction in the same way as {@link Conjunction#streamBy(SourceStreamer, Order)},
+     * but filtered adaptively.
+     */
+    public <U extends T> Stream<U> streamBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order) {
+        return QueryListeners.filter(this.conjunction, sourceStreamer, order, sourceStreamer.sourceStreamFrom(this.conjunction, order), this);
+    }
+
+    /**
+     * Streams values in the same way as {@link #streamBy(SourceStreamer, Order)}, but limited by the scan limits.
+     *
+     * @throws ScanLimitExceededException  from the stream when its candidates exceed any of the limits
+     */
+    public <U extends T> Stream<U> streamBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final ScanLimits limits) {
+        if (limits.isUnlimited()) {
+            return this.streamBy(sourceStreamer, order);
+        }
+        final Stream<U> sourceStream = limits.start().limit(sourceStreamer.sourceStreamFrom(this.conjunction, order));
+        return QueryListeners.filter(this.conjunction, sourceStreamer, order, sourceStream, this);
+    }
+
+    @Override
+    public boolean test(final T target) {
+        final Intervals currentIntervals = this.intervals.get();
+        if (++currentIntervals.sinceSampled < this.samplingInterval) {
+            for (final int index : this.order) {
+                if (!this.atoms.get(index).test(target)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        currentIntervals.sinceSampled = 0;
+        boolean result = true;
+        for (int index = 0; index < this.atoms.size(); index++) {
+            final long started = this.nanoClock.getAsLong();
+            final boolean passed = this.atoms.get(index).test(target);
+            this.nanos[index].add(this.nanoClock.getAsLong() - started);
+            if (passed) {
+                this.passes[index].increment();
+            } else {
+                result = false;
+            }
+        }
+        this.samples.increment();
+        if (++currentIntervals.sinceReordered >= this.reorderingInterval) {
+            currentIntervals.sinceReordered = 0;
+            this.reorder();
+        }
+        return result;
+    }
+
+    public Conjunction<T> conjunction() {
+        return this.conjunction;
+    }
+
+    /**
+     * Returns the atoms in the current order of testing.
+     */
+    public List<Atom<T>> currentOrder() {
+        final ArrayList<Atom<T>> ordered = new ArrayList<>();
+        for (final int index : this.order) {
+            ordered.add(this.atoms.get(index));
+        }
+        return Collections.unmodifiableList(ordered);
+    }
+
+    /**
+     * Reorders atoms by the statistics of all threads. It is skipped if another thread is reordering.
+     */
+    private void reorder() {
+        if (!this.reordering.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final int size = this.atoms.size();
+            final long samples = this.samples.sum();
+            if (samples == 0L) {
+                return;
+            }
+
+            final double[] ranks = new double[size];
+            final Integer[] sorted = new Integer[size];
+            for (int index = 0; index < size; index++) {
+                final double cost = Math.max(1.0, (double) this.nanos[index].sum() / samples);
+                final double rejectionRate = 1.0 - (double) Math.min(this.passes[index].sum(), samples) / samples;
+                ranks[index] = rejectionRate <= 0.0 ? Double.MAX_VALUE : cost / rejectionRate;
+                sorted[index] = index;
+            }
+            // A stable sort keeps the original order among atoms with the same rank.
+            Arrays.sort(sorted, (left, right) -> Double.compare(ranks[left], ranks[right]));
+
+            final int[] newOrder = new int[size];
+            for (int i = 0; i < size; i++) {
+                newOrder[i] = sorted[i];
+            }
+            this.order = newOrder;
+        } finally {
+            this.reordering.set(false);
+        }
+    }
+
+    private static LongAdder[] newAdders(final int size) {
+        final LongAdder[] adders = new LongAdder[size];
+        for (int index = 0; index < size; index++) {
+            adders[index] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Intervals of a thread. They are accessed only by the thread.
+     */
+    private static final class Intervals {
+        private int sinceSampled;
+        private int sinceReordered;
+    }
+
+    public static final int DEFAULT_SAMPLING_INTERVAL = 64;
+    public static final int DEFAULT_REORDERING_INTERVAL = 256;
+
+    private final Conjunction<T> conjunction;
+    private final List<Atom<T>> atoms;
+    private final int samplingInterval;
+    private final int reorderingInterval;
+    private final LongSupplier nanoClock;
+
+    // Replaced as a whole on reordering. Never modified after published.
+    private volatile int[] order;
+
+    // Statistics of sampled targets, shared among threads.
+    private final LongAdder[] passes;
+    private final LongAdder[] nanos;
+    private final LongAdder samples;
+
+    private final AtomicBoolean reordering;
+    private final ThreadLocal<Intervals> intervals;
+}
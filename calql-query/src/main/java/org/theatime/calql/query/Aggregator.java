@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import java.util.Optional;
+
+/**
+ * Aggregates values that satisfy {@link Conjunction} or {@link DisjunctiveNormalFormula} without streaming them if possible.
+ */
+public interface Aggregator<T extends Comparable<T>, U extends T> {
+    long count(Conjunction<T> conjunction);
+
+    long count(DisjunctiveNormalFormula<T> disjunctiveNormalFormula);
+
+    Optional<U> first(Conjunction<T> conjunction);
+
+    Optional<U> first(DisjunctiveNormalFormula<T> disjunctiveNormalFormula);
+
+    Optional<U> last(Conjunction<T> conjunction);
+
+    Optional<U> last(DisjunctiveNormalFormula<T> disjunctiveNormalFormula);
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Prefetches values of a stream on an executor in chunks, into a bounded buffer, and iterates them on the consumer side.
+ *
+ * <p>The producer task fills chunks until {@code maxChunks} chunks are buffered, and then, returns the executor
+ * thread instead of blocking it. The consumer resubmits the producer task when it takes a chunk from the full buffer.
+ * {@code running} is {@code true} while a producer task is submitted or running, so that at most one task accesses
+ * the stream at a time.
+ *
+ * <p>The producer adds values one by one into a partial chunk, which is moved into the buffer when it is full. The
+ * consumer takes the partial chunk if the buffer is empty, so that values found are handed over without waiting for
+ * a full chunk, even while the producer is still searching for the next value. {@code lock} guards the buffer and
+ * the partial chunk.
+ *
+ * <p>{@link #close()} cancels the stream by its {@link CancellationToken}. The stream is closed by the producer task
+ * if it is running, or by {@code close} otherwise.
+ */
+final class BranchPrefetcher<U> implements Iterator<U>, AutoCloseable {
+    BranchPrefetcher(
+            final Function<CancellationToken, Stream<U>> streamFactory,
+            final Executor executor,
+            final int chunkSize,
+            final int maxChunks) {
+        this.streamFactory = streamFactory;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+        this.cancellation = CancellationToken.of();
+        this.lock = new Object();
+        this.buffer = new ArrayDeque<>();
+        this.partial = new ArrayList<>();
+        this.waiting = false;
+        this.buffered = new AtomicInteger(0);
+        this.running = new AtomicBoolean(false);
+        this.streamClosed = new AtomicBoolean(false);
+        this.started = false;
+        this.finished = false;
+        this.current = null;
+        this.index = 0;
+    }
+
+    /**
+     * Submits the producer task for the first time.
+     */
+    void start() {
+        if (!this.started) {
+            this.started = true;
+            this.running.set(true);
+            this.executor.execute(this::produce);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        this.start();
+        while (!this.finished && (this.current == null || this.index >= this.current.size())) {
+            this.takeChunk();
+        }
+        return !this.finished;
+    }
+
+    @Override
+    public U next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.current.get(this.index++);
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.cancellation.cancel();
+        if (this.running.compareAndSet(false, true)) {
+            this.closeStream();
+        }
+    }
+
+    private void takeChunk() {
+        Object taken;
+        boolean fromBuffer = true;
+        synchronized (this.lock) {
+            while (true) {
+                taken = this.buffer.poll();
+                if (taken != null) {
+                    break;
+                }
+                if (!this.partial.isEmpty()) {
+                    taken = this.partial;
+                    this.partial = new ArrayList<>();
+                    fromBuffer = false;
+                    break;
+                }
+                this.waiting = true;
+                try {
+                    this.lock.wait();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    this.close();
+                    throw new CancellationException("Interrupted while waiting for prefetched values.");
+                } finally {
+                    this.waiting = false;
+                }
+            }
+        }
+
+        if (taken == END) {
+            this.finished = true;
+            this.current = null;
+            return;
+        }
+        if (taken instanceof Failure) {
+            this.finished = true;
+            this.current = null;
+            final Throwable cause = ((Failure) taken).cause;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+
+        @SuppressWarnings("unchecked")
+        final ArrayList<U> chunk = (ArrayList<U>) taken;
+        this.current = chunk;
+        this.index = 0;
+        if (fromBuffer && this.buffered.decrementAndGet() < this.maxChunks && !this.closed && this.running.compareAndSet(false, true)) {
+            this.executor.execute(this::produce);
+        }
+    }
+
+    /**
+     * Fills chunks while the buffer has room. It runs on the executor, and never blocks.
+     */
+    private void produce() {
+        try {
+            if (this.iterator == null) {
+                this.stream = this.streamFactory.apply(this.cancellation);
+                this.iterator = this.stream.iterator();
+            }
+            while (!this.closed) {
+                if (this.buffered.get() >= this.maxChunks) {
+                    this.running.set(false);
+                    // The consumer may have taken a chunk between the check and the flag.
+                    if (this.buffered.get() < this.maxChunks && !this.closed && this.running.compareAndSet(false, true)) {
+                        continue;
+                    }
+                    this.closeIfClosed();
+                    return;
+                }
+
+                int produced = 0;
+                boolean exhausted = false;
+                while (produced < this.chunkSize) {
+                    if (!this.iterator.hasNext()) {
+                        exhausted = true;
+                        break;
+                    }
+                    final U value = this.iterator.next();
+                    synchronized (this.lock) {
+                        this.partial.add(value);
+                        if (this.waiting) {
+                            this.lock.notifyAll();
+                        }
+                    }
+                    produced++;
+                }
+                if (exhausted) {
+                    this.closeStream();
+                }
+                synchronized (this.lock) {
+                    // The consumer may have taken some or all of the values in the partial chunk.
+                    if (!this.partial.isEmpty()) {
+                        this.buffered.incrementAndGet();
+                        this.buffer.add(this.partial);
+                        this.partial = new ArrayList<>();
+                    }
+                    if (exhausted) {
+                        this.buffer.add(END);
+                    }
+                    this.lock.notifyAll();
+                }
+                if (exhausted) {
+                    return;
+                }
+            }
+            this.closeStream();
+        } catch (final RuntimeException | Error ex) {
+            this.closeStream();
+            if (!this.closed) {
+                synchronized (this.lock) {
+                    // Values before the failure are streamed first.
+                    if (!this.partial.isEmpty()) {
+                        this.buffered.incrementAndGet();
+                        this.buffer.add(this.partial);
+                        this.partial = new ArrayList<>();
+                    }
+                    this.buffer.add(new Failure(ex));
+                    this.lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void closeIfClosed() {
+        if (this.closed && this.running.compareAndSet(false, true)) {
+            this.closeStream();
+        }
+    }
+
+    private void closeStream() {
+        if (this.streamClosed.compareAndSet(false, true) && this.stream != null) {
+            this.stream.close();
+        }
+    }
+
+    private static final class Failure {
+        Failure(final Throwable cause) {
+            this.cause = cause;
+        }
+
+        private final Throwable cause;
+    }
+
+    private static final Object END = new Object();
+
+    private final Function<CancellationToken, Stream<U>> streamFactory;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxChunks;
+    private final CancellationToken cancellation;
+    private final Object lock;
+    // Chunks, END, or Failure, guarded by lock.
+    private final ArrayDeque<Object> buffer;
+    private final AtomicInteger buffered;
+    private final AtomicBoolean running;
+    private final AtomicBoolean streamClosed;
+
+    private volatile boolean closed;
+
+    // Guarded by lock.
+    private ArrayList<U> partial;
+    private boolean waiting;
+
+    // Accessed only by the producer task, which is handed over by running.
+    private Stream<U> stream;
+    private Iterator<U> iterator;
+
+    // Accessed only by the consumer.
+    private boolean started;
+    private boolean finished;
+    private ArrayList<U> current;
+    private int index;
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+/**
+ * Cancels streams of values, which are limited by {@link ScanLimits} with this token, from any thread.
+ *
+ * <p>A stream checks the token for each candidate value. Once cancelled, the stream throws
+ * {@link ScanLimitExceededException} at the next candidate, with {@link ScanLimitExceededException.Reason#CANCELLED}.
+ */
+public final class CancellationToken {
+    private CancellationToken(final CancellationToken first, final CancellationToken second) {
+        this.first = first;
+        this.second = second;
+        this.cancelled = false;
+    }
+
+    public static CancellationToken of() {
+        return new CancellationToken(null, null);
+    }
+
+    /**
+     * Returns a token which is cancelled when either of the two tokens is cancelled, or itself is cancelled.
+     */
+    static CancellationToken either(final CancellationToken first, final CancellationToken second) {
+        return new CancellationToken(first, second);
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled
+                || (this.first != null && this.first.isCancelled())
+                || (this.second != null && this.second.isCancelled());
+    }
+
+    private final CancellationToken first;
+    private final CancellationToken second;
+
+    private volatile boolean cancelled;
+}
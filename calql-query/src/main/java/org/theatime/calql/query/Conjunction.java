@@ -24,6 +24,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -101,7 +103,74 @@ public final class Conjunction<T extends Comparable<T>> extends AbstractList<Ato
             final Order order) {
         // Generate the efficient "source" stream based on Conjunction (this, itself) -- sourceStreamFrom(this)
         // Finalize the "source" stream with filtering by Conjunction (this, itself) -- filter(this)
-        return sourceStreamer.sourceStreamFrom(this, order).filter(this);
+        return QueryListeners.filter(this, sourceStreamer, order, sourceStreamer.sourceStreamFrom(this, order), this);
+    }
+
+    /**
+     * Streams values in the same way as {@link #streamBy(SourceStreamer, Order)}, but limited by the scan limits.
+     *
+     * @throws ScanLimitExceededException  from the stream when its candidates exceed any of the limits
+     */
+    public <U extends T> Stream<U> streamBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final ScanLimits limits) {
+        if (limits.isUnlimited()) {
+            return this.streamBy(sourceStreamer, order);
+        }
+        return this.streamBy(sourceStreamer, order, limits.start());
+    }
+
+    <U extends T> Stream<U> streamBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final ScanLimits.Scan scan) {
+        return QueryListeners.filter(this, sourceStreamer, order, scan.limit(sourceStreamer.sourceStreamFrom(this, order)), this);
+    }
+
+    /**
+     * Returns a predicate of this conjunction which reorders its atoms by their pass rates and costs observed at runtime.
+     */
+    public AdaptiveConjunction<T> adaptive() {
+        return AdaptiveConjunction.of(this);
+    }
+
+    /**
+     * Publishes values that satisfy the conjunction in the order to {@link Flow.Subscriber}s, with backpressure.
+     *
+     * @see QueryPublisher
+     */
+    public <U extends T> Flow.Publisher<U> publishBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final Executor executor) {
+        return this.publishBy(sourceStreamer, order, ScanLimits.none(), executor);
+    }
+
+    /**
+     * Publishes values in the same way as {@link #publishBy(SourceStreamer, Order, Executor)}, but limited by the scan limits.
+     *
+     * <p>Cancelling a subscription stops scanning candidates in the source stream, too.
+     */
+    public <U extends T> Flow.Publisher<U> publishBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final ScanLimits limits,
+            final Executor executor) {
+        Objects.requireNonNull(limits, "limits is null.");
+        return QueryPublisher.of(cancellation -> this.streamBy(sourceStreamer, order, limits.withCancellation(cancellation)), executor);
+    }
+
+    public long countBy(final Aggregator<T, ?> aggregator) {
+        return aggregator.count(this);
+    }
+
+    public <U extends T> Optional<U> firstBy(final Aggregator<T, U> aggregator) {
+        return aggregator.first(this);
+    }
+
+    public <U extends T> Optional<U> lastBy(final Aggregator<T, U> aggregator) {
+        return aggregator.last(this);
     }
 
     public Optional<T> earliest() {
@@ -21,9 +21,21 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A formula in Disjunctive Normal Form (DNF) is a logical formula consisting of a disjunction of conjunctions.
@@ -32,13 +44,14 @@ import java.util.stream.Collectors;
  *
  * @see <a href="https://en.wikipedia.org/wiki/Disjunctive_normal_form">Disjunctive normal form</a>
  */
-public final class DisjunctiveNormalFormula<T extends Comparable<T>> extends AbstractList<Conjunction<T>> {
-    private DisjunctiveNormalFormula(final ArrayList<Conjunction<T>> conjunctions) {
+public final class DisjunctiveNormalFormula<T extends Comparable<T>> extends AbstractList<Conjunction<T>> implements Predicate<T> {
+    private DisjunctiveNormalFormula(final ArrayList<Conjunction<T>> conjunctions, final boolean disjoint) {
         this.conjunctions = Collections.unmodifiableList(conjunctions);
+        this.disjoint = disjoint || conjunctions.size() <= 1;
     }
 
     public static <T extends Comparable<T>> DisjunctiveNormalFormula<T> of(final Collection<Conjunction<T>> conjunctions) {
-        return new DisjunctiveNormalFormula<T>(new ArrayList<Conjunction<T>>(conjunctions));
+        return new DisjunctiveNormalFormula<T>(new ArrayList<Conjunction<T>>(conjunctions), false);
     }
 
     @SafeVarargs
@@ -49,7 +62,7 @@ public final class DisjunctiveNormalFormula<T extends Comparable<T>> extends Abs
     public DisjunctiveNormalFormula<T> with(final Collection<Conjunction<T>> additionalConjunctions) {
         final ArrayList<Conjunction<T>> newConjunctions = new ArrayList<>(this.conjunctions);
         newConjunctions.addAll(conjunctions);
-        return new DisjunctiveNormalFormula<T>(newConjunctions);
+        return new DisjunctiveNormalFormula<T>(newConjunctions, false);
     }
 
     @SafeVarargs
@@ -57,6 +70,213 @@ public final class DisjunctiveNormalFormula<T extends Comparable<T>> extends Abs
         return this.with(Arrays.asList(additionalConjunctions));
     }
 
+    /**
+     * Rewrites this formula into an equivalent formula whose conjunctions never overlap with each other.
+     *
+     * <p>The i-th conjunction {@code Ci} is replaced by {@code Ci AND NOT C1 AND ... AND NOT Ci-1}. Each {@code NOT Cj}
+     * for {@code Cj = a1 AND a2 AND ... AND an} is expanded into conjunctions which do not overlap with each other either.
+     *
+     * <p>Ex. {@code NOT Cj} is expanded into {@code (NOT a1) OR (a1 AND NOT a2) OR ... OR (a1 AND ... AND an-1 AND NOT an)}.
+     *
+     * <p>Conjunctions are not expanded with {@code NOT Cj} when they are already known to be disjoint from {@code Cj}
+     * from their atoms, or from their earliest and latest values. Conjunctions known to be empty are dropped.
+     *
+     * @param maxConjunctions  the maximum number of conjunctions in the rewritten formula
+     * @return the rewritten formula, or empty if it would need more than {@code maxConjunctions} conjunctions
+     */
+    public Optional<DisjunctiveNormalFormula<T>> toDisjoint(final int maxConjunctions) {
+        if (this.disjoint) {
+            return Optional.of(this);
+        }
+
+        final ArrayList<Conjunction<T>> disjointConjunctions = new ArrayList<>();
+        final ArrayList<Conjunction<T>> subtracted = new ArrayList<>();
+        for (final Conjunction<T> conjunction : this.conjunctions) {
+            if (!conjunction.existsPossibly()) {
+                continue;
+            }
+            List<List<Atom<T>>> pieces = Collections.singletonList(conjunction);
+            for (final Conjunction<T> previous : subtracted) {
+                final ArrayList<List<Atom<T>>> nextPieces = new ArrayList<>();
+                for (final List<Atom<T>> piece : pieces) {
+                    subtract(piece, previous, nextPieces);
+                    if (disjointConjunctions.size() + nextPieces.size() > maxConjunctions) {
+                        return Optional.empty();
+                    }
+                }
+                pieces = nextPieces;
+            }
+            for (final List<Atom<T>> piece : pieces) {
+                disjointConjunctions.add(Conjunction.of(piece));
+            }
+            if (disjointConjunctions.size() > maxConjunctions) {
+                return Optional.empty();
+            }
+            subtracted.add(conjunction);
+        }
+        return Optional.of(new DisjunctiveNormalFormula<T>(disjointConjunctions, true));
+    }
+
+    /**
+     * Returns {@code true} if its conjunctions are known to never overlap with each other.
+     *
+     * <p>It is {@code true} for a formula rewritten by {@link #toDisjoint(int)}, and for a formula with one conjunction at most.
+     */
+    public boolean isDisjoint() {
+        return this.disjoint;
+    }
+
+    /**
+     * Streams values that satisfy any of its conjunctions in the order, by merging streams of the conjunctions.
+     *
+     * <p>A value that satisfies multiple conjunctions is streamed only once. If the formula {@link #isDisjoint()}, the
+     * merge does not need to compare adjacent values for duplicates.
+     */
+    public <U extends T> Stream<U> streamBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order) {
+        return this.streamBy(sourceStreamer, order, ScanLimits.none());
+    }
+
+    /**
+     * Streams values in the same way as {@link #streamBy(SourceStreamer, Order)}, but limited by the scan limits.
+     *
+     * <p>The limits are shared among the conjunctions. The maximum number of candidates is for all the conjunctions in total.
+     *
+     * @throws ScanLimitExceededException  from the stream when its candidates exceed any of the limits
+     */
+    public <U extends T> Stream<U> streamBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final ScanLimits limits) {
+        final ScanLimits.Scan scan = limits.isUnlimited() ? null : limits.start();
+        final ArrayList<Stream<U>> streams = new ArrayList<>();
+        for (final Conjunction<T> conjunction : this.conjunctions) {
+            if (conjunction.existsPossibly()) {
+                streams.add(scan == null ? conjunction.streamBy(sourceStreamer, order) : conjunction.streamBy(sourceStreamer, order, scan));
+            }
+        }
+        final ArrayList<Iterator<U>> iterators = new ArrayList<>();
+        for (final Stream<U> stream : streams) {
+            iterators.add(stream.iterator());
+        }
+        final MergingIterator<T, U> iterator = new MergingIterator<>(iterators, order == Order.FROM_LATEST_TO_EARLIEST, !this.disjoint);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    for (final Stream<U> stream : streams) {
+                        stream.close();
+                    }
+                });
+    }
+
+    /**
+     * Streams values in the same way as {@link #streamBy(SourceStreamer, Order)}, but evaluates the conjunctions in parallel.
+     *
+     * @see #streamInParallelBy(SourceStreamer, Order, Executor, int, int)
+     */
+    public <U extends T> Stream<U> streamInParallelBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final Executor executor) {
+        return this.streamInParallelBy(sourceStreamer, order, executor, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_CHUNKS);
+    }
+
+    /**
+     * Streams values in the same way as {@link #streamBy(SourceStreamer, Order)}, but evaluates the conjunctions in parallel.
+     *
+     * <p>Each conjunction is streamed on the executor, and its values are prefetched in chunks of {@code chunkSize}
+     * values into a buffer of {@code maxChunks} chunks at most. When the consumer finds the buffer empty, it takes the
+     * values of the chunk being filled, so that it does not wait for the chunk to be full. The consumer merges the
+     * buffered values in the order, so the values are streamed in the same order as
+     * {@link #streamBy(SourceStreamer, Order)}. A producer pauses when its buffer is full, without blocking the executor
+     * thread, and resumes when the consumer takes a chunk.
+     *
+     * <p>Prefetching starts when the stream is consumed first. Close the stream to cancel prefetching, especially after
+     * {@link Stream#limit(long)}, which does not close the stream by itself. A failure in a conjunction is thrown to the
+     * consumer when the merge reaches it.
+     *
+     * @param executor  executes streaming the conjunctions, such as {@link java.util.concurrent.ForkJoinPool}
+     * @param chunkSize  the number of values in a chunk
+     * @param maxChunks  the maximum number of chunks buffered for each conjunction
+     */
+    public <U extends T> Stream<U> streamInParallelBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final Executor executor,
+            final int chunkSize,
+            final int maxChunks) {
+        Objects.requireNonNull(executor, "executor is null.");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive.");
+        }
+        if (maxChunks <= 0) {
+            throw new IllegalArgumentException("maxChunks must be positive.");
+        }
+        final ArrayList<BranchPrefetcher<U>> prefetchers = new ArrayList<>();
+        for (final Conjunction<T> conjunction : this.conjunctions) {
+            if (conjunction.existsPossibly()) {
+                prefetchers.add(new BranchPrefetcher<>(
+                        cancellation -> conjunction.streamBy(sourceStreamer, order, ScanLimits.none().withCancellation(cancellation)),
+                        executor,
+                        chunkSize,
+                        maxChunks));
+            }
+        }
+        final boolean descending = order == Order.FROM_LATEST_TO_EARLIEST;
+        final Supplier<Spliterator<U>> supplier = () -> {
+            // Starts all the producers before the merge waits for the first value of each.
+            for (final BranchPrefetcher<U> prefetcher : prefetchers) {
+                prefetcher.start();
+            }
+            final MergingIterator<T, U> iterator = new MergingIterator<>(new ArrayList<Iterator<U>>(prefetchers), descending, !this.disjoint);
+            return Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        };
+        return StreamSupport.stream(supplier, Spliterator.ORDERED | Spliterator.NONNULL, false)
+                .onClose(() -> {
+                    for (final BranchPrefetcher<U> prefetcher : prefetchers) {
+                        prefetcher.close();
+                    }
+                });
+    }
+
+    /**
+     * Publishes values that satisfy the formula in the order to {@link Flow.Subscriber}s, with backpressure.
+     *
+     * @see QueryPublisher
+     */
+    public <U extends T> Flow.Publisher<U> publishBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final Executor executor) {
+        return this.publishBy(sourceStreamer, order, ScanLimits.none(), executor);
+    }
+
+    /**
+     * Publishes values in the same way as {@link #publishBy(SourceStreamer, Order, Executor)}, but limited by the scan limits.
+     *
+     * <p>Cancelling a subscription stops scanning candidates in the source stream, too.
+     */
+    public <U extends T> Flow.Publisher<U> publishBy(
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final ScanLimits limits,
+            final Executor executor) {
+        Objects.requireNonNull(limits, "limits is null.");
+        return QueryPublisher.of(cancellation -> this.streamBy(sourceStreamer, order, limits.withCancellation(cancellation)), executor);
+    }
+
+    public long countBy(final Aggregator<T, ?> aggregator) {
+        return aggregator.count(this);
+    }
+
+    public <U extends T> Optional<U> firstBy(final Aggregator<T, U> aggregator) {
+        return aggregator.first(this);
+    }
+
+    public <U extends T> Optional<U> lastBy(final Aggregator<T, U> aggregator) {
+        return aggregator.last(this);
+    }
+
     @Override
     public int size() {
         return this.conjunctions.size();
@@ -67,6 +287,22 @@ public final class DisjunctiveNormalFormula<T extends Comparable<T>> extends Abs
         return this.conjunctions.get(index);
     }
 
+    /**
+     * Tests if the target satisfies any of its conjunctions.
+     *
+     * <p>An atom shared across its conjunctions is tested only once for the target, and its result is reused.
+     */
+    @Override
+    public boolean test(final T target) {
+        SharedAtoms<T> sharedAtoms = this.sharedAtoms;
+        if (sharedAtoms == null) {
+            // It may be built more than once by racing threads, but they are equivalent.
+            sharedAtoms = SharedAtoms.of(this.conjunctions);
+            this.sharedAtoms = sharedAtoms;
+        }
+        return sharedAtoms.test(target);
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(DisjunctiveNormalFormula.class, this.conjunctions);
@@ -82,5 +318,121 @@ public final class DisjunctiveNormalFormula<T extends Comparable<T>> extends Abs
         return this.conjunctions.stream().map(Object::toString).collect(Collectors.joining(" OR ", "(", ")"));
     }
 
+    /**
+     * Adds pieces of {@code piece AND NOT subtrahend} into {@code pieces}.
+     */
+    private static <T extends Comparable<T>> void subtract(
+            final List<Atom<T>> piece,
+            final Conjunction<T> subtrahend,
+            final List<List<Atom<T>>> pieces) {
+        for (final Atom<T> atom : subtrahend) {
+            if (piece.contains(atom.negate())) {
+                pieces.add(piece);
+                return;
+            }
+        }
+        final ArrayList<Atom<T>> all = new ArrayList<>(piece);
+        all.addAll(subtrahend);
+        if (!Conjunction.of(all).existsPossibly()) {
+            pieces.add(piece);
+            return;
+        }
+
+        final ArrayList<Atom<T>> prefix = new ArrayList<>(piece);
+        for (final Atom<T> atom : subtrahend) {
+            if (prefix.contains(atom)) {
+                continue;
+            }
+            final ArrayList<Atom<T>> negated = new ArrayList<>(prefix);
+            negated.add(atom.negate());
+            if (Conjunction.of(negated).existsPossibly()) {
+                pieces.add(negated);
+            }
+            prefix.add(atom);
+        }
+    }
+
+    /**
+     * Merges ordered streams into one ordered stream.
+     *
+     * <p>The first values of the streams are read on the first {@link #hasNext()} or {@link #next()}, not on construction,
+     * so that creating a merged stream does not scan any of the conjunctions.
+     */
+    private static final class MergingIterator<T extends Comparable<T>, U extends T> implements Iterator<U> {
+        MergingIterator(final List<Iterator<U>> iterators, final boolean descending, final boolean deduplicating) {
+            this.heads = new PriorityQueue<>(Math.max(1, iterators.size()), (left, right) -> {
+                final int compared = left.value.compareTo(right.value);
+                return descending ? -compared : compared;
+            });
+            this.iterators = iterators;
+            this.deduplicating = deduplicating;
+            this.primed = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            this.prime();
+            return !this.heads.isEmpty();
+        }
+
+        @Override
+        public U next() {
+            this.prime();
+            final Head<U> head = this.heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            final U value = head.value;
+            this.advance(head);
+            if (this.deduplicating) {
+                while (!this.heads.isEmpty() && this.heads.peek().value.compareTo(value) == 0) {
+                    this.advance(this.heads.poll());
+                }
+            }
+            return value;
+        }
+
+        private void prime() {
+            if (this.primed) {
+                return;
+            }
+            this.primed = true;
+            for (final Iterator<U> iterator : this.iterators) {
+                if (iterator.hasNext()) {
+                    this.heads.add(new Head<>(iterator.next(), iterator));
+                }
+            }
+        }
+
+        private void advance(final Head<U> head) {
+            if (head.iterator.hasNext()) {
+                head.value = head.iterator.next();
+                this.heads.add(head);
+            }
+        }
+
+        private final PriorityQueue<Head<U>> heads;
+        private final List<Iterator<U>> iterators;
+        private final boolean deduplicating;
+
+        private boolean primed;
+    }
+
+    private static final class Head<U> {
+        Head(final U value, final Iterator<U> iterator) {
+            this.value = value;
+            this.iterator = iterator;
+        }
+
+        private U value;
+        private final Iterator<U> iterator;
+    }
+
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+    public static final int DEFAULT_MAX_CHUNKS = 4;
+
     private final List<Conjunction<T>> conjunctions;
+    private final boolean disjoint;
+
+    private volatile SharedAtoms<T> sharedAtoms;
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Commits JDK Flight Recorder events of executing queries. It is active only while it is registered in {@link QueryListeners}.
+ *
+ * <p>Events are named {@code org.theatime.calql.Normalization}, {@code org.theatime.calql.StreamerChosen}, and
+ * {@code org.theatime.calql.Stream}. They are built only if they are enabled in the recording.
+ */
+public final class FlightRecorderQueryListener implements QueryListener {
+    private FlightRecorderQueryListener() {
+    }
+
+    public static FlightRecorderQueryListener of() {
+        return new FlightRecorderQueryListener();
+    }
+
+    @Override
+    public void normalized(final Formula<?> formula, final DisjunctiveNormalFormula<?> disjunctiveNormalFormula, final long nanos) {
+        final NormalizationEvent event = new NormalizationEvent();
+        if (event.shouldCommit()) {
+            event.formula = formula.toString();
+            event.conjunctions = disjunctiveNormalFormula.size();
+            event.normalizationTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void streamerChosen(final Conjunction<?> conjunction, final SourceStreamer<?, ?> sourceStreamer) {
+        final StreamerChosenEvent event = new StreamerChosenEvent();
+        if (event.shouldCommit()) {
+            event.conjunction = conjunction.toString();
+            event.streamer = sourceStreamer.getClass().getName();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void streamFinished(final Conjunction<?> conjunction, final long scanned, final long emitted, final long nanos) {
+        final StreamEvent event = new StreamEvent();
+        if (event.shouldCommit()) {
+            event.conjunction = conjunction.toString();
+            event.candidatesScanned = scanned;
+            event.matchesEmitted = emitted;
+            event.streamTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Name("org.theatime.calql.Normalization")
+    @Label("Normalization")
+    @Category("CalQL")
+    @Description("A formula normalized into Disjunctive Normal Form")
+    static final class NormalizationEvent extends Event {
+        @Label("Formula")
+        String formula;
+
+        @Label("Conjunctions")
+        int conjunctions;
+
+        @Label("Normalization Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long normalizationTime;
+    }
+
+    @Name("org.theatime.calql.StreamerChosen")
+    @Label("Streamer Chosen")
+    @Category("CalQL")
+    @Description("A source streamer chosen for a conjunction")
+    static final class StreamerChosenEvent extends Event {
+        @Label("Conjunction")
+        String conjunction;
+
+        @Label("Streamer")
+        String streamer;
+    }
+
+    @Name("org.theatime.calql.Stream")
+    @Label("Stream")
+    @Category("CalQL")
+    @Description("A stream of a conjunction exhausted or closed")
+    static final class StreamEvent extends Event {
+        @Label("Conjunction")
+        String conjunction;
+
+        @Label("Candidates Scanned")
+        long candidatesScanned;
+
+        @Label("Matches Emitted")
+        long matchesEmitted;
+
+        @Label("Stream Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long streamTime;
+    }
+}
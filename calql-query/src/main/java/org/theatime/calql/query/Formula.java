@@ -19,6 +19,21 @@ package org.theatime.calql.query;
 public abstract class Formula<T extends Comparable<T>> {
     public abstract NegationNormalFormula<T> toNegationNormalForm();
 
+    /**
+     * Converts this formula into Disjunctive Normal Form (DNF) through Negation Normal Form (NNF).
+     *
+     * <p>The conversion is notified to {@link QueryListener}s registered in {@link QueryListeners}, if any.
+     */
+    public final DisjunctiveNormalFormula<T> toDisjunctiveNormalForm() {
+        if (!QueryListeners.isEnabled()) {
+            return this.toNegationNormalForm().getDisjunctiveNormalForm();
+        }
+        final long started = System.nanoTime();
+        final DisjunctiveNormalFormula<T> disjunctiveNormalFormula = this.toNegationNormalForm().getDisjunctiveNormalForm();
+        QueryListeners.normalized(this, disjunctiveNormalFormula, System.nanoTime() - started);
+        return disjunctiveNormalFormula;
+    }
+
     /**
      * Negates this formula.
      *
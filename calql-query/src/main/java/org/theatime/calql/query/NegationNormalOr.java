@@ -69,15 +69,8 @@ public final class NegationNormalOr<T extends Comparable<T>> extends NegationNor
 
     private static <T extends Comparable<T>> DisjunctiveNormalFormula<T> toDisjunctiveNormalForm(final List<NegationNormalFormula<T>> negationNormalFormulae) {
         final ArrayList<Conjunction<T>> conjunctions = new ArrayList<>();
-        System.out.print(">> ");
-        System.out.println(negationNormalFormulae);
         final List<DisjunctiveNormalFormula<T>> dnfs = negationNormalFormulae.stream().map(NegationNormalFormula<T>::getDisjunctiveNormalForm).collect(Collectors.toList());
-        System.out.print(")) ");
-        System.out.println(dnfs);
         for (final DisjunctiveNormalFormula<T> dnf : dnfs) {
-            if (dnf == null) {
-                System.out.println("!!!");
-            }
             for (final Conjunction<T> conjunction : dnf) {
                 conjunctions.add(conjunction);
             }
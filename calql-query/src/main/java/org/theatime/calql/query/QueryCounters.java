@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts events in executing queries cheaply. It is active only while it is registered in {@link QueryListeners}.
+ *
+ * <p>Ex. {@code QueryListeners.register(counters)} to start counting, and {@code QueryListeners.unregister(counters)} to stop.
+ */
+public final class QueryCounters implements QueryListener {
+    private QueryCounters() {
+        this.normalizations = new LongAdder();
+        this.normalizationNanos = new LongAdder();
+        this.normalizedConjunctions = new LongAdder();
+        this.streams = new LongAdder();
+        this.candidatesScanned = new LongAdder();
+        this.matchesEmitted = new LongAdder();
+        this.streamersChosen = new ConcurrentHashMap<>();
+    }
+
+    public static QueryCounters of() {
+        return new QueryCounters();
+    }
+
+    @Override
+    public void normalized(final Formula<?> formula, final DisjunctiveNormalFormula<?> disjunctiveNormalFormula, final long nanos) {
+        this.normalizations.increment();
+        this.normalizationNanos.add(nanos);
+        this.normalizedConjunctions.add(disjunctiveNormalFormula.size());
+    }
+
+    @Override
+    public void streamerChosen(final Conjunction<?> conjunction, final SourceStreamer<?, ?> sourceStreamer) {
+        this.streamersChosen.computeIfAbsent(sourceStreamer.getClass().getSimpleName(), name -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void streamStarted(final Conjunction<?> conjunction, final SourceStreamer<?, ?> sourceStreamer, final Order order) {
+        this.streams.increment();
+    }
+
+    @Override
+    public void streamFinished(final Conjunction<?> conjunction, final long scanned, final long emitted, final long nanos) {
+        this.candidatesScanned.add(scanned);
+        this.matchesEmitted.add(emitted);
+    }
+
+    /**
+     * Returns the number of formulas normalized into Disjunctive Normal Form.
+     */
+    public long normalizations() {
+        return this.normalizations.sum();
+    }
+
+    /**
+     * Returns the total elapsed time of normalizations in nanoseconds.
+     */
+    public long normalizationNanos() {
+        return this.normalizationNanos.sum();
+    }
+
+    /**
+     * Returns the total number of conjunctions in normalized formulas, the sizes of their Disjunctive Normal Forms.
+     */
+    public long normalizedConjunctions() {
+        return this.normalizedConjunctions.sum();
+    }
+
+    /**
+     * Returns the number of streams started.
+     */
+    public long streams() {
+        return this.streams.sum();
+    }
+
+    /**
+     * Returns the number of candidates generated by source streamers, and tested in finished streams.
+     */
+    public long candidatesScanned() {
+        return this.candidatesScanned.sum();
+    }
+
+    /**
+     * Returns the number of matches emitted in finished streams.
+     */
+    public long matchesEmitted() {
+        return this.matchesEmitted.sum();
+    }
+
+    /**
+     * Returns how many times each source streamer was chosen, by its simple class name.
+     */
+    public Map<String, Long> streamersChosen() {
+        final TreeMap<String, Long> chosen = new TreeMap<>();
+        this.streamersChosen.forEach((name, count) -> chosen.put(name, count.sum()));
+        return Collections.unmodifiableMap(chosen);
+    }
+
+    public void reset() {
+        this.normalizations.reset();
+        this.normalizationNanos.reset();
+        this.normalizedConjunctions.reset();
+        this.streams.reset();
+        this.candidatesScanned.reset();
+        this.matchesEmitted.reset();
+        this.streamersChosen.clear();
+    }
+
+    private final LongAdder normalizations;
+    private final LongAdder normalizationNanos;
+    private final LongAdder normalizedConjunctions;
+    private final LongAdder streams;
+    private final LongAdder candidatesScanned;
+    private final LongAdder matchesEmitted;
+    private final ConcurrentHashMap<String, LongAdder> streamersChosen;
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+/**
+ * Listens to events in executing queries, for telemetry.
+ *
+ * <p>Listeners are registered in {@link QueryListeners}. None is registered by default, and then, queries are not
+ * instrumented at all. All methods do nothing by default so that a listener can override only methods of interest.
+ *
+ * <p>Listeners are called synchronously from threads executing queries. They must be thread-safe, and should return quickly.
+ *
+ * @see QueryCounters
+ * @see FlightRecorderQueryListener
+ */
+public interface QueryListener {
+    /**
+     * Called when a formula is normalized into Disjunctive Normal Form by {@link Formula#toDisjunctiveNormalForm()}.
+     *
+     * @param formula  the formula normalized
+     * @param disjunctiveNormalFormula  the normalized formula
+     * @param nanos  the elapsed time of the normalization in nanoseconds
+     */
+    default void normalized(final Formula<?> formula, final DisjunctiveNormalFormula<?> disjunctiveNormalFormula, final long nanos) {
+    }
+
+    /**
+     * Called when a composite source streamer chooses an underlying source streamer for a conjunction.
+     */
+    default void streamerChosen(final Conjunction<?> conjunction, final SourceStreamer<?, ?> sourceStreamer) {
+    }
+
+    /**
+     * Called when a stream of a conjunction starts.
+     */
+    default void streamStarted(final Conjunction<?> conjunction, final SourceStreamer<?, ?> sourceStreamer, final Order order) {
+    }
+
+    /**
+     * Called once when a stream of a conjunction is exhausted or closed, whichever comes first.
+     *
+     * @param conjunction  the conjunction streamed
+     * @param scanned  the number of candidates generated by the source streamer and tested
+     * @param emitted  the number of candidates which satisfied the conjunction, and were emitted
+     * @param nanos  the elapsed time from the start in nanoseconds
+     */
+    default void streamFinished(final Conjunction<?> conjunction, final long scanned, final long emitted, final long nanos) {
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Holds {@link QueryListener}s registered globally, and notifies them.
+ *
+ * <p>Queries check only whether any listener is registered when they start if none is registered, which is the default.
+ * Streams are not wrapped for counting then, and elements are not counted at all.
+ */
+public final class QueryListeners {
+    private QueryListeners() {
+        // No instantiation.
+    }
+
+    public static synchronized void register(final QueryListener listener) {
+        Objects.requireNonNull(listener, "listener is null.");
+        final QueryListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    /**
+     * Unregisters the listener. It does nothing if the listener is not registered.
+     */
+    public static synchronized void unregister(final QueryListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                final QueryListener[] newListeners = new QueryListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    public static boolean isEnabled() {
+        return listeners.length > 0;
+    }
+
+    static void normalized(final Formula<?> formula, final DisjunctiveNormalFormula<?> disjunctiveNormalFormula, final long nanos) {
+        for (final QueryListener listener : listeners) {
+            listener.normalized(formula, disjunctiveNormalFormula, nanos);
+        }
+    }
+
+    /**
+     * Notifies listeners that a composite source streamer chooses an underlying source streamer.
+     */
+    public static void streamerChosen(final Conjunction<?> conjunction, final SourceStreamer<?, ?> sourceStreamer) {
+        for (final QueryListener listener : listeners) {
+            listener.streamerChosen(conjunction, sourceStreamer);
+        }
+    }
+
+    /**
+     * Filters the source stream by the predicate, and counts candidates and matches if any listener is registered.
+     */
+    static <T extends Comparable<T>, U extends T> Stream<U> filter(
+            final Conjunction<T> conjunction,
+            final SourceStreamer<T, U> sourceStreamer,
+            final Order order,
+            final Stream<U> sourceStream,
+            final Predicate<? super U> predicate) {
+        final QueryListener[] current = listeners;
+        if (current.length == 0) {
+            return sourceStream.filter(predicate);
+        }
+        for (final QueryListener listener : current) {
+            listener.streamStarted(conjunction, sourceStreamer, order);
+        }
+        final CountingSpliterator<U> spliterator = new CountingSpliterator<>(
+                conjunction, current, sourceStream.spliterator(), predicate, System.nanoTime());
+        return StreamSupport.stream(spliterator, false).onClose(sourceStream::close).onClose(spliterator::finish);
+    }
+
+    /**
+     * Filters elements, and notifies listeners of the counts when it is exhausted or closed.
+     */
+    private static final class CountingSpliterator<U> implements Spliterator<U> {
+        CountingSpliterator(
+                final Conjunction<?> conjunction,
+                final QueryListener[] listeners,
+                final Spliterator<U> source,
+                final Predicate<? super U> predicate,
+                final long startedNanos) {
+            this.conjunction = conjunction;
+            this.listeners = listeners;
+            this.source = source;
+            this.predicate = predicate;
+            this.startedNanos = startedNanos;
+            this.finished = new AtomicBoolean(false);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super U> action) {
+            final boolean[] matched = new boolean[1];
+            while (!matched[0]) {
+                final boolean advanced = this.source.tryAdvance(candidate -> {
+                    this.scanned++;
+                    if (this.predicate.test(candidate)) {
+                        this.emitted++;
+                        matched[0] = true;
+                        action.accept(candidate);
+                    }
+                });
+                if (!advanced) {
+                    this.finish();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Spliterator<U> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return this.source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+
+        @Override
+        public Comparator<? super U> getComparator() {
+            return this.source.getComparator();
+        }
+
+        void finish() {
+            if (this.finished.compareAndSet(false, true)) {
+                final long nanos = System.nanoTime() - this.startedNanos;
+                for (final QueryListener listener : this.listeners) {
+                    listener.streamFinished(this.conjunction, this.scanned, this.emitted, nanos);
+                }
+            }
+        }
+
+        private final Conjunction<?> conjunction;
+        private final QueryListener[] listeners;
+        private final Spliterator<U> source;
+        private final Predicate<? super U> predicate;
+        private final long startedNanos;
+        private final AtomicBoolean finished;
+
+        private long scanned;
+        private long emitted;
+    }
+
+    private static volatile QueryListener[] listeners = new QueryListener[0];
+}
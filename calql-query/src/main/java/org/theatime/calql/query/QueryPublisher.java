@@ -0,0 +1,314 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Publishes values of a query stream to {@link Flow.Subscriber}s, with backpressure.
+ *
+ * <p>Each subscription opens its own stream lazily at the first request, and pulls exactly as many values as requested
+ * by {@link Flow.Subscription#request(long)}. Values are pulled and signaled on the executor, not on threads calling
+ * {@code request}. One task on the executor signals up to 256 values, and then, yields the executor by submitting the
+ * next task.
+ *
+ * <p>Each subscription gives a new {@link CancellationToken} to the stream factory. {@link Flow.Subscription#cancel()}
+ * cancels the token, so that a stream limited by {@link ScanLimits} with the token stops scanning candidates even
+ * while no value is matching. The stream is closed after it is completed, failed, or cancelled.
+ *
+ * <p>{@link #ofBatches(Function, Executor, int)} publishes lists of values instead, to signal less frequently than
+ * once for each value. A request of {@code n} is for {@code n} lists then. A list is signaled when it is full, or
+ * when the stream ends.
+ *
+ * <p>Ex. {@code conjunction.publishBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none(), executor)}
+ */
+public final class QueryPublisher<E> implements Flow.Publisher<E> {
+    private QueryPublisher(
+            final Function<CancellationToken, ? extends Iterator<? extends E>> iteratorFactory,
+            final Executor executor) {
+        this.iteratorFactory = iteratorFactory;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a publisher of values of streams created by the factory for each subscription.
+     *
+     * @param streamFactory  creates a stream to be cancelled by the given token
+     * @param executor  executes pulling values from streams, and signaling subscribers
+     */
+    public static <E> QueryPublisher<E> of(
+            final Function<CancellationToken, ? extends Stream<? extends E>> streamFactory,
+            final Executor executor) {
+        Objects.requireNonNull(streamFactory, "streamFactory is null.");
+        Objects.requireNonNull(executor, "executor is null.");
+        return new QueryPublisher<>(cancellation -> new StreamIterator<E>(streamFactory.apply(cancellation)), executor);
+    }
+
+    /**
+     * Creates a publisher of lists of values of streams created by the factory for each subscription.
+     *
+     * @param streamFactory  creates a stream to be cancelled by the given token
+     * @param executor  executes pulling values from streams, and signaling subscribers
+     * @param batchSize  the maximum number of values in a list, which is not empty
+     */
+    public static <E> QueryPublisher<List<E>> ofBatches(
+            final Function<CancellationToken, ? extends Stream<? extends E>> streamFactory,
+            final Executor executor,
+            final int batchSize) {
+        Objects.requireNonNull(streamFactory, "streamFactory is null.");
+        Objects.requireNonNull(executor, "executor is null.");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive.");
+        }
+        return new QueryPublisher<>(
+                cancellation -> new BatchIterator<E>(new StreamIterator<E>(streamFactory.apply(cancellation)), batchSize), executor);
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super E> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber is null.");
+        final QuerySubscription<E> subscription = new QuerySubscription<>(subscriber, this.iteratorFactory, this.executor);
+        subscriber.onSubscribe(subscription);
+        subscription.subscribed();
+    }
+
+    /**
+     * Pulls values from a stream on demand, and signals them to a subscriber serially.
+     *
+     * <p>{@code workInProgress} counts signals to drain. Only the caller which increments it from zero submits a drain
+     * task, so that at most one drain task runs at a time. The drain task loops until it consumes all the signals.
+     * It starts from one so that no drain task runs until {@code onSubscribe} returns.
+     */
+    private static final class QuerySubscription<E> implements Flow.Subscription {
+        QuerySubscription(
+                final Flow.Subscriber<? super E> subscriber,
+                final Function<CancellationToken, ? extends Iterator<? extends E>> iteratorFactory,
+                final Executor executor) {
+            this.subscriber = subscriber;
+            this.iteratorFactory = iteratorFactory;
+            this.executor = executor;
+            this.cancellation = CancellationToken.of();
+            this.requested = new AtomicLong(0L);
+            this.workInProgress = new AtomicInteger(1);
+            this.iterator = null;
+            this.done = false;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0L) {
+                this.illegalRequest = true;
+            } else {
+                this.requested.getAndUpdate(current -> {
+                    final long sum = current + n;
+                    return sum < 0L ? Long.MAX_VALUE : sum;
+                });
+            }
+            this.signal();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.cancellation.cancel();
+            this.signal();
+        }
+
+        void subscribed() {
+            if (this.workInProgress.decrementAndGet() != 0) {
+                this.submit();
+            }
+        }
+
+        private void signal() {
+            if (this.workInProgress.getAndIncrement() == 0) {
+                this.submit();
+            }
+        }
+
+        private void submit() {
+            try {
+                this.executor.execute(this::drain);
+            } catch (final RuntimeException ex) {
+                // No drain task runs any more, since workInProgress is left non-zero. The stream is closed here instead.
+                this.cancelled = true;
+                this.fail(ex);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            while (true) {
+                if (this.done) {
+                    return;
+                }
+                if (this.cancelled) {
+                    this.close();
+                    return;
+                }
+                if (this.illegalRequest) {
+                    this.fail(new IllegalArgumentException("Requested non-positive number of elements. (Reactive Streams Rule 3.9)"));
+                    return;
+                }
+
+                final long requested = this.requested.get();
+                long emitted = 0L;
+                try {
+                    if (this.iterator == null && requested > 0L) {
+                        this.iterator = this.iteratorFactory.apply(this.cancellation);
+                    }
+                    while (emitted < requested && emitted < MAX_SIGNALS_PER_TASK && !this.cancelled) {
+                        if (!this.iterator.hasNext()) {
+                            this.close();
+                            this.subscriber.onComplete();
+                            return;
+                        }
+                        final E value = this.iterator.next();
+                        this.subscriber.onNext(value);
+                        emitted++;
+                    }
+                } catch (final RuntimeException ex) {
+                    if (this.cancelled) {
+                        // The stream stops by the cancellation token, or may fail after cancellation. It is not signaled.
+                        this.close();
+                    } else {
+                        this.fail(ex);
+                    }
+                    return;
+                }
+
+                if (emitted > 0L && requested != Long.MAX_VALUE) {
+                    this.requested.addAndGet(-emitted);
+                }
+                if (emitted == MAX_SIGNALS_PER_TASK && !this.cancelled) {
+                    // Yields the executor. The next task continues with the remaining signals.
+                    this.submit();
+                    return;
+                }
+                missed = this.workInProgress.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void fail(final Throwable ex) {
+            this.close();
+            this.subscriber.onError(ex);
+        }
+
+        private void close() {
+            this.done = true;
+            this.cancellation.cancel();
+            if (this.iterator instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) this.iterator).close();
+                } catch (final Exception ex) {
+                    // Ignored. The subscriber has already been signaled, or has cancelled.
+                }
+            }
+            this.iterator = null;
+        }
+
+        private final Flow.Subscriber<? super E> subscriber;
+        private final Function<CancellationToken, ? extends Iterator<? extends E>> iteratorFactory;
+        private final Executor executor;
+        private final CancellationToken cancellation;
+        private final AtomicLong requested;
+        private final AtomicInteger workInProgress;
+
+        private volatile boolean cancelled;
+        private volatile boolean illegalRequest;
+
+        // Accessed only in drain tasks, which are ordered by workInProgress.
+        private Iterator<? extends E> iterator;
+        private boolean done;
+    }
+
+    private static final class StreamIterator<E> implements Iterator<E>, AutoCloseable {
+        StreamIterator(final Stream<? extends E> stream) {
+            this.stream = stream;
+            this.iterator = stream.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public E next() {
+            return this.iterator.next();
+        }
+
+        @Override
+        public void close() {
+            this.stream.close();
+        }
+
+        private final Stream<? extends E> stream;
+        private final Iterator<? extends E> iterator;
+    }
+
+    private static final class BatchIterator<E> implements Iterator<List<E>>, AutoCloseable {
+        BatchIterator(final StreamIterator<E> iterator, final int batchSize) {
+            this.iterator = iterator;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public List<E> next() {
+            if (!this.iterator.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final ArrayList<E> batch = new ArrayList<>(this.batchSize);
+            do {
+                batch.add(this.iterator.next());
+            } while (batch.size() < this.batchSize && this.iterator.hasNext());
+            return Collections.unmodifiableList(batch);
+        }
+
+        @Override
+        public void close() {
+            this.iterator.close();
+        }
+
+        private final StreamIterator<E> iterator;
+        private final int batchSize;
+    }
+
+    static final long MAX_SIGNALS_PER_TASK = 256L;
+
+    private final Function<CancellationToken, ? extends Iterator<? extends E>> iteratorFactory;
+    private final Executor executor;
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+/**
+ * Thrown from a stream of values when it exceeds any of its {@link ScanLimits}.
+ */
+public final class ScanLimitExceededException extends RuntimeException {
+    ScanLimitExceededException(final Reason reason, final long scanned) {
+        super(reason + " after scanning " + scanned + " candidate(s).");
+        this.reason = reason;
+        this.scanned = scanned;
+    }
+
+    /**
+     * Defines reasons why a stream is stopped.
+     *
+     * <p>They are defined as {@code static} constant variables, not as {@code enum}, in the same way as {@link Order}.
+     */
+    public static final class Reason {
+        private Reason(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+
+        /**
+         * The stream has scanned the maximum number of candidates.
+         */
+        public static final Reason MAX_CANDIDATES_EXCEEDED = new Reason("Exceeded the maximum number of candidates");
+
+        /**
+         * The stream has passed its deadline.
+         */
+        public static final Reason DEADLINE_EXCEEDED = new Reason("Exceeded the deadline");
+
+        /**
+         * The stream has been cancelled by its {@link CancellationToken}.
+         */
+        public static final Reason CANCELLED = new Reason("Cancelled");
+
+        private final String name;
+    }
+
+    public Reason reason() {
+        return this.reason;
+    }
+
+    /**
+     * Returns the number of candidates scanned before the stream is stopped.
+     */
+    public long scanned() {
+        return this.scanned;
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Reason reason;
+    private final long scanned;
+}
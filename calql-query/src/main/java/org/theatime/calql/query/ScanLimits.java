@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Limits a stream of values by a scan budget, a deadline, and a cancellation token.
+ *
+ * <p>A source stream can generate candidates forever without any match, for example, when a conjunction is unbounded
+ * and impossible. {@link Stream#limit(long)} does not help there because it counts only matches. Streams limited by
+ * {@code ScanLimits} count candidates generated by the source streamer instead, and throw
+ * {@link ScanLimitExceededException} when a candidate comes beyond any of the limits. A stream whose source ends
+ * within the limits ends normally.
+ *
+ * <p>The budget is shared among all the conjunctions in a {@link DisjunctiveNormalFormula}. The deadline is checked
+ * for every 64 candidates so that {@link System#nanoTime()} is not called for each.
+ *
+ * <p>Ex. {@code conjunction.streamBy(streamer, order, ScanLimits.none().withMaxCandidates(100000L).withTimeout(Duration.ofSeconds(1L)))}
+ */
+public final class ScanLimits {
+    private ScanLimits(
+            final long maxCandidates,
+            final Duration timeout,
+            final Instant deadline,
+            final CancellationToken cancellation) {
+        this.maxCandidates = maxCandidates;
+        this.timeout = timeout;
+        this.deadline = deadline;
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * Returns limits which limit nothing.
+     */
+    public static ScanLimits none() {
+        return NONE;
+    }
+
+    /**
+     * Returns limits with the maximum number of candidates to scan.
+     */
+    public ScanLimits withMaxCandidates(final long maxCandidates) {
+        if (maxCandidates < 0L) {
+            throw new IllegalArgumentException("maxCandidates must not be negative.");
+        }
+        return new ScanLimits(maxCandidates, this.timeout, this.deadline, this.cancellation);
+    }
+
+    /**
+     * Returns limits with the timeout, which is counted from when a stream starts.
+     */
+    public ScanLimits withTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout is null.");
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("timeout must not be negative.");
+        }
+        return new ScanLimits(this.maxCandidates, timeout, this.deadline, this.cancellation);
+    }
+
+    /**
+     * Returns limits with the deadline as an absolute time.
+     */
+    public ScanLimits withDeadline(final Instant deadline) {
+        Objects.requireNonNull(deadline, "deadline is null.");
+        return new ScanLimits(this.maxCandidates, this.timeout, deadline, this.cancellation);
+    }
+
+    /**
+     * Returns limits with the cancellation token. If the limits have a token already, streams are cancelled by either.
+     */
+    public ScanLimits withCancellation(final CancellationToken cancellation) {
+        Objects.requireNonNull(cancellation, "cancellation is null.");
+        if (this.cancellation != null) {
+            return new ScanLimits(this.maxCandidates, this.timeout, this.deadline, CancellationToken.either(this.cancellation, cancellation));
+        }
+        return new ScanLimits(this.maxCandidates, this.timeout, this.deadline, cancellation);
+    }
+
+    public boolean isUnlimited() {
+        return this.maxCandidates == Long.MAX_VALUE && this.timeout == null && this.deadline == null && this.cancellation == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanLimits{maxCandidates=" + this.maxCandidates
+                + ", timeout=" + this.timeout
+                + ", deadline=" + this.deadline
+                + ", cancellation=" + this.cancellation + "}";
+    }
+
+    /**
+     * Starts a scan, which counts candidates, and fixes the deadline in {@link System#nanoTime()}.
+     */
+    Scan start() {
+        final long now = System.nanoTime();
+        long remainingNanos = Long.MAX_VALUE;
+        if (this.timeout != null) {
+            remainingNanos = Math.min(remainingNanos, saturatedNanos(this.timeout));
+        }
+        if (this.deadline != null) {
+            remainingNanos = Math.min(remainingNanos, Math.max(0L, saturatedNanos(Duration.between(Instant.now(), this.deadline))));
+        }
+        return new Scan(this.maxCandidates, remainingNanos == Long.MAX_VALUE ? 0L : now + remainingNanos, remainingNanos != Long.MAX_VALUE, this.cancellation);
+    }
+
+    /**
+     * Counts candidates of streams in one query against the limits.
+     *
+     * <p>It is not thread-safe. Streams sharing a scan must be consumed in one thread.
+     */
+    static final class Scan {
+        private Scan(final long maxCandidates, final long deadlineNanos, final boolean hasDeadline, final CancellationToken cancellation) {
+            this.maxCandidates = maxCandidates;
+            this.deadlineNanos = deadlineNanos;
+            this.hasDeadline = hasDeadline;
+            this.cancellation = cancellation;
+            this.scanned = 0L;
+        }
+
+        <U> Stream<U> limit(final Stream<U> sourceStream) {
+            return StreamSupport.stream(new LimitedSpliterator<>(this, sourceStream.spliterator()), false).onClose(sourceStream::close);
+        }
+
+        /**
+         * Counts one more candidate, and checks the limits.
+         */
+        void check() {
+            if (this.scanned >= this.maxCandidates) {
+                throw new ScanLimitExceededException(ScanLimitExceededException.Reason.MAX_CANDIDATES_EXCEEDED, this.scanned);
+            }
+            if (this.cancellation != null && this.cancellation.isCancelled()) {
+                throw new ScanLimitExceededException(ScanLimitExceededException.Reason.CANCELLED, this.scanned);
+            }
+            if (this.hasDeadline && this.scanned % DEADLINE_CHECK_INTERVAL == 0L && System.nanoTime() - this.deadlineNanos >= 0L) {
+                throw new ScanLimitExceededException(ScanLimitExceededException.Reason.DEADLINE_EXCEEDED, this.scanned);
+            }
+            this.scanned++;
+        }
+
+        private final long maxCandidates;
+        private final long deadlineNanos;
+        private final boolean hasDeadline;
+        private final CancellationToken cancellation;
+
+        private long scanned;
+    }
+
+    private static final class LimitedSpliterator<U> implements Spliterator<U> {
+        LimitedSpliterator(final Scan scan, final Spliterator<U> source) {
+            this.scan = scan;
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super U> action) {
+            return this.source.tryAdvance(candidate -> {
+                this.scan.check();
+                action.accept(candidate);
+            });
+        }
+
+        @Override
+        public Spliterator<U> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return this.source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+
+        @Override
+        public Comparator<? super U> getComparator() {
+            return this.source.getComparator();
+        }
+
+        private final Scan scan;
+        private final Spliterator<U> source;
+    }
+
+    private static long saturatedNanos(final Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (final ArithmeticException ex) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    static final int DEADLINE_CHECK_INTERVAL = 64;
+
+    private static final ScanLimits NONE = new ScanLimits(Long.MAX_VALUE, null, null, null);
+
+    private final long maxCandidates;
+    private final Duration timeout;
+    private final Instant deadline;
+    private final CancellationToken cancellation;
+}
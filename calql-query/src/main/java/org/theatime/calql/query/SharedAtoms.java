@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Evaluates {@link DisjunctiveNormalFormula} with atoms shared across its conjunctions.
+ *
+ * <p>Distributing {@code AND} over {@code OR} copies the same atom into many conjunctions. Each distinct atom is tested
+ * at most once per target here, and its result is reused in the other conjunctions.
+ *
+ * <p>Only equal atoms share a result. An atom and its negation are tested separately, because the negation is not
+ * always the exact complement. Ex. a date atom and its negation are both false for a non-ISO date.
+ */
+final class SharedAtoms<T extends Comparable<T>> {
+    private SharedAtoms(final List<Atom<T>> atoms, final int[][] branches) {
+        this.atoms = atoms;
+        this.branches = branches;
+    }
+
+    static <T extends Comparable<T>> SharedAtoms<T> of(final List<Conjunction<T>> conjunctions) {
+        final ArrayList<Atom<T>> atoms = new ArrayList<>();
+        final HashMap<Atom<T>, Integer> indices = new HashMap<>();
+        final int[][] branches = new int[conjunctions.size()][];
+        for (int i = 0; i < conjunctions.size(); i++) {
+            final Conjunction<T> conjunction = conjunctions.get(i);
+            final int[] branch = new int[conjunction.size()];
+            int size = 0;
+            for (final Atom<T> atom : conjunction) {
+                final int index = indexOf(atom, atoms, indices);
+                if (!contains(branch, size, index)) {
+                    branch[size++] = index;
+                }
+            }
+            branches[i] = size == branch.length ? branch : Arrays.copyOf(branch, size);
+        }
+        return new SharedAtoms<>(atoms, branches);
+    }
+
+    /**
+     * Returns the number of distinct atoms.
+     */
+    int distinctAtoms() {
+        return this.atoms.size();
+    }
+
+    boolean test(final T target) {
+        // 0: not tested yet, 1: true, 2: false
+        final byte[] results = new byte[this.atoms.size()];
+        for (final int[] branch : this.branches) {
+            if (this.testBranch(branch, target, results)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean testBranch(final int[] branch, final T target, final byte[] results) {
+        for (final int index : branch) {
+            byte result = results[index];
+            if (result == 0) {
+                result = this.atoms.get(index).test(target) ? (byte) 1 : (byte) 2;
+                results[index] = result;
+            }
+            if (result != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the atom, or of an equal atom seen before.
+     */
+    private static <T extends Comparable<T>> int indexOf(final Atom<T> atom, final List<Atom<T>> atoms, final HashMap<Atom<T>, Integer> indices) {
+        final Integer index = indices.get(atom);
+        if (index != null) {
+            return index;
+        }
+        indices.put(atom, atoms.size());
+        atoms.add(atom);
+        return atoms.size() - 1;
+    }
+
+    private static boolean contains(final int[] values, final int size, final int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final List<Atom<T>> atoms;
+
+    // Each branch is a conjunction of indices of atoms.
+    private final int[][] branches;
+}
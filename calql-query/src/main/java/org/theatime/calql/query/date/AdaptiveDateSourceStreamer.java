@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.theatime.calql.query.Atom;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.Order;
+import org.theatime.calql.query.SourceStreamer;
+
+/**
+ * Generates a stream of dates that satisfy {@link Conjunction}, switching its strategy in the middle of the stream.
+ *
+ * <p>It starts with seeking the next match field by field, which skips non-matching dates without visiting them.
+ * Seeking costs more per match than testing one date, though. When matches turn out to be dense, it switches to
+ * scanning dates one by one. When matches turn out to be sparse in scanning, it switches back to seeking. Each
+ * decision is made from the ratio of emitted dates to scanned dates in the last window. Scanning stays only in dense
+ * stretches, and it gives up after a short run of consecutive misses. Naive scanning is then bounded.
+ *
+ * <p>Both strategies continue from the same cursor, so that a switch never duplicates nor drops a date, and keeps the order.
+ *
+ * <p>If the conjunction has {@link EitherDate} which includes dates, the dates are walked through exactly instead.
+ */
+public final class AdaptiveDateSourceStreamer implements SourceStreamer<ChronoLocalDate, LocalDate> {
+    private AdaptiveDateSourceStreamer() {
+    }
+
+    public static AdaptiveDateSourceStreamer of() {
+        return new AdaptiveDateSourceStreamer();
+    }
+
+    @Override
+    public Stream<LocalDate> sourceStreamFrom(
+            final Conjunction<ChronoLocalDate> conjunction,
+            final Order order) {
+        Objects.requireNonNull(conjunction, "conjunction is null.");
+        requireLocalDate(conjunction);
+
+        if (order != Order.FROM_EARLIEST_TO_LATEST && order != Order.FROM_LATEST_TO_EARLIEST) {
+            throw new IllegalArgumentException("invalid date order: " + order);
+        }
+        if (!conjunction.existsPossibly()) {
+            return Stream.<LocalDate>empty();
+        }
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new AdaptiveIterator(DatePattern.of(conjunction), order == Order.FROM_EARLIEST_TO_LATEST),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE),
+                false);
+    }
+
+    @Override
+    public boolean isApplicableTo(
+            final Conjunction<ChronoLocalDate> conjunction,
+            final Order order) {
+        return true;
+    }
+
+    static final class AdaptiveIterator implements Iterator<LocalDate> {
+        AdaptiveIterator(final DatePattern pattern, final boolean forward) {
+            this.pattern = pattern;
+            this.forward = forward;
+            this.includedDates = pattern.includedDates();
+
+            if (pattern.isEmpty()) {
+                this.mode = DONE;
+            } else if (this.includedDates != null) {
+                this.mode = EXACT;
+                this.index = forward ? 0 : this.includedDates.length - 1;
+            } else {
+                this.mode = SEEK;
+            }
+            this.cursor = forward ? pattern.lowerEpochDay() : pattern.upperEpochDay();
+            this.found = NOT_FOUND;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.found == NOT_FOUND) {
+                this.found = this.fetch();
+            }
+            return this.found != NOT_FOUND;
+        }
+
+        @Override
+        public LocalDate next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final long epochDay = this.found;
+            this.found = NOT_FOUND;
+            return LocalDate.ofEpochDay(epochDay);
+        }
+
+        /**
+         * Returns the number of switches between seeking and scanning so far.
+         */
+        int switches() {
+            return this.switches;
+        }
+
+        boolean isScanning() {
+            return this.mode == SCAN;
+        }
+
+        private long fetch() {
+            while (this.mode != DONE) {
+                if (this.forward ? this.cursor > this.pattern.upperEpochDay() : this.cursor < this.pattern.lowerEpochDay()) {
+                    this.mode = DONE;
+                } else if (this.mode == EXACT) {
+                    return this.fetchExactly();
+                } else if (this.mode == SEEK) {
+                    return this.seek();
+                } else {
+                    final long epochDay = this.scan();
+                    if (epochDay != NOT_FOUND) {
+                        return epochDay;
+                    }
+                }
+            }
+            return NOT_FOUND;
+        }
+
+        private long fetchExactly() {
+            if (this.index < 0 || this.index >= this.includedDates.length) {
+                this.mode = DONE;
+                return NOT_FOUND;
+            }
+            final long epochDay = this.includedDates[this.index];
+            this.index += this.forward ? 1 : -1;
+            return epochDay;
+        }
+
+        private long seek() {
+            final LocalDate from = LocalDate.ofEpochDay(this.cursor);
+            final Optional<LocalDate> sought = this.forward ? this.pattern.next(from) : this.pattern.previous(from);
+            if (!sought.isPresent()) {
+                this.mode = DONE;
+                return NOT_FOUND;
+            }
+            final long epochDay = sought.get().toEpochDay();
+            final long distance = Math.abs(epochDay - this.cursor) + 1;
+            this.cursor = this.forward ? epochDay + 1 : epochDay - 1;
+            if (distance > SCAN_WINDOW) {
+                // A long gap tells nothing about the density ahead.
+                this.resetWindow();
+            }
+            this.scanned += distance;
+            this.emitted++;
+            if (this.emitted >= SEEK_WINDOW) {
+                if (this.emitted * DENSE_DENOMINATOR >= this.scanned) {
+                    this.switchTo(SCAN);
+                }
+                this.resetWindow();
+            }
+            return epochDay;
+        }
+
+        /**
+         * Scans one date, and returns it if it matches.
+         */
+        private long scan() {
+            final long epochDay = this.cursor;
+            this.cursor = this.forward ? epochDay + 1 : epochDay - 1;
+            final boolean matched = this.pattern.test(LocalDate.ofEpochDay(epochDay));
+            this.scanned++;
+            if (matched) {
+                this.emitted++;
+                this.misses = 0;
+            } else {
+                this.misses++;
+            }
+            if (this.misses >= SEEK_WINDOW) {
+                this.switchTo(SEEK);
+                this.resetWindow();
+            } else if (this.scanned >= SCAN_WINDOW) {
+                if (this.emitted * SPARSE_DENOMINATOR < this.scanned) {
+                    this.switchTo(SEEK);
+                }
+                this.resetWindow();
+            }
+            return matched ? epochDay : NOT_FOUND;
+        }
+
+        private void switchTo(final int newMode) {
+            this.mode = newMode;
+            this.switches++;
+        }
+
+        private void resetWindow() {
+            this.emitted = 0L;
+            this.scanned = 0L;
+            this.misses = 0;
+        }
+
+        private final DatePattern pattern;
+        private final boolean forward;
+        private final long[] includedDates;
+
+        private int mode;
+        private long cursor;
+        private int index;
+        private long found;
+
+        private long emitted;
+        private long scanned;
+        private int misses;
+        private int switches;
+    }
+
+    private static void requireLocalDate(final Conjunction<ChronoLocalDate> conjunction) {
+        for (final Atom<ChronoLocalDate> atom : conjunction) {
+            if (atom.unit() != LocalDate.class) {
+                throw new IllegalArgumentException("conjunction contains non-date.");
+            }
+        }
+    }
+
+    private static final int DONE = 0;
+    private static final int EXACT = 1;
+    private static final int SEEK = 2;
+    private static final int SCAN = 3;
+
+    // The number of emitted dates in seeking to decide whether to switch, and the number of consecutive misses in scanning to switch.
+    private static final long SEEK_WINDOW = 16L;
+
+    // The number of scanned dates in scanning to decide whether to switch.
+    private static final long SCAN_WINDOW = 64L;
+
+    // Switches from seeking to scanning if one of every two dates or more matches.
+    private static final long DENSE_DENOMINATOR = 2L;
+
+    // Switches from scanning to seeking if less than one of every four dates matches.
+    private static final long SPARSE_DENOMINATOR = 4L;
+
+    private static final long NOT_FOUND = Long.MIN_VALUE;
+}
@@ -39,6 +39,14 @@ public final class AfterDayOfMonth extends DateAtom {
         return new AfterDayOfMonth(dayOfMonth, true);
     }
 
+    public int dayOfMonth() {
+        return this.dayOfMonth;
+    }
+
+    public boolean inclusive() {
+        return this.inclusive;
+    }
+
     @Override
     public boolean test(final ChronoLocalDate targetChrono) {
         if (targetChrono instanceof LocalDate) {
@@ -40,6 +40,14 @@ public final class AfterYear extends DateAtom {
         return new AfterYear(year, true);
     }
 
+    public int year() {
+        return this.year;
+    }
+
+    public boolean inclusive() {
+        return this.inclusive;
+    }
+
     @Override
     public Optional<LocalDate> earliest() {
         if (this.inclusive) {
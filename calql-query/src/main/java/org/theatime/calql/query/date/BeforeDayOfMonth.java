@@ -39,6 +39,14 @@ public final class BeforeDayOfMonth extends DateAtom {
         return new BeforeDayOfMonth(dayOfMonth, true);
     }
 
+    public int dayOfMonth() {
+        return this.dayOfMonth;
+    }
+
+    public boolean inclusive() {
+        return this.inclusive;
+    }
+
     @Override
     public boolean test(final ChronoLocalDate targetChrono) {
         if (targetChrono instanceof LocalDate) {
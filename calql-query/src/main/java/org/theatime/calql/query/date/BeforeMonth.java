@@ -39,6 +39,14 @@ public final class BeforeMonth extends DateAtom {
         return new BeforeMonth(month, true);
     }
 
+    public int month() {
+        return this.month;
+    }
+
+    public boolean inclusive() {
+        return this.inclusive;
+    }
+
     @Override
     public boolean test(final ChronoLocalDate targetChrono) {
         if (targetChrono instanceof LocalDate) {
@@ -40,6 +40,14 @@ public final class BeforeYear extends DateAtom {
         return new BeforeYear(year, true);
     }
 
+    public int year() {
+        return this.year;
+    }
+
+    public boolean inclusive() {
+        return this.inclusive;
+    }
+
     @Override
     public Optional<LocalDate> latest() {
         if (this.inclusive) {
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * A compact, serializable position of {@link DateCursor} to resume it later, possibly in another process.
+ *
+ * <p>It holds the date to resume from, the window, the order, and a fingerprint of the compiled formula so that it is
+ * not resumed accidentally with another formula. It can be encoded into a URL-safe string by {@link #encode()}.
+ */
+public final class ContinuationToken implements Serializable {
+    ContinuationToken(
+            final long fingerprint,
+            final boolean fromLatest,
+            final long positionEpochDay,
+            final long windowFromEpochDay,
+            final long windowToEpochDay,
+            final boolean exhausted) {
+        this.fingerprint = fingerprint;
+        this.fromLatest = fromLatest;
+        this.positionEpochDay = positionEpochDay;
+        this.windowFromEpochDay = windowFromEpochDay;
+        this.windowToEpochDay = windowToEpochDay;
+        this.exhausted = exhausted;
+    }
+
+    /**
+     * Decodes a token encoded by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException  if the string is not a valid token
+     */
+    public static ContinuationToken decode(final String encoded) {
+        Objects.requireNonNull(encoded, "encoded is null.");
+        final byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(encoded);
+        } catch (final IllegalArgumentException ex) {
+            throw new IllegalArgumentException("invalid continuation token: " + encoded, ex);
+        }
+        if (bytes.length != ENCODED_LENGTH || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("invalid continuation token: " + encoded);
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        final byte flags = buffer.get();
+        final long fingerprint = buffer.getLong();
+        final long positionEpochDay = buffer.getLong();
+        final long windowFromEpochDay = buffer.getLong();
+        final long windowToEpochDay = buffer.getLong();
+        final boolean exhausted = (flags & FLAG_EXHAUSTED) != 0;
+        if (!isValidEpochDay(positionEpochDay) || !isValidEpochDay(windowFromEpochDay) || !isValidEpochDay(windowToEpochDay)) {
+            throw new IllegalArgumentException("invalid continuation token, out of the range of dates: " + encoded);
+        }
+        // An exhausted cursor may have an empty window. Otherwise, the position must be in the window.
+        if (!exhausted && (positionEpochDay < windowFromEpochDay || positionEpochDay > windowToEpochDay)) {
+            throw new IllegalArgumentException("invalid continuation token, out of the window: " + encoded);
+        }
+        return new ContinuationToken(
+                fingerprint,
+                (flags & FLAG_FROM_LATEST) != 0,
+                positionEpochDay,
+                windowFromEpochDay,
+                windowToEpochDay,
+                exhausted);
+    }
+
+    public String encode() {
+        final ByteBuffer buffer = ByteBuffer.allocate(ENCODED_LENGTH);
+        buffer.put(VERSION);
+        buffer.put((byte) ((this.fromLatest ? FLAG_FROM_LATEST : 0) | (this.exhausted ? FLAG_EXHAUSTED : 0)));
+        buffer.putLong(this.fingerprint);
+        buffer.putLong(this.positionEpochDay);
+        buffer.putLong(this.windowFromEpochDay);
+        buffer.putLong(this.windowToEpochDay);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    long fingerprint() {
+        return this.fingerprint;
+    }
+
+    boolean fromLatest() {
+        return this.fromLatest;
+    }
+
+    long positionEpochDay() {
+        return this.positionEpochDay;
+    }
+
+    long windowFromEpochDay() {
+        return this.windowFromEpochDay;
+    }
+
+    long windowToEpochDay() {
+        return this.windowToEpochDay;
+    }
+
+    boolean exhausted() {
+        return this.exhausted;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ContinuationToken.class.getName(), this.fingerprint, this.fromLatest,
+                this.positionEpochDay, this.windowFromEpochDay, this.windowToEpochDay, this.exhausted);
+    }
+
+    @Override
+    public boolean equals(final Object otherObject) {
+        if (this == otherObject) {
+            return true;
+        }
+        if (!(otherObject instanceof ContinuationToken)) {
+            return false;
+        }
+
+        final ContinuationToken other = (ContinuationToken) otherObject;
+        return this.fingerprint == other.fingerprint
+                && this.fromLatest == other.fromLatest
+                && this.positionEpochDay == other.positionEpochDay
+                && this.windowFromEpochDay == other.windowFromEpochDay
+                && this.windowToEpochDay == other.windowToEpochDay
+                && this.exhausted == other.exhausted;
+    }
+
+    @Override
+    public String toString() {
+        return this.encode();
+    }
+
+    private static boolean isValidEpochDay(final long epochDay) {
+        return DatePattern.MIN_EPOCH_DAY <= epochDay && epochDay <= DatePattern.MAX_EPOCH_DAY;
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte VERSION = 1;
+
+    private static final byte FLAG_FROM_LATEST = 0x01;
+    private static final byte FLAG_EXHAUSTED = 0x02;
+
+    private static final int ENCODED_LENGTH = 1 + 1 + 8 * 4;
+
+    private final long fingerprint;
+    private final boolean fromLatest;
+    private final long positionEpochDay;
+    private final long windowFromEpochDay;
+    private final long windowToEpochDay;
+    private final boolean exhausted;
+}
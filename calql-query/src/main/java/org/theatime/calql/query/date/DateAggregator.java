@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.theatime.calql.query.Aggregator;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.DisjunctiveNormalFormula;
+
+/**
+ * Aggregates dates that satisfy {@link Conjunction} or {@link DisjunctiveNormalFormula} arithmetically over calendar fields.
+ *
+ * <p>Ex. "how many Mondays between 1900 and 2100" is counted from the number of Mondays in each type of year (a leap
+ * year or not, and its first day of week), and the 400-year cycle of the proleptic Gregorian calendar, without
+ * streaming every Monday.
+ *
+ * <p>A {@link DisjunctiveNormalFormula} is counted by the inclusion-exclusion principle over its conjunctions as long as
+ * the number of non-empty intersections is small enough. It falls back to streaming matches, without streaming
+ * non-matching dates, if the formula contains an atom that is not understood field by field, or if it has too many
+ * intersections.
+ */
+public final class DateAggregator implements Aggregator<ChronoLocalDate, LocalDate> {
+    private DateAggregator(final int maxInclusionExclusionTerms) {
+        this.maxInclusionExclusionTerms = maxInclusionExclusionTerms;
+    }
+
+    public static DateAggregator of() {
+        return new DateAggregator(DateUnion.DEFAULT_MAX_TERMS);
+    }
+
+    public static DateAggregator withMaxInclusionExclusionTerms(final int maxInclusionExclusionTerms) {
+        if (maxInclusionExclusionTerms < 0) {
+            throw new IllegalArgumentException("maxInclusionExclusionTerms must not be negative.");
+        }
+        return new DateAggregator(maxInclusionExclusionTerms);
+    }
+
+    /**
+     * Counts dates that satisfy the conjunction.
+     *
+     * @throws IllegalArgumentException  if the conjunction is not bounded, and then, there can be infinite matches
+     */
+    @Override
+    public long count(final Conjunction<ChronoLocalDate> conjunction) {
+        Objects.requireNonNull(conjunction, "conjunction is null.");
+        final DatePattern pattern = DatePattern.of(conjunction);
+        requireBounded(pattern);
+        return pattern.count(pattern.lowerEpochDay(), pattern.upperEpochDay());
+    }
+
+    /**
+     * Counts dates that satisfy the formula in Disjunctive Normal Form (DNF), without counting a date twice.
+     *
+     * @throws IllegalArgumentException  if a conjunction is not bounded, and then, there can be infinite matches
+     */
+    @Override
+    public long count(final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula) {
+        final DateUnion union = this.toUnion(disjunctiveNormalFormula);
+        return union.count(DatePattern.MIN_EPOCH_DAY, DatePattern.MAX_EPOCH_DAY);
+    }
+
+    @Override
+    public Optional<LocalDate> first(final Conjunction<ChronoLocalDate> conjunction) {
+        Objects.requireNonNull(conjunction, "conjunction is null.");
+        return DatePattern.of(conjunction).first();
+    }
+
+    @Override
+    public Optional<LocalDate> first(final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula) {
+        return DateMatcher.of(disjunctiveNormalFormula).nextMatch(LocalDate.MIN);
+    }
+
+    @Override
+    public Optional<LocalDate> last(final Conjunction<ChronoLocalDate> conjunction) {
+        Objects.requireNonNull(conjunction, "conjunction is null.");
+        return DatePattern.of(conjunction).last();
+    }
+
+    @Override
+    public Optional<LocalDate> last(final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula) {
+        return DateMatcher.of(disjunctiveNormalFormula).previousMatch(LocalDate.MAX);
+    }
+
+    /**
+     * Counts dates that satisfy the conjunction for each year. Years without any match are not included.
+     */
+    public SortedMap<Year, Long> countByYear(final Conjunction<ChronoLocalDate> conjunction) {
+        Objects.requireNonNull(conjunction, "conjunction is null.");
+        final DatePattern pattern = DatePattern.of(conjunction);
+        requireBounded(pattern);
+        final TreeMap<Year, Long> counts = new TreeMap<>();
+        addCountsByYear(pattern, 1L, counts);
+        return removeZeros(counts);
+    }
+
+    /**
+     * Counts dates that satisfy the formula for each year, without counting a date twice. Years without any match are not included.
+     */
+    public SortedMap<Year, Long> countByYear(final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula) {
+        final DateUnion union = this.toUnion(disjunctiveNormalFormula);
+        final TreeMap<Year, Long> counts = new TreeMap<>();
+        if (union.terms() != null) {
+            for (final DateUnion.Term term : union.terms()) {
+                addCountsByYear(term.pattern, term.sign, counts);
+            }
+            return removeZeros(counts);
+        }
+
+        final DateUnion.Walker walker = new DateUnion.Walker(union.patterns(), LocalDate.MIN);
+        for (Optional<LocalDate> found = walker.next(); found.isPresent(); found = walker.next()) {
+            counts.merge(Year.of(found.get().getYear()), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Counts dates that satisfy the conjunction for each month. Months without any match are not included.
+     */
+    public SortedMap<YearMonth, Long> countByYearMonth(final Conjunction<ChronoLocalDate> conjunction) {
+        Objects.requireNonNull(conjunction, "conjunction is null.");
+        final DatePattern pattern = DatePattern.of(conjunction);
+        requireBounded(pattern);
+        final TreeMap<YearMonth, Long> counts = new TreeMap<>();
+        addCountsByYearMonth(pattern, 1L, counts);
+        return removeZeros(counts);
+    }
+
+    /**
+     * Counts dates that satisfy the formula for each month, without counting a date twice. Months without any match are not included.
+     */
+    public SortedMap<YearMonth, Long> countByYearMonth(final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula) {
+        final DateUnion union = this.toUnion(disjunctiveNormalFormula);
+        final TreeMap<YearMonth, Long> counts = new TreeMap<>();
+        if (union.terms() != null) {
+            for (final DateUnion.Term term : union.terms()) {
+                addCountsByYearMonth(term.pattern, term.sign, counts);
+            }
+            return removeZeros(counts);
+        }
+
+        final DateUnion.Walker walker = new DateUnion.Walker(union.patterns(), LocalDate.MIN);
+        for (Optional<LocalDate> found = walker.next(); found.isPresent(); found = walker.next()) {
+            counts.merge(YearMonth.from(found.get()), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    private static void addCountsByYear(final DatePattern pattern, final long sign, final TreeMap<Year, Long> counts) {
+        if (pattern.isEmpty()) {
+            return;
+        }
+        // Only the years between the first and the last matches are walked. A pattern that never matches may be unbounded.
+        final Optional<LocalDate> first = pattern.first();
+        final Optional<LocalDate> last = pattern.last();
+        if (!first.isPresent() || !last.isPresent()) {
+            return;
+        }
+        final int upperYear = last.get().getYear();
+        int year = first.get().getYear();
+        while (year != DatePattern.NO_YEAR && year <= upperYear) {
+            final long count = pattern.count(LocalDate.of(year, 1, 1).toEpochDay(), LocalDate.of(year, 12, 31).toEpochDay());
+            if (count != 0L) {
+                counts.merge(Year.of(year), sign * count, Long::sum);
+            }
+            if (year >= Year.MAX_VALUE) {
+                break;
+            }
+            year = pattern.nextAllowedYear(year + 1);
+        }
+    }
+
+    private static void addCountsByYearMonth(final DatePattern pattern, final long sign, final TreeMap<YearMonth, Long> counts) {
+        if (pattern.isEmpty()) {
+            return;
+        }
+        final Optional<LocalDate> first = pattern.first();
+        final Optional<LocalDate> last = pattern.last();
+        if (!first.isPresent() || !last.isPresent()) {
+            return;
+        }
+        final int upperYear = last.get().getYear();
+        int year = first.get().getYear();
+        while (year != DatePattern.NO_YEAR && year <= upperYear) {
+            for (int month = 1; month <= 12; month++) {
+                final YearMonth yearMonth = YearMonth.of(year, month);
+                final long count = pattern.count(yearMonth.atDay(1).toEpochDay(), yearMonth.atEndOfMonth().toEpochDay());
+                if (count != 0L) {
+                    counts.merge(yearMonth, sign * count, Long::sum);
+                }
+            }
+            if (year >= Year.MAX_VALUE) {
+                break;
+            }
+            year = pattern.nextAllowedYear(year + 1);
+        }
+    }
+
+    private static <K> TreeMap<K, Long> removeZeros(final TreeMap<K, Long> counts) {
+        counts.values().removeIf(count -> count == 0L);
+        return counts;
+    }
+
+    private DateUnion toUnion(final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula) {
+        Objects.requireNonNull(disjunctiveNormalFormula, "disjunctiveNormalFormula is null.");
+        final ArrayList<DatePattern> patterns = new ArrayList<>();
+        for (final Conjunction<ChronoLocalDate> conjunction : disjunctiveNormalFormula) {
+            final DatePattern pattern = DatePattern.of(conjunction);
+            requireBounded(pattern);
+            patterns.add(pattern);
+        }
+        if (disjunctiveNormalFormula.isDisjoint()) {
+            return DateUnion.ofDisjoint(patterns);
+        }
+        return DateUnion.of(patterns, this.maxInclusionExclusionTerms);
+    }
+
+    private static void requireBounded(final DatePattern pattern) {
+        if (pattern.isBounded()) {
+            return;
+        }
+        if (!pattern.hasLowerBound() && pattern.first().isPresent()) {
+            throw new IllegalArgumentException("conjunction does not have the earliest date.");
+        }
+        if (!pattern.hasUpperBound() && pattern.last().isPresent()) {
+            throw new IllegalArgumentException("conjunction does not have the latest date.");
+        }
+    }
+
+    private final int maxInclusionExclusionTerms;
+}
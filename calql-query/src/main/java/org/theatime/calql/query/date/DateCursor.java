@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.theatime.calql.query.Order;
+
+/**
+ * A seekable, resumable cursor over dates that satisfy {@link DateMatcher}.
+ *
+ * <p>The window {@code [from, to]} is pushed down into seeking. The cursor never visits a date out of the window, and
+ * it never scans non-matching dates one by one unless the formula contains an atom not understood field by field.
+ *
+ * <p>{@link #token()} captures the position so that the cursor can be resumed by {@link #resume(DateMatcher, ContinuationToken)}
+ * at a constant cost, without re-scanning from the beginning.
+ *
+ * <p>It is not thread-safe.
+ */
+public final class DateCursor implements Iterator<LocalDate> {
+    private DateCursor(
+            final DateMatcher matcher,
+            final Order order,
+            final long positionEpochDay,
+            final long windowFromEpochDay,
+            final long windowToEpochDay,
+            final boolean exhausted) {
+        this.matcher = matcher;
+        this.order = order;
+        this.positionEpochDay = positionEpochDay;
+        this.windowFromEpochDay = windowFromEpochDay;
+        this.windowToEpochDay = windowToEpochDay;
+        this.exhausted = exhausted;
+        this.lookahead = null;
+    }
+
+    public static DateCursor of(final DateMatcher matcher, final Order order) {
+        return of(matcher, order, LocalDate.MIN, LocalDate.MAX);
+    }
+
+    /**
+     * Creates a cursor in the window from {@code from} to {@code to}, both inclusive.
+     */
+    public static DateCursor of(final DateMatcher matcher, final Order order, final LocalDate from, final LocalDate to) {
+        Objects.requireNonNull(matcher, "matcher is null.");
+        Objects.requireNonNull(from, "from is null.");
+        Objects.requireNonNull(to, "to is null.");
+        final long fromEpochDay = from.toEpochDay();
+        final long toEpochDay = to.toEpochDay();
+        if (order == Order.FROM_EARLIEST_TO_LATEST) {
+            return new DateCursor(matcher, order, fromEpochDay, fromEpochDay, toEpochDay, fromEpochDay > toEpochDay);
+        } else if (order == Order.FROM_LATEST_TO_EARLIEST) {
+            return new DateCursor(matcher, order, toEpochDay, fromEpochDay, toEpochDay, fromEpochDay > toEpochDay);
+        } else {
+            throw new IllegalArgumentException("invalid date order: " + order);
+        }
+    }
+
+    /**
+     * Resumes a cursor from a token taken by {@link #token()}.
+     *
+     * @throws IllegalArgumentException  if the token was taken from a cursor of another formula
+     */
+    public static DateCursor resume(final DateMatcher matcher, final ContinuationToken token) {
+        Objects.requireNonNull(matcher, "matcher is null.");
+        Objects.requireNonNull(token, "token is null.");
+        if (matcher.fingerprint() != token.fingerprint()) {
+            throw new IllegalArgumentException("continuation token is not for the formula.");
+        }
+        return new DateCursor(
+                matcher,
+                token.fromLatest() ? Order.FROM_LATEST_TO_EARLIEST : Order.FROM_EARLIEST_TO_LATEST,
+                token.positionEpochDay(),
+                token.windowFromEpochDay(),
+                token.windowToEpochDay(),
+                token.exhausted());
+    }
+
+    /**
+     * Moves the cursor so that the next date is the first match at or after {@code date} in its order.
+     *
+     * <p>In {@link Order#FROM_LATEST_TO_EARLIEST}, the next date is the latest match on or before {@code date}. The
+     * position is clamped into the window.
+     */
+    public DateCursor seek(final LocalDate date) {
+        Objects.requireNonNull(date, "date is null.");
+        final long epochDay = Math.max(this.windowFromEpochDay, Math.min(this.windowToEpochDay, date.toEpochDay()));
+        this.positionEpochDay = epochDay;
+        this.exhausted = this.windowFromEpochDay > this.windowToEpochDay;
+        this.lookahead = null;
+        return this;
+    }
+
+    /**
+     * Skips {@code n} dates without streaming them.
+     *
+     * <p>It jumps to the {@code n}-th match by counting matches per period if every atom in the formula is understood
+     * field by field. Otherwise, it walks through {@code n} matches, still without visiting non-matching dates.
+     */
+    public DateCursor skip(final long n) {
+        if (n < 0L) {
+            throw new IllegalArgumentException("n must not be negative.");
+        }
+        if (n == 0L || this.exhausted) {
+            return this;
+        }
+        this.lookahead = null;
+
+        final Optional<LocalDate> found;
+        if (this.order == Order.FROM_EARLIEST_TO_LATEST) {
+            found = this.matcher.union().selectForward(this.positionEpochDay, this.windowToEpochDay, n);
+        } else {
+            found = this.matcher.union().selectBackward(this.windowFromEpochDay, this.positionEpochDay, n);
+        }
+        if (found.isPresent()) {
+            this.positionEpochDay = found.get().toEpochDay();
+        } else {
+            this.exhausted = true;
+        }
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.peek() != null;
+    }
+
+    @Override
+    public LocalDate next() {
+        final LocalDate next = this.peek();
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        this.lookahead = null;
+        if (this.order == Order.FROM_EARLIEST_TO_LATEST) {
+            if (next.toEpochDay() >= this.windowToEpochDay) {
+                this.exhausted = true;
+            } else {
+                this.positionEpochDay = next.toEpochDay() + 1;
+            }
+        } else {
+            if (next.toEpochDay() <= this.windowFromEpochDay) {
+                this.exhausted = true;
+            } else {
+                this.positionEpochDay = next.toEpochDay() - 1;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Takes a token of the current position, from which {@link #next()} would continue.
+     */
+    public ContinuationToken token() {
+        return new ContinuationToken(
+                this.matcher.fingerprint(),
+                this.order == Order.FROM_LATEST_TO_EARLIEST,
+                this.positionEpochDay,
+                this.windowFromEpochDay,
+                this.windowToEpochDay,
+                this.exhausted);
+    }
+
+    /**
+     * Streams the rest of the dates from the current position.
+     */
+    public Stream<LocalDate> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                this,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE),
+            false);
+    }
+
+    private LocalDate peek() {
+        if (this.lookahead != null) {
+            return this.lookahead;
+        }
+        if (this.exhausted) {
+            return null;
+        }
+
+        final LocalDate position = LocalDate.ofEpochDay(this.positionEpochDay);
+        final Optional<LocalDate> found;
+        if (this.order == Order.FROM_EARLIEST_TO_LATEST) {
+            found = this.matcher.union().next(position, this.windowToEpochDay);
+        } else {
+            found = this.matcher.union().previous(position, this.windowFromEpochDay);
+        }
+        if (!found.isPresent()) {
+            this.exhausted = true;
+            return null;
+        }
+        this.lookahead = found.get();
+        return this.lookahead;
+    }
+
+    private final DateMatcher matcher;
+    private final Order order;
+
+    private final long windowFromEpochDay;
+    private final long windowToEpochDay;
+
+    private long positionEpochDay;
+    private boolean exhausted;
+
+    private LocalDate lookahead;
+}
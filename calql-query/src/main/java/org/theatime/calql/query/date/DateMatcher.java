@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntToLongFunction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.DisjunctiveNormalFormula;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.Order;
+
+/**
+ * A compiled formula of dates, which seeks matching dates field by field.
+ *
+ * <p>Ex. {@code nextMatch(date)} jumps to the next allowed year, then the next allowed month, then the next allowed day
+ * of month, and so on, instead of testing each date one by one. A {@link DisjunctiveNormalFormula} is sought in each of
+ * its conjunctions, and then the earliest (or the latest) among them is taken.
+ *
+ * <p>It is immutable, and safe to be shared among threads.
+ */
+public final class DateMatcher implements Predicate<ChronoLocalDate> {
+    private DateMatcher(final DateUnion union) {
+        this.union = union;
+    }
+
+    public static DateMatcher of(final Formula<ChronoLocalDate> formula) {
+        Objects.requireNonNull(formula, "formula is null.");
+        return of(formula.toDisjunctiveNormalForm());
+    }
+
+    public static DateMatcher of(final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula) {
+        Objects.requireNonNull(disjunctiveNormalFormula, "disjunctiveNormalFormula is null.");
+        final ArrayList<DatePattern> patterns = new ArrayList<>();
+        for (final Conjunction<ChronoLocalDate> conjunction : disjunctiveNormalFormula) {
+            patterns.add(DatePattern.of(conjunction));
+        }
+        if (disjunctiveNormalFormula.isDisjoint()) {
+            return new DateMatcher(DateUnion.ofDisjoint(patterns));
+        }
+        return new DateMatcher(DateUnion.of(patterns, DateUnion.DEFAULT_MAX_TERMS));
+    }
+
+    public static DateMatcher of(final Conjunction<ChronoLocalDate> conjunction) {
+        Objects.requireNonNull(conjunction, "conjunction is null.");
+        return new DateMatcher(DateUnion.of(Collections.singletonList(DatePattern.of(conjunction)), DateUnion.DEFAULT_MAX_TERMS));
+    }
+
+    /**
+     * Finds the earliest date on or after {@code from} that satisfies the formula.
+     *
+     * @param from  the date to start seeking from, inclusive
+     * @return the earliest matching date, or empty if no date on or after {@code from} matches
+     */
+    public Optional<LocalDate> nextMatch(final LocalDate from) {
+        Objects.requireNonNull(from, "from is null.");
+        return this.union.next(from);
+    }
+
+    /**
+     * Finds the latest date on or before {@code from} that satisfies the formula.
+     *
+     * @param from  the date to start seeking from, inclusive
+     * @return the latest matching date, or empty if no date on or before {@code from} matches
+     */
+    public Optional<LocalDate> previousMatch(final LocalDate from) {
+        Objects.requireNonNull(from, "from is null.");
+        return this.union.previous(from);
+    }
+
+    /**
+     * Finds the {@code n}-th (0-origin) date on or after {@code from} that satisfies the formula.
+     *
+     * <p>It jumps by counting matches per period, not by streaming {@code n} matches, if every atom in the formula is
+     * understood field by field. {@code nthMatch(from, 0)} is equivalent to {@code nextMatch(from)}.
+     *
+     * @param from  the date to start seeking from, inclusive
+     * @param n  the number of matches to skip
+     * @return the {@code n}-th matching date, or empty if there are {@code n} or less matches on or after {@code from}
+     */
+    public Optional<LocalDate> nthMatch(final LocalDate from, final long n) {
+        Objects.requireNonNull(from, "from is null.");
+        return this.union.selectForward(from.toEpochDay(), DatePattern.MAX_EPOCH_DAY, n);
+    }
+
+    /**
+     * Finds the {@code n}-th (0-origin) date on or before {@code from} that satisfies the formula, counting backward.
+     *
+     * @param from  the date to start seeking from, inclusive
+     * @param n  the number of matches to skip
+     * @return the {@code n}-th matching date, or empty if there are {@code n} or less matches on or before {@code from}
+     */
+    public Optional<LocalDate> nthPreviousMatch(final LocalDate from, final long n) {
+        Objects.requireNonNull(from, "from is null.");
+        return this.union.selectBackward(DatePattern.MIN_EPOCH_DAY, from.toEpochDay(), n);
+    }
+
+    @Override
+    public boolean test(final ChronoLocalDate targetChrono) {
+        if (targetChrono instanceof LocalDate) {
+            return this.union.test((LocalDate) targetChrono);
+        }
+        return false;
+    }
+
+    /**
+     * Streams maximal runs of consecutive matching dates in the order.
+     *
+     * @see #streamRanges(LocalDate, LocalDate, Order)
+     */
+    public Stream<DateRange> streamRanges(final Order order) {
+        return this.streamRanges(LocalDate.MIN, LocalDate.MAX, order);
+    }
+
+    /**
+     * Streams maximal runs of consecutive matching dates from {@code from} to {@code to}, both inclusive, in the order.
+     *
+     * <p>Runs are clipped by {@code from} and {@code to}. The end of a run is found by jumping over whole months and
+     * years when the days of month and the months allow, without visiting each date. A run chained across conjunctions,
+     * such as {@code month >= 5 OR month <= 8}, is still followed year by year, so a window is recommended for them.
+     *
+     * <p>Ex. {@code year >= 1990 AND month in (6, 7, 8)} is streamed as {@code [1990-06-01, 1990-08-31]},
+     * {@code [1991-06-01, 1991-08-31]}, and so on.
+     */
+    public Stream<DateRange> streamRanges(final LocalDate from, final LocalDate to, final Order order) {
+        Objects.requireNonNull(from, "from is null.");
+        Objects.requireNonNull(to, "to is null.");
+        final long fromEpochDay = from.toEpochDay();
+        final long toEpochDay = to.toEpochDay();
+        if (order == Order.FROM_EARLIEST_TO_LATEST) {
+            return Stream.iterate(
+                    this.rangeOnOrAfter(fromEpochDay, toEpochDay),
+                    Objects::nonNull,
+                    range -> range.end().toEpochDay() >= toEpochDay ? null : this.rangeOnOrAfter(range.end().toEpochDay() + 1, toEpochDay));
+        } else if (order == Order.FROM_LATEST_TO_EARLIEST) {
+            return Stream.iterate(
+                    this.rangeOnOrBefore(toEpochDay, fromEpochDay),
+                    Objects::nonNull,
+                    range -> range.start().toEpochDay() <= fromEpochDay ? null : this.rangeOnOrBefore(range.start().toEpochDay() - 1, fromEpochDay));
+        } else {
+            throw new IllegalArgumentException("invalid date order: " + order);
+        }
+    }
+
+    /**
+     * Tests dates in bulk, given as epoch days.
+     *
+     * <p>Each distinct date is tested only once. Rows in a batch often share much fewer distinct dates than the rows.
+     *
+     * @param epochDays  the dates to test, as epoch days
+     * @return a bit set in which the {@code i}-th bit is set if {@code epochDays[i]} satisfies the formula
+     * @throws java.time.DateTimeException  if an epoch day is out of the range of {@link LocalDate}
+     */
+    public BitSet testAll(final long[] epochDays) {
+        Objects.requireNonNull(epochDays, "epochDays is null.");
+        return this.classify(epochDays.length, i -> epochDays[i]);
+    }
+
+    /**
+     * Tests dates in bulk, given as epoch days in {@code int}.
+     *
+     * @see #testAll(long[])
+     */
+    public BitSet testAll(final int[] epochDays) {
+        Objects.requireNonNull(epochDays, "epochDays is null.");
+        return this.classify(epochDays.length, i -> epochDays[i]);
+    }
+
+    /**
+     * Tests dates in bulk.
+     *
+     * @see #testAll(long[])
+     */
+    public BitSet testAll(final LocalDate[] dates) {
+        Objects.requireNonNull(dates, "dates is null.");
+        return this.classify(dates.length, i -> dates[i].toEpochDay());
+    }
+
+    long fingerprint() {
+        long hash = this.union.patterns().size();
+        for (final DatePattern pattern : this.union.patterns()) {
+            hash = hash * 31L + pattern.fingerprint();
+        }
+        return hash;
+    }
+
+    DateUnion union() {
+        return this.union;
+    }
+
+    private DateRange rangeOnOrAfter(final long epochDay, final long toEpochDay) {
+        if (epochDay > toEpochDay) {
+            return null;
+        }
+        final Optional<LocalDate> found = this.union.next(LocalDate.ofEpochDay(epochDay), toEpochDay);
+        if (!found.isPresent()) {
+            return null;
+        }
+        final long start = found.get().toEpochDay();
+        return DateRange.ofEpochDays(start, this.union.runEnd(start, toEpochDay));
+    }
+
+    private DateRange rangeOnOrBefore(final long epochDay, final long fromEpochDay) {
+        if (epochDay < fromEpochDay) {
+            return null;
+        }
+        final Optional<LocalDate> found = this.union.previous(LocalDate.ofEpochDay(epochDay), fromEpochDay);
+        if (!found.isPresent()) {
+            return null;
+        }
+        final long end = found.get().toEpochDay();
+        return DateRange.ofEpochDays(this.union.runStart(end, fromEpochDay), end);
+    }
+
+    /**
+     * Classifies dates with a memo of results per distinct date.
+     *
+     * <p>The memo is a dense table over the span of the dates if the span is small enough. Otherwise, the distinct dates
+     * are sorted, and each date is looked up by binary search.
+     */
+    private BitSet classify(final int length, final IntToLongFunction epochDayAt) {
+        final BitSet result = new BitSet(length);
+        if (length == 0) {
+            return result;
+        }
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            final long epochDay = epochDayAt.applyAsLong(i);
+            min = Math.min(min, epochDay);
+            max = Math.max(max, epochDay);
+        }
+        // Fails fast with DateTimeException before sizing the memo with an out-of-range span.
+        LocalDate.ofEpochDay(min);
+        LocalDate.ofEpochDay(max);
+
+        if (max - min < Math.max(DENSE_MEMO_MIN_SPAN, (long) length * 4L)) {
+            final byte[] memo = new byte[(int) (max - min + 1)];
+            for (int i = 0; i < length; i++) {
+                final long epochDay = epochDayAt.applyAsLong(i);
+                final int index = (int) (epochDay - min);
+                if (memo[index] == MEMO_UNKNOWN) {
+                    memo[index] = this.union.test(LocalDate.ofEpochDay(epochDay)) ? MEMO_MATCH : MEMO_UNMATCH;
+                }
+                if (memo[index] == MEMO_MATCH) {
+                    result.set(i);
+                }
+            }
+            return result;
+        }
+
+        final long[] sorted = new long[length];
+        for (int i = 0; i < length; i++) {
+            sorted[i] = epochDayAt.applyAsLong(i);
+        }
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        final BitSet matches = new BitSet(distinct);
+        for (int i = 0; i < distinct; i++) {
+            if (this.union.test(LocalDate.ofEpochDay(sorted[i]))) {
+                matches.set(i);
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            if (matches.get(Arrays.binarySearch(sorted, 0, distinct, epochDayAt.applyAsLong(i)))) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    private static final long DENSE_MEMO_MIN_SPAN = 1L << 16;
+
+    private static final byte MEMO_UNKNOWN = 0;
+    private static final byte MEMO_MATCH = 1;
+    private static final byte MEMO_UNMATCH = 2;
+
+    private final DateUnion union;
+}
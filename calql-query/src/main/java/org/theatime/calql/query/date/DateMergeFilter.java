@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.theatime.calql.query.Order;
+
+/**
+ * Filters records sorted by date, keeping the records whose date satisfies {@link DateMatcher}, like a merge join.
+ *
+ * <p>It seeks the matcher in lockstep with the records. Once a stretch of non-matching dates is known by seeking, the
+ * records in the stretch are dropped only by comparing their dates with its end, without testing the formula. Records
+ * in a known run of matching dates are kept in the same way.
+ *
+ * <p>The result is correct even if the records are not sorted, but then it seeks much more often.
+ *
+ * @param <R>  the type of records
+ */
+public final class DateMergeFilter<R> implements Iterator<R> {
+    private DateMergeFilter(
+            final Iterator<? extends R> records,
+            final Function<? super R, LocalDate> keyExtractor,
+            final DateMatcher matcher,
+            final Order order) {
+        this.records = records;
+        this.keyExtractor = keyExtractor;
+        this.matcher = matcher;
+        this.forward = order == Order.FROM_EARLIEST_TO_LATEST;
+        this.matchedFromEpochDay = 0L;
+        this.matchedToEpochDay = -1L;
+        this.unmatchedFromEpochDay = 0L;
+        this.unmatchedToEpochDay = -1L;
+        this.lookahead = null;
+        this.hasLookahead = false;
+    }
+
+    /**
+     * Filters records sorted in the order.
+     *
+     * @param records  the records sorted by their dates in {@code order}
+     * @param keyExtractor  the function to extract the date of a record
+     * @param matcher  the compiled formula
+     * @param order  the order in which the records are sorted
+     */
+    public static <R> DateMergeFilter<R> of(
+            final Iterator<? extends R> records,
+            final Function<? super R, LocalDate> keyExtractor,
+            final DateMatcher matcher,
+            final Order order) {
+        Objects.requireNonNull(records, "records is null.");
+        Objects.requireNonNull(keyExtractor, "keyExtractor is null.");
+        Objects.requireNonNull(matcher, "matcher is null.");
+        if (order != Order.FROM_EARLIEST_TO_LATEST && order != Order.FROM_LATEST_TO_EARLIEST) {
+            throw new IllegalArgumentException("invalid date order: " + order);
+        }
+        return new DateMergeFilter<>(records, keyExtractor, matcher, order);
+    }
+
+    /**
+     * Filters a stream of records sorted in the order. Closing the returned stream closes {@code records}.
+     */
+    public static <R> Stream<R> filter(
+            final Stream<R> records,
+            final Function<? super R, LocalDate> keyExtractor,
+            final DateMatcher matcher,
+            final Order order) {
+        Objects.requireNonNull(records, "records is null.");
+        final DateMergeFilter<R> filter = of(records.iterator(), keyExtractor, matcher, order);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(filter, Spliterator.ORDERED), false).onClose(records::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.hasLookahead && this.records.hasNext()) {
+            final R record = this.records.next();
+            final LocalDate key = Objects.requireNonNull(this.keyExtractor.apply(record), "date of a record is null.");
+            if (this.matches(key.toEpochDay())) {
+                this.lookahead = record;
+                this.hasLookahead = true;
+            }
+        }
+        return this.hasLookahead;
+    }
+
+    @Override
+    public R next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final R record = this.lookahead;
+        this.lookahead = null;
+        this.hasLookahead = false;
+        return record;
+    }
+
+    private boolean matches(final long epochDay) {
+        if (this.matchedFromEpochDay <= epochDay && epochDay <= this.matchedToEpochDay) {
+            return true;
+        }
+        if (this.unmatchedFromEpochDay <= epochDay && epochDay <= this.unmatchedToEpochDay) {
+            return false;
+        }
+
+        // Seeks to the next match in the order within the horizon, and remembers the non-matching stretch before it, and
+        // the run of matching dates from it. If nothing matches within the horizon, the whole horizon is remembered as
+        // non-matching.
+        final LocalDate key = LocalDate.ofEpochDay(epochDay);
+        final DateUnion union = this.matcher.union();
+        if (this.forward) {
+            final long limitEpochDay = Math.min(epochDay + RUN_HORIZON_DAYS, DatePattern.MAX_EPOCH_DAY);
+            final Optional<LocalDate> found = union.next(key, limitEpochDay);
+            if (found.isPresent()) {
+                final long foundEpochDay = found.get().toEpochDay();
+                this.unmatchedFromEpochDay = epochDay;
+                this.unmatchedToEpochDay = foundEpochDay - 1;
+                this.matchedFromEpochDay = foundEpochDay;
+                this.matchedToEpochDay = union.runEnd(foundEpochDay, Math.min(foundEpochDay + RUN_HORIZON_DAYS, DatePattern.MAX_EPOCH_DAY));
+            } else {
+                this.unmatchedFromEpochDay = epochDay;
+                this.unmatchedToEpochDay = limitEpochDay;
+            }
+        } else {
+            final long limitEpochDay = Math.max(epochDay - RUN_HORIZON_DAYS, DatePattern.MIN_EPOCH_DAY);
+            final Optional<LocalDate> found = union.previous(key, limitEpochDay);
+            if (found.isPresent()) {
+                final long foundEpochDay = found.get().toEpochDay();
+                this.unmatchedFromEpochDay = foundEpochDay + 1;
+                this.unmatchedToEpochDay = epochDay;
+                this.matchedFromEpochDay = union.runStart(foundEpochDay, Math.max(foundEpochDay - RUN_HORIZON_DAYS, DatePattern.MIN_EPOCH_DAY));
+                this.matchedToEpochDay = foundEpochDay;
+            } else {
+                this.unmatchedFromEpochDay = limitEpochDay;
+                this.unmatchedToEpochDay = epochDay;
+            }
+        }
+        return this.matchedFromEpochDay <= epochDay && epochDay <= this.matchedToEpochDay;
+    }
+
+    // How far a match is sought, and a run of matching dates is looked ahead, at once. Seeking with a residual atom, and
+    // runs chained across conjunctions, may continue for ever.
+    private static final long RUN_HORIZON_DAYS = 366L;
+
+    private final Iterator<? extends R> records;
+    private final Function<? super R, LocalDate> keyExtractor;
+    private final DateMatcher matcher;
+    private final boolean forward;
+
+    private long matchedFromEpochDay;
+    private long matchedToEpochDay;
+    private long unmatchedFromEpochDay;
+    private long unmatchedToEpochDay;
+
+    private R lookahead;
+    private boolean hasLookahead;
+}
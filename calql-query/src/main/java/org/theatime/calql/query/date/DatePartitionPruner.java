@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.theatime.calql.query.Formula;
+
+/**
+ * Finds the partitions of a date-partitioned dataset that can contain dates matching a formula.
+ *
+ * <p>It seeks the first match on or after the start of each partition, and then jumps to the next partition after
+ * the match. It never enumerates dates within a partition. The result is exact: a partition is included if and only
+ * if it contains at least one matching date.
+ *
+ * <p>Ex. {@code year in (2023, 2024) AND month = 2 AND dayOfMonth = 29} is pruned to {@code [2024]} by
+ * {@link PartitionGranularity#YEAR}, and to {@code [2024-02]} by {@link PartitionGranularity#YEAR_MONTH}.
+ *
+ * @param <P>  the type of partition keys
+ */
+public final class DatePartitionPruner<P extends Comparable<? super P>> {
+    private DatePartitionPruner(final PartitionGranularity<P> granularity) {
+        this.granularity = granularity;
+    }
+
+    public static <P extends Comparable<? super P>> DatePartitionPruner<P> of(final PartitionGranularity<P> granularity) {
+        Objects.requireNonNull(granularity, "granularity is null.");
+        return new DatePartitionPruner<>(granularity);
+    }
+
+    /**
+     * Returns the keys of partitions that contain dates matching the formula, within the bounds of the formula.
+     *
+     * @throws IllegalArgumentException  if a conjunction of the formula is not bounded, and then, there can be infinite partitions
+     */
+    public SortedSet<P> partitions(final Formula<ChronoLocalDate> formula) {
+        Objects.requireNonNull(formula, "formula is null.");
+        final DateMatcher matcher = DateMatcher.of(formula);
+
+        LocalDate earliest = null;
+        LocalDate latest = null;
+        for (final DatePattern pattern : matcher.union().patterns()) {
+            final Optional<LocalDate> first = pattern.first();
+            if (!first.isPresent()) {
+                continue;
+            }
+            if (!pattern.hasLowerBound()) {
+                throw new IllegalArgumentException("conjunction does not have the earliest date.");
+            }
+            if (!pattern.hasUpperBound()) {
+                throw new IllegalArgumentException("conjunction does not have the latest date.");
+            }
+            final LocalDate last = pattern.last().get();
+            earliest = earliest == null || first.get().isBefore(earliest) ? first.get() : earliest;
+            latest = latest == null || last.isAfter(latest) ? last : latest;
+        }
+        if (earliest == null) {
+            return Collections.unmodifiableSortedSet(new TreeSet<>());
+        }
+        return this.partitions(matcher, earliest, latest);
+    }
+
+    /**
+     * Returns the keys of partitions that contain dates matching the matcher from {@code from} to {@code to}, both inclusive.
+     */
+    public SortedSet<P> partitions(final DateMatcher matcher, final LocalDate from, final LocalDate to) {
+        Objects.requireNonNull(matcher, "matcher is null.");
+        Objects.requireNonNull(from, "from is null.");
+        Objects.requireNonNull(to, "to is null.");
+
+        final TreeSet<P> partitions = new TreeSet<>();
+        final long toEpochDay = to.toEpochDay();
+        Optional<LocalDate> found = matcher.union().next(from, toEpochDay);
+        while (found.isPresent()) {
+            partitions.add(this.granularity.keyOf(found.get()));
+            final LocalDate last = this.granularity.lastDateOf(found.get());
+            if (!last.isBefore(to)) {
+                break;
+            }
+            found = matcher.union().next(last.plusDays(1), toEpochDay);
+        }
+        return Collections.unmodifiableSortedSet(partitions);
+    }
+
+    private final PartitionGranularity<P> granularity;
+}
@@ -0,0 +1,1182 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.chrono.ChronoLocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.theatime.calql.query.Atom;
+import org.theatime.calql.query.Conjunction;
+
+/**
+ * A compiled form of {@link Conjunction} of dates, decomposed into calendar fields.
+ *
+ * <p>It holds allowed years, months, days of month, days of week, and dates separately so that matching dates can be
+ * sought and counted field by field, without visiting each date. The proleptic Gregorian calendar repeats itself every
+ * 400 years (146097 days, which is also a multiple of 7), which bounds the search and makes counts periodic.
+ *
+ * <p>Atoms that are not known here are kept as "residuals", and tested date by date.
+ */
+final class DatePattern {
+    private DatePattern(
+            final long lowerEpochDay,
+            final long upperEpochDay,
+            final int[] includedYears,
+            final int[] excludedYears,
+            final int months,
+            final long daysOfMonth,
+            final int daysOfWeek,
+            final long[] includedDates,
+            final long[] excludedDates,
+            final List<Atom<ChronoLocalDate>> residuals,
+            final boolean empty) {
+        this.lowerEpochDay = lowerEpochDay;
+        this.upperEpochDay = upperEpochDay;
+        this.includedYears = includedYears;
+        this.excludedYears = excludedYears;
+        this.months = months;
+        this.daysOfMonth = daysOfMonth;
+        this.daysOfWeek = daysOfWeek;
+        this.includedDates = includedDates;
+        this.excludedDates = excludedDates;
+        this.residuals = residuals;
+        this.empty = empty;
+
+        // Computed eagerly, so that they are published safely as final fields to threads sharing the pattern.
+        this.countsByYearType = new long[YEAR_TYPES];
+        long countInCycle = 0L;
+        for (int type = 0; type < YEAR_TYPES; type++) {
+            this.countsByYearType[type] = this.countInYearOfType(type >= 7, type % 7 + 1);
+            countInCycle += this.countsByYearType[type] * YEARS_OF_TYPE_IN_CYCLE[type];
+        }
+        this.countInCycle = countInCycle;
+    }
+
+    static DatePattern of(final Conjunction<ChronoLocalDate> conjunction) {
+        return of((Collection<Atom<ChronoLocalDate>>) conjunction);
+    }
+
+    static DatePattern of(final Collection<Atom<ChronoLocalDate>> atoms) {
+        final Builder builder = new Builder();
+        for (final Atom<ChronoLocalDate> atom : atoms) {
+            if (atom.unit() != LocalDate.class) {
+                throw new IllegalArgumentException("conjunction contains non-date.");
+            }
+            builder.add(atom);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Intersects this pattern with another pattern, as if their atoms were in one {@link Conjunction}.
+     */
+    DatePattern intersect(final DatePattern other) {
+        if (this.empty) {
+            return this;
+        }
+        if (other.empty) {
+            return other;
+        }
+        final Builder builder = new Builder();
+        builder.merge(this);
+        builder.merge(other);
+        return builder.build();
+    }
+
+    boolean isEmpty() {
+        return this.empty;
+    }
+
+    boolean isBounded() {
+        return this.empty || (this.lowerEpochDay > MIN_EPOCH_DAY && this.upperEpochDay < MAX_EPOCH_DAY);
+    }
+
+    boolean hasLowerBound() {
+        return this.lowerEpochDay > MIN_EPOCH_DAY;
+    }
+
+    boolean hasUpperBound() {
+        return this.upperEpochDay < MAX_EPOCH_DAY;
+    }
+
+    /**
+     * Returns {@code true} if every atom is understood field by field, and then counts can be computed analytically.
+     */
+    boolean isAnalytic() {
+        return this.residuals.isEmpty();
+    }
+
+    long lowerEpochDay() {
+        return this.lowerEpochDay;
+    }
+
+    long upperEpochDay() {
+        return this.upperEpochDay;
+    }
+
+    /**
+     * Returns the allowed months in bits from 1 to 12.
+     */
+    int months() {
+        return this.months;
+    }
+
+    /**
+     * Returns the allowed days of month in bits from 1 to 31.
+     */
+    long daysOfMonth() {
+        return this.daysOfMonth;
+    }
+
+    /**
+     * Returns the allowed days of week in bits from 1 (Monday) to 7 (Sunday).
+     */
+    int daysOfWeek() {
+        return this.daysOfWeek;
+    }
+
+    /**
+     * Returns the sorted allowed years within the bounds, or {@code null} if any year is allowed except for excluded years.
+     */
+    int[] includedYears() {
+        return this.includedYears;
+    }
+
+    /**
+     * Returns the sorted excluded years within the bounds.
+     */
+    int[] excludedYears() {
+        return this.excludedYears;
+    }
+
+    /**
+     * Returns the sorted allowed dates in epoch days, or {@code null} if any date is allowed except for excluded dates.
+     *
+     * <p>They are exact when non-null. Every other field has already been applied to them.
+     */
+    long[] includedDates() {
+        return this.includedDates;
+    }
+
+    /**
+     * Returns the sorted excluded dates in epoch days, which would match otherwise.
+     */
+    long[] excludedDates() {
+        return this.excludedDates;
+    }
+
+    List<Atom<ChronoLocalDate>> residuals() {
+        return this.residuals;
+    }
+
+    /**
+     * Returns a hash of the compiled fields, which is stable across JVMs unlike {@link Object#hashCode()} of atoms.
+     *
+     * <p>Residuals are hashed by their class names and {@link Object#toString()}, whose {@link String#hashCode()} is stable.
+     */
+    long fingerprint() {
+        long hash = this.empty ? 1L : 0L;
+        hash = hash * 31L + this.lowerEpochDay;
+        hash = hash * 31L + this.upperEpochDay;
+        hash = hash * 31L + (this.includedYears == null ? -1L : Arrays.hashCode(this.includedYears));
+        hash = hash * 31L + Arrays.hashCode(this.excludedYears);
+        hash = hash * 31L + this.months;
+        hash = hash * 31L + this.daysOfMonth;
+        hash = hash * 31L + this.daysOfWeek;
+        hash = hash * 31L + (this.includedDates == null ? -1L : Arrays.hashCode(this.includedDates));
+        hash = hash * 31L + Arrays.hashCode(this.excludedDates);
+        hash = hash * 31L + this.residuals.size();
+        for (final Atom<ChronoLocalDate> residual : this.residuals) {
+            hash = hash * 31L + residual.getClass().getName().hashCode();
+            hash = hash * 31L + residual.toString().hashCode();
+        }
+        return hash;
+    }
+
+    boolean test(final LocalDate date) {
+        if (this.empty) {
+            return false;
+        }
+        final long epochDay = date.toEpochDay();
+        if (epochDay < this.lowerEpochDay || epochDay > this.upperEpochDay) {
+            return false;
+        }
+        if (!this.testFields(date)) {
+            return false;
+        }
+        if (this.includedDates != null && Arrays.binarySearch(this.includedDates, epochDay) < 0) {
+            return false;
+        }
+        if (Arrays.binarySearch(this.excludedDates, epochDay) >= 0) {
+            return false;
+        }
+        return this.testResiduals(date);
+    }
+
+    /**
+     * Seeks the earliest matching date on or after {@code from}.
+     *
+     * <p>It may not end in practice if the pattern has residuals, and no date matches after {@code from}. Seek with a
+     * limit by {@link #next(LocalDate, long)} then.
+     */
+    Optional<LocalDate> next(final LocalDate from) {
+        return this.next(from, MAX_EPOCH_DAY);
+    }
+
+    /**
+     * Seeks the earliest matching date on or after {@code from}, and on or before {@code limitEpochDay}.
+     */
+    Optional<LocalDate> next(final LocalDate from, final long limitEpochDay) {
+        if (this.empty) {
+            return Optional.<LocalDate>empty();
+        }
+
+        final long upper = Math.min(this.upperEpochDay, limitEpochDay);
+        long epochDay = Math.max(from.toEpochDay(), this.lowerEpochDay);
+        int guardYear = this.guardYearForward(LocalDate.ofEpochDay(Math.min(epochDay, MAX_EPOCH_DAY)).getYear());
+        while (epochDay <= upper) {
+            final LocalDate date = LocalDate.ofEpochDay(epochDay);
+            final int year = date.getYear();
+            if (year > guardYear) {
+                return Optional.<LocalDate>empty();
+            }
+
+            final int allowedYear = this.nextAllowedYear(year);
+            if (allowedYear == NO_YEAR) {
+                return Optional.<LocalDate>empty();
+            }
+            if (allowedYear != year) {
+                epochDay = LocalDate.of(allowedYear, 1, 1).toEpochDay();
+                guardYear = this.guardYearForward(allowedYear);
+                continue;
+            }
+
+            final int month = date.getMonthValue();
+            final int allowedMonth = nextBit(this.months, month);
+            if (allowedMonth < 0) {
+                if (year >= Year.MAX_VALUE) {
+                    return Optional.<LocalDate>empty();
+                }
+                epochDay = LocalDate.of(year + 1, 1, 1).toEpochDay();
+                continue;
+            }
+            if (allowedMonth != month) {
+                epochDay = LocalDate.of(year, allowedMonth, 1).toEpochDay();
+                continue;
+            }
+
+            final int dayOfMonth = date.getDayOfMonth();
+            final int lengthOfMonth = date.lengthOfMonth();
+            final int allowedDayOfMonth = nextBit(this.daysOfMonth & maskUpTo(lengthOfMonth), dayOfMonth);
+            if (allowedDayOfMonth < 0) {
+                epochDay += lengthOfMonth - dayOfMonth + 1;
+                continue;
+            }
+            if (allowedDayOfMonth != dayOfMonth) {
+                epochDay += allowedDayOfMonth - dayOfMonth;
+                continue;
+            }
+
+            final int dayOfWeek = date.getDayOfWeek().getValue();
+            if ((this.daysOfWeek & (1 << dayOfWeek)) == 0) {
+                epochDay += this.daysToNextDayOfWeek(dayOfWeek);
+                continue;
+            }
+
+            if (this.includedDates != null) {
+                final int index = ceilingIndex(this.includedDates, epochDay);
+                if (index >= this.includedDates.length) {
+                    return Optional.<LocalDate>empty();
+                }
+                if (this.includedDates[index] != epochDay) {
+                    epochDay = this.includedDates[index];
+                    continue;
+                }
+            }
+
+            if (Arrays.binarySearch(this.excludedDates, epochDay) >= 0 || !this.testResiduals(date)) {
+                epochDay++;
+                continue;
+            }
+
+            return Optional.of(date);
+        }
+        return Optional.<LocalDate>empty();
+    }
+
+    /**
+     * Seeks the latest matching date on or before {@code from}.
+     *
+     * <p>It may not end in practice if the pattern has residuals, and no date matches before {@code from}. Seek with a
+     * limit by {@link #previous(LocalDate, long)} then.
+     */
+    Optional<LocalDate> previous(final LocalDate from) {
+        return this.previous(from, MIN_EPOCH_DAY);
+    }
+
+    /**
+     * Seeks the latest matching date on or before {@code from}, and on or after {@code limitEpochDay}.
+     */
+    Optional<LocalDate> previous(final LocalDate from, final long limitEpochDay) {
+        if (this.empty) {
+            return Optional.<LocalDate>empty();
+        }
+
+        final long lower = Math.max(this.lowerEpochDay, limitEpochDay);
+        long epochDay = Math.min(from.toEpochDay(), this.upperEpochDay);
+        int guardYear = this.guardYearBackward(LocalDate.ofEpochDay(Math.max(epochDay, MIN_EPOCH_DAY)).getYear());
+        while (epochDay >= lower) {
+            final LocalDate date = LocalDate.ofEpochDay(epochDay);
+            final int year = date.getYear();
+            if (year < guardYear) {
+                return Optional.<LocalDate>empty();
+            }
+
+            final int allowedYear = this.previousAllowedYear(year);
+            if (allowedYear == NO_YEAR) {
+                return Optional.<LocalDate>empty();
+            }
+            if (allowedYear != year) {
+                epochDay = LocalDate.of(allowedYear, 12, 31).toEpochDay();
+                guardYear = this.guardYearBackward(allowedYear);
+                continue;
+            }
+
+            final int month = date.getMonthValue();
+            final int allowedMonth = previousBit(this.months, month);
+            if (allowedMonth < 0) {
+                if (year <= Year.MIN_VALUE) {
+                    return Optional.<LocalDate>empty();
+                }
+                epochDay = LocalDate.of(year - 1, 12, 31).toEpochDay();
+                continue;
+            }
+            if (allowedMonth != month) {
+                final LocalDate firstDayOfMonth = LocalDate.of(year, allowedMonth, 1);
+                epochDay = firstDayOfMonth.toEpochDay() + firstDayOfMonth.lengthOfMonth() - 1;
+                continue;
+            }
+
+            final int dayOfMonth = date.getDayOfMonth();
+            final int allowedDayOfMonth = previousBit(this.daysOfMonth & maskUpTo(date.lengthOfMonth()), dayOfMonth);
+            if (allowedDayOfMonth < 0) {
+                epochDay -= dayOfMonth;
+                continue;
+            }
+            if (allowedDayOfMonth != dayOfMonth) {
+                epochDay -= dayOfMonth - allowedDayOfMonth;
+                continue;
+            }
+
+            final int dayOfWeek = date.getDayOfWeek().getValue();
+            if ((this.daysOfWeek & (1 << dayOfWeek)) == 0) {
+                epochDay -= this.daysToPreviousDayOfWeek(dayOfWeek);
+                continue;
+            }
+
+            if (this.includedDates != null) {
+                final int index = ceilingIndex(this.includedDates, epochDay + 1) - 1;
+                if (index < 0) {
+                    return Optional.<LocalDate>empty();
+                }
+                if (this.includedDates[index] != epochDay) {
+                    epochDay = this.includedDates[index];
+                    continue;
+                }
+            }
+
+            if (Arrays.binarySearch(this.excludedDates, epochDay) >= 0 || !this.testResiduals(date)) {
+                epochDay--;
+                continue;
+            }
+
+            return Optional.of(date);
+        }
+        return Optional.<LocalDate>empty();
+    }
+
+    Optional<LocalDate> first() {
+        return this.next(LocalDate.ofEpochDay(this.lowerEpochDay));
+    }
+
+    Optional<LocalDate> last() {
+        return this.previous(LocalDate.ofEpochDay(this.upperEpochDay));
+    }
+
+    /**
+     * Returns the last day of the run of consecutive matching days that contains {@code epochDay}, which must match.
+     *
+     * <p>The run is cut at {@code limitEpochDay}. It jumps over whole months and years if the days of month and the
+     * months allow, and it walks day by day only if days of week, exact dates, or residuals break the run every few
+     * days anyway.
+     */
+    long runEnd(final long epochDay, final long limitEpochDay) {
+        final long upper = Math.min(this.upperEpochDay, limitEpochDay);
+        if (!this.isRunJumpable()) {
+            long end = epochDay;
+            while (end < upper && this.test(LocalDate.ofEpochDay(end + 1))) {
+                end++;
+            }
+            return end;
+        }
+        long end = this.runEndOfFields(epochDay, upper);
+        final int excluded = ceilingIndex(this.excludedDates, epochDay);
+        if (excluded < this.excludedDates.length) {
+            end = Math.min(end, this.excludedDates[excluded] - 1);
+        }
+        return end;
+    }
+
+    /**
+     * Returns the first day of the run of consecutive matching days that contains {@code epochDay}, which must match.
+     *
+     * <p>The run is cut at {@code limitEpochDay}.
+     */
+    long runStart(final long epochDay, final long limitEpochDay) {
+        final long lower = Math.max(this.lowerEpochDay, limitEpochDay);
+        if (!this.isRunJumpable()) {
+            long start = epochDay;
+            while (start > lower && this.test(LocalDate.ofEpochDay(start - 1))) {
+                start--;
+            }
+            return start;
+        }
+        long start = this.runStartOfFields(epochDay, lower);
+        final int excluded = ceilingIndex(this.excludedDates, epochDay + 1) - 1;
+        if (excluded >= 0) {
+            start = Math.max(start, this.excludedDates[excluded] + 1);
+        }
+        return start;
+    }
+
+    /**
+     * Counts matching dates between {@code fromEpochDay} and {@code toEpochDay}, both inclusive.
+     *
+     * <p>It is computed analytically if {@link #isAnalytic()}. Otherwise, it falls back to seeking matches one by one.
+     */
+    long count(final long fromEpochDay, final long toEpochDay) {
+        if (this.empty) {
+            return 0L;
+        }
+        final long from = Math.max(fromEpochDay, this.lowerEpochDay);
+        final long to = Math.min(toEpochDay, this.upperEpochDay);
+        if (from > to) {
+            return 0L;
+        }
+
+        if (this.includedDates != null) {
+            // Included dates are already filtered by all the other constraints at build.
+            return ceilingIndex(this.includedDates, to + 1) - ceilingIndex(this.includedDates, from);
+        }
+
+        if (!this.isAnalytic()) {
+            long count = 0L;
+            Optional<LocalDate> found = this.next(LocalDate.ofEpochDay(from), to);
+            while (found.isPresent()) {
+                count++;
+                if (found.get().equals(LocalDate.MAX)) {
+                    break;
+                }
+                found = this.next(found.get().plusDays(1), to);
+            }
+            return count;
+        }
+
+        final LocalDate fromDate = LocalDate.ofEpochDay(from);
+        final LocalDate toDate = LocalDate.ofEpochDay(to);
+        final int fromYear = fromDate.getYear();
+        final int toYear = toDate.getYear();
+
+        long count;
+        if (fromYear == toYear) {
+            count = this.countWithinYear(fromDate, toDate);
+        } else {
+            count = this.countWithinYear(fromDate, LocalDate.of(fromYear, 12, 31))
+                    + this.countFullYears(fromYear + 1, toYear - 1)
+                    + this.countWithinYear(LocalDate.of(toYear, 1, 1), toDate);
+        }
+
+        // Excluded dates are already filtered to those which would match otherwise at build.
+        count -= ceilingIndex(this.excludedDates, to + 1) - ceilingIndex(this.excludedDates, from);
+        return count;
+    }
+
+    int nextAllowedYear(final int year) {
+        if (this.includedYears != null) {
+            final int index = ceilingIndex(this.includedYears, year);
+            return index < this.includedYears.length ? this.includedYears[index] : NO_YEAR;
+        }
+        int candidate = year;
+        int index = ceilingIndex(this.excludedYears, candidate);
+        while (index < this.excludedYears.length && this.excludedYears[index] == candidate) {
+            if (candidate >= Year.MAX_VALUE) {
+                return NO_YEAR;
+            }
+            candidate++;
+            index++;
+        }
+        return candidate;
+    }
+
+    int previousAllowedYear(final int year) {
+        if (this.includedYears != null) {
+            final int index = ceilingIndex(this.includedYears, year + 1) - 1;
+            return index >= 0 ? this.includedYears[index] : NO_YEAR;
+        }
+        int candidate = year;
+        int index = ceilingIndex(this.excludedYears, candidate + 1) - 1;
+        while (index >= 0 && this.excludedYears[index] == candidate) {
+            if (candidate <= Year.MIN_VALUE) {
+                return NO_YEAR;
+            }
+            candidate--;
+            index--;
+        }
+        return candidate;
+    }
+
+    boolean isYearAllowed(final int year) {
+        if (this.includedYears != null) {
+            return Arrays.binarySearch(this.includedYears, year) >= 0;
+        }
+        return Arrays.binarySearch(this.excludedYears, year) < 0;
+    }
+
+    /**
+     * Counts field matches in whole years from {@code fromYear} to {@code toYear}, both inclusive.
+     *
+     * <p>It does not take bounds, excluded dates, and residuals into account.
+     */
+    private long countFullYears(final int fromYear, final int toYear) {
+        if (fromYear > toYear) {
+            return 0L;
+        }
+        long count = 0L;
+        if (this.includedYears != null) {
+            final int toIndex = ceilingIndex(this.includedYears, toYear + 1);
+            for (int i = ceilingIndex(this.includedYears, fromYear); i < toIndex; i++) {
+                count += this.countInYearOfType(this.includedYears[i]);
+            }
+            return count;
+        }
+
+        final long years = (long) toYear - fromYear + 1L;
+        final long cycles = years / YEARS_IN_CYCLE;
+        count += cycles * this.countInCycle;
+        for (long year = fromYear + cycles * YEARS_IN_CYCLE; year <= toYear; year++) {
+            count += this.countInYearOfType((int) year);
+        }
+
+        final int toIndex = ceilingIndex(this.excludedYears, toYear + 1);
+        for (int i = ceilingIndex(this.excludedYears, fromYear); i < toIndex; i++) {
+            count -= this.countInYearOfType(this.excludedYears[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Counts field matches between two dates in the same year.
+     *
+     * <p>It does not take bounds, excluded dates, and residuals into account.
+     */
+    private long countWithinYear(final LocalDate from, final LocalDate to) {
+        final int year = from.getYear();
+        if (!this.isYearAllowed(year)) {
+            return 0L;
+        }
+        if (from.getDayOfYear() == 1 && to.getMonthValue() == 12 && to.getDayOfMonth() == 31) {
+            return this.countInYearOfType(year);
+        }
+
+        long count = 0L;
+        for (int month = from.getMonthValue(); month <= to.getMonthValue(); month++) {
+            if ((this.months & (1 << month)) == 0) {
+                continue;
+            }
+            final LocalDate firstDayOfMonth = LocalDate.of(year, month, 1);
+            final int firstDayOfWeek = firstDayOfMonth.getDayOfWeek().getValue();
+            final int fromDayOfMonth = month == from.getMonthValue() ? from.getDayOfMonth() : 1;
+            final int toDayOfMonth = month == to.getMonthValue() ? to.getDayOfMonth() : firstDayOfMonth.lengthOfMonth();
+            count += this.countInMonth(firstDayOfWeek, fromDayOfMonth, toDayOfMonth);
+        }
+        return count;
+    }
+
+    private long countInMonth(final int firstDayOfWeek, final int fromDayOfMonth, final int toDayOfMonth) {
+        long count = 0L;
+        long bits = this.daysOfMonth & maskUpTo(toDayOfMonth) & ~maskUpTo(fromDayOfMonth - 1);
+        while (bits != 0L) {
+            final int dayOfMonth = Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1L;
+            final int dayOfWeek = (firstDayOfWeek - 1 + dayOfMonth - 1) % 7 + 1;
+            if ((this.daysOfWeek & (1 << dayOfWeek)) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts field matches in a whole year, which depends only on whether it is a leap year, and its first day of week.
+     */
+    private long countInYearOfType(final int year) {
+        return this.countsByYearType[yearType(year)];
+    }
+
+    private long countInYearOfType(final boolean leap, final int firstDayOfWeek) {
+        long count = 0L;
+        int dayOfWeekOfFirstDayOfMonth = firstDayOfWeek;
+        for (int month = 1; month <= 12; month++) {
+            final int lengthOfMonth = Month.of(month).length(leap);
+            if ((this.months & (1 << month)) != 0) {
+                count += this.countInMonth(dayOfWeekOfFirstDayOfMonth, 1, lengthOfMonth);
+            }
+            dayOfWeekOfFirstDayOfMonth = (dayOfWeekOfFirstDayOfMonth - 1 + lengthOfMonth) % 7 + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the type of a year from 0 to 13, by whether it is a leap year, and its first day of week.
+     */
+    private static int yearType(final int year) {
+        return (Year.isLeap(year) ? 7 : 0) + LocalDate.of(year, 1, 1).getDayOfWeek().getValue() - 1;
+    }
+
+    private static int[] countYearsOfTypeInCycle() {
+        final int[] years = new int[YEAR_TYPES];
+        for (int year = 2000; year < 2000 + YEARS_IN_CYCLE; year++) {
+            years[yearType(year)]++;
+        }
+        return years;
+    }
+
+    private boolean testFields(final LocalDate date) {
+        return this.isYearAllowed(date.getYear())
+                && (this.months & (1 << date.getMonthValue())) != 0
+                && (this.daysOfMonth & (1L << date.getDayOfMonth())) != 0L
+                && (this.daysOfWeek & (1 << date.getDayOfWeek().getValue())) != 0;
+    }
+
+    private boolean testResiduals(final LocalDate date) {
+        for (final Atom<ChronoLocalDate> residual : this.residuals) {
+            if (!residual.test(date)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int daysToNextDayOfWeek(final int dayOfWeek) {
+        for (int days = 1; days < 7; days++) {
+            if ((this.daysOfWeek & (1 << ((dayOfWeek - 1 + days) % 7 + 1))) != 0) {
+                return days;
+            }
+        }
+        return 7;
+    }
+
+    private int daysToPreviousDayOfWeek(final int dayOfWeek) {
+        for (int days = 1; days < 7; days++) {
+            if ((this.daysOfWeek & (1 << ((dayOfWeek - 1 - days + 7) % 7 + 1))) != 0) {
+                return days;
+            }
+        }
+        return 7;
+    }
+
+    /**
+     * Returns {@code true} if a run can last longer than a week, and then, it is worth jumping field by field.
+     */
+    private boolean isRunJumpable() {
+        return this.residuals.isEmpty() && this.includedDates == null && this.daysOfWeek == ALL_DAYS_OF_WEEK;
+    }
+
+    /**
+     * Returns the last day of the run that contains {@code epochDay} only by years, months, and days of month, up to
+     * {@code upper}.
+     */
+    private long runEndOfFields(final long epochDay, final long upper) {
+        long current = epochDay;
+        while (current < upper) {
+            final LocalDate date = LocalDate.ofEpochDay(current);
+            final int lengthOfMonth = date.lengthOfMonth();
+            final int lastDayOfMonth = lastConsecutiveBit(this.daysOfMonth & maskUpTo(lengthOfMonth), date.getDayOfMonth());
+            final long endOfRunInMonth = current + lastDayOfMonth - date.getDayOfMonth();
+            if (lastDayOfMonth < lengthOfMonth || endOfRunInMonth >= upper) {
+                return Math.min(endOfRunInMonth, upper);
+            }
+
+            final LocalDate first = LocalDate.ofEpochDay(endOfRunInMonth + 1);
+            if ((this.daysOfMonth & (1L << 1)) == 0 || (this.months & (1 << first.getMonthValue())) == 0 || !this.isYearAllowed(first.getYear())) {
+                return endOfRunInMonth;
+            }
+            if ((this.daysOfMonth & ALL_DAYS_OF_MONTH) != ALL_DAYS_OF_MONTH) {
+                current = first.toEpochDay();
+                continue;
+            }
+
+            // Every day of month is allowed. Jumps over the consecutive allowed months.
+            final int lastMonth = lastConsecutiveBit(this.months, first.getMonthValue());
+            if (lastMonth < 12) {
+                return Math.min(first.withMonth(lastMonth).with(TemporalAdjusters.lastDayOfMonth()).toEpochDay(), upper);
+            }
+            if (this.months != ALL_MONTHS) {
+                current = LocalDate.of(first.getYear(), 12, 31).toEpochDay();
+                continue;
+            }
+
+            // Every month is allowed. Jumps over the consecutive allowed years.
+            final int lastYear = this.lastConsecutiveAllowedYear(first.getYear());
+            if (lastYear >= Year.MAX_VALUE) {
+                return upper;
+            }
+            return Math.min(LocalDate.of(lastYear, 12, 31).toEpochDay(), upper);
+        }
+        return upper;
+    }
+
+    /**
+     * Returns the first day of the run that contains {@code epochDay} only by years, months, and days of month, down to
+     * {@code lower}.
+     */
+    private long runStartOfFields(final long epochDay, final long lower) {
+        long current = epochDay;
+        while (current > lower) {
+            final LocalDate date = LocalDate.ofEpochDay(current);
+            final int firstDayOfMonth = firstConsecutiveBit(this.daysOfMonth, date.getDayOfMonth());
+            final long startOfRunInMonth = current - date.getDayOfMonth() + firstDayOfMonth;
+            if (firstDayOfMonth > 1 || startOfRunInMonth <= lower) {
+                return Math.max(startOfRunInMonth, lower);
+            }
+
+            final LocalDate last = LocalDate.ofEpochDay(startOfRunInMonth - 1);
+            if ((this.daysOfMonth & (1L << last.getDayOfMonth())) == 0
+                    || (this.months & (1 << last.getMonthValue())) == 0
+                    || !this.isYearAllowed(last.getYear())) {
+                return startOfRunInMonth;
+            }
+            if ((this.daysOfMonth & ALL_DAYS_OF_MONTH) != ALL_DAYS_OF_MONTH) {
+                current = last.toEpochDay();
+                continue;
+            }
+
+            final int firstMonth = firstConsecutiveBit(this.months, last.getMonthValue());
+            if (firstMonth > 1) {
+                return Math.max(LocalDate.of(last.getYear(), firstMonth, 1).toEpochDay(), lower);
+            }
+            if (this.months != ALL_MONTHS) {
+                current = LocalDate.of(last.getYear(), 1, 1).toEpochDay();
+                continue;
+            }
+
+            final int firstYear = this.firstConsecutiveAllowedYear(last.getYear());
+            if (firstYear <= Year.MIN_VALUE) {
+                return lower;
+            }
+            return Math.max(LocalDate.of(firstYear, 1, 1).toEpochDay(), lower);
+        }
+        return lower;
+    }
+
+    private int lastConsecutiveAllowedYear(final int year) {
+        if (this.includedYears != null) {
+            int index = Arrays.binarySearch(this.includedYears, year);
+            while (index + 1 < this.includedYears.length && this.includedYears[index + 1] == this.includedYears[index] + 1) {
+                index++;
+            }
+            return this.includedYears[index];
+        }
+        final int index = ceilingIndex(this.excludedYears, year);
+        return index < this.excludedYears.length ? this.excludedYears[index] - 1 : Year.MAX_VALUE;
+    }
+
+    private int firstConsecutiveAllowedYear(final int year) {
+        if (this.includedYears != null) {
+            int index = Arrays.binarySearch(this.includedYears, year);
+            while (index > 0 && this.includedYears[index - 1] == this.includedYears[index] - 1) {
+                index--;
+            }
+            return this.includedYears[index];
+        }
+        final int index = ceilingIndex(this.excludedYears, year) - 1;
+        return index >= 0 ? this.excludedYears[index] + 1 : Year.MIN_VALUE;
+    }
+
+    /**
+     * Returns the year beyond which no match can be found when seeking forward from {@code year}.
+     *
+     * <p>After all the excluded years and dates, the pattern repeats every 400 years. Residuals may break it.
+     */
+    private int guardYearForward(final int year) {
+        if (!this.residuals.isEmpty()) {
+            return Integer.MAX_VALUE;
+        }
+        long guard = year;
+        if (this.excludedYears.length > 0) {
+            guard = Math.max(guard, this.excludedYears[this.excludedYears.length - 1]);
+        }
+        if (this.excludedDates.length > 0) {
+            guard = Math.max(guard, LocalDate.ofEpochDay(this.excludedDates[this.excludedDates.length - 1]).getYear());
+        }
+        if (this.includedDates != null && this.includedDates.length > 0) {
+            guard = Math.max(guard, LocalDate.ofEpochDay(this.includedDates[this.includedDates.length - 1]).getYear());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, guard + YEARS_IN_CYCLE + 1);
+    }
+
+    private int guardYearBackward(final int year) {
+        if (!this.residuals.isEmpty()) {
+            return Integer.MIN_VALUE;
+        }
+        long guard = year;
+        if (this.excludedYears.length > 0) {
+            guard = Math.min(guard, this.excludedYears[0]);
+        }
+        if (this.excludedDates.length > 0) {
+            guard = Math.min(guard, LocalDate.ofEpochDay(this.excludedDates[0]).getYear());
+        }
+        if (this.includedDates != null && this.includedDates.length > 0) {
+            guard = Math.min(guard, LocalDate.ofEpochDay(this.includedDates[0]).getYear());
+        }
+        return (int) Math.max(Integer.MIN_VALUE, guard - YEARS_IN_CYCLE - 1);
+    }
+
+    static int nextBit(final long bits, final int from) {
+        final long masked = bits & (-1L << from);
+        return masked == 0L ? -1 : Long.numberOfTrailingZeros(masked);
+    }
+
+    static int previousBit(final long bits, final int from) {
+        final long masked = bits & maskUpTo(from);
+        return masked == 0L ? -1 : 63 - Long.numberOfLeadingZeros(masked);
+    }
+
+    /**
+     * Returns the largest {@code e} such that all bits from {@code from} to {@code e} are set. {@code from} must be set.
+     */
+    static int lastConsecutiveBit(final long bits, final int from) {
+        return from + Long.numberOfTrailingZeros(~(bits >>> from)) - 1;
+    }
+
+    /**
+     * Returns the smallest {@code s} such that all bits from {@code s} to {@code from} are set. {@code from} must be set.
+     */
+    static int firstConsecutiveBit(final long bits, final int from) {
+        return from - Long.numberOfLeadingZeros(~(bits << (63 - from))) + 1;
+    }
+
+    /**
+     * Returns a mask of bits from 0 to {@code to}, both inclusive.
+     */
+    static long maskUpTo(final int to) {
+        if (to < 0) {
+            return 0L;
+        }
+        if (to >= 63) {
+            return -1L;
+        }
+        return (1L << (to + 1)) - 1L;
+    }
+
+    static int ceilingIndex(final long[] sorted, final long key) {
+        final int index = Arrays.binarySearch(sorted, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    static int ceilingIndex(final int[] sorted, final long key) {
+        if (key > Integer.MAX_VALUE) {
+            return sorted.length;
+        }
+        if (key < Integer.MIN_VALUE) {
+            return 0;
+        }
+        final int index = Arrays.binarySearch(sorted, (int) key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static final class Builder {
+        Builder() {
+            this.lowerEpochDay = MIN_EPOCH_DAY;
+            this.upperEpochDay = MAX_EPOCH_DAY;
+            this.includedYears = null;
+            this.excludedYears = new int[0];
+            this.months = ALL_MONTHS;
+            this.daysOfMonth = ALL_DAYS_OF_MONTH;
+            this.daysOfWeek = ALL_DAYS_OF_WEEK;
+            this.includedDates = null;
+            this.excludedDates = new long[0];
+            this.residuals = new ArrayList<>();
+            this.empty = false;
+        }
+
+        void add(final Atom<ChronoLocalDate> atom) {
+            if (atom instanceof AfterYear) {
+                final AfterYear afterYear = (AfterYear) atom;
+                this.restrictYears(afterYear.inclusive() ? afterYear.year() : (long) afterYear.year() + 1L, Year.MAX_VALUE);
+            } else if (atom instanceof BeforeYear) {
+                final BeforeYear beforeYear = (BeforeYear) atom;
+                this.restrictYears(Year.MIN_VALUE, beforeYear.inclusive() ? beforeYear.year() : (long) beforeYear.year() - 1L);
+            } else if (atom instanceof EitherYear) {
+                final EitherYear eitherYear = (EitherYear) atom;
+                final int[] years = toSortedInts(eitherYear.years());
+                if (eitherYear.includes()) {
+                    this.includedYears = this.includedYears == null ? years : intersect(this.includedYears, years);
+                } else {
+                    this.excludedYears = union(this.excludedYears, years);
+                }
+            } else if (atom instanceof AfterMonth) {
+                final AfterMonth afterMonth = (AfterMonth) atom;
+                this.months &= ~(int) maskUpTo(afterMonth.inclusive() ? afterMonth.month() - 1 : afterMonth.month());
+            } else if (atom instanceof BeforeMonth) {
+                final BeforeMonth beforeMonth = (BeforeMonth) atom;
+                this.months &= (int) maskUpTo(beforeMonth.inclusive() ? beforeMonth.month() : beforeMonth.month() - 1);
+            } else if (atom instanceof EitherMonth) {
+                final EitherMonth eitherMonth = (EitherMonth) atom;
+                final int mask = (int) toMask(eitherMonth.months());
+                this.months &= eitherMonth.includes() ? mask : ~mask;
+            } else if (atom instanceof AfterDayOfMonth) {
+                final AfterDayOfMonth afterDayOfMonth = (AfterDayOfMonth) atom;
+                this.daysOfMonth &= ~maskUpTo(afterDayOfMonth.inclusive() ? afterDayOfMonth.dayOfMonth() - 1 : afterDayOfMonth.dayOfMonth());
+            } else if (atom instanceof BeforeDayOfMonth) {
+                final BeforeDayOfMonth beforeDayOfMonth = (BeforeDayOfMonth) atom;
+                this.daysOfMonth &= maskUpTo(beforeDayOfMonth.inclusive() ? beforeDayOfMonth.dayOfMonth() : beforeDayOfMonth.dayOfMonth() - 1);
+            } else if (atom instanceof EitherDayOfMonth) {
+                final EitherDayOfMonth eitherDayOfMonth = (EitherDayOfMonth) atom;
+                final long mask = toMask(eitherDayOfMonth.daysOfMonth());
+                this.daysOfMonth &= eitherDayOfMonth.includes() ? mask : ~mask;
+            } else if (atom instanceof EitherDayOfWeek) {
+                final EitherDayOfWeek eitherDayOfWeek = (EitherDayOfWeek) atom;
+                int mask = 0;
+                for (final DayOfWeek dayOfWeek : eitherDayOfWeek.daysOfWeek()) {
+                    mask |= 1 << dayOfWeek.getValue();
+                }
+                this.daysOfWeek &= eitherDayOfWeek.includes() ? mask : ~mask;
+            } else if (atom instanceof EitherDate) {
+                final EitherDate eitherDate = (EitherDate) atom;
+                final long[] dates = eitherDate.epochDays();
+                if (eitherDate.includes()) {
+                    this.includedDates = this.includedDates == null ? dates : intersect(this.includedDates, dates);
+                } else {
+                    this.excludedDates = union(this.excludedDates, dates);
+                }
+            } else {
+                this.residuals.add(atom);
+            }
+        }
+
+        void merge(final DatePattern pattern) {
+            this.lowerEpochDay = Math.max(this.lowerEpochDay, pattern.lowerEpochDay);
+            this.upperEpochDay = Math.min(this.upperEpochDay, pattern.upperEpochDay);
+            if (pattern.includedYears != null) {
+                this.includedYears = this.includedYears == null ? pattern.includedYears : intersect(this.includedYears, pattern.includedYears);
+            }
+            this.excludedYears = union(this.excludedYears, pattern.excludedYears);
+            this.months &= pattern.months;
+            this.daysOfMonth &= pattern.daysOfMonth;
+            this.daysOfWeek &= pattern.daysOfWeek;
+            if (pattern.includedDates != null) {
+                this.includedDates = this.includedDates == null ? pattern.includedDates : intersect(this.includedDates, pattern.includedDates);
+            }
+            this.excludedDates = union(this.excludedDates, pattern.excludedDates);
+            this.residuals.addAll(pattern.residuals);
+        }
+
+        DatePattern build() {
+            this.months &= ALL_MONTHS;
+            this.daysOfMonth &= ALL_DAYS_OF_MONTH;
+            this.daysOfWeek &= ALL_DAYS_OF_WEEK;
+            if (this.empty || this.months == 0 || this.daysOfMonth == 0L || this.daysOfWeek == 0 || this.lowerEpochDay > this.upperEpochDay) {
+                return EMPTY;
+            }
+
+            final int lowerYear = LocalDate.ofEpochDay(this.lowerEpochDay).getYear();
+            final int upperYear = LocalDate.ofEpochDay(this.upperEpochDay).getYear();
+
+            if (this.includedYears != null) {
+                final int[] excluded = this.excludedYears;
+                this.includedYears = Arrays.stream(this.includedYears)
+                        .filter(year -> year >= lowerYear && year <= upperYear && Arrays.binarySearch(excluded, year) < 0)
+                        .toArray();
+                if (this.includedYears.length == 0) {
+                    return EMPTY;
+                }
+                this.excludedYears = new int[0];
+                this.lowerEpochDay = Math.max(this.lowerEpochDay, LocalDate.of(this.includedYears[0], 1, 1).toEpochDay());
+                this.upperEpochDay = Math.min(this.upperEpochDay, LocalDate.of(this.includedYears[this.includedYears.length - 1], 12, 31).toEpochDay());
+            } else {
+                this.excludedYears = Arrays.stream(this.excludedYears).filter(year -> year >= lowerYear && year <= upperYear).toArray();
+            }
+
+            final DatePattern fieldsOnly = new DatePattern(
+                    this.lowerEpochDay, this.upperEpochDay, this.includedYears, this.excludedYears,
+                    this.months, this.daysOfMonth, this.daysOfWeek, null, new long[0], Collections.emptyList(), false);
+
+            if (this.includedDates != null) {
+                // Included dates are filtered by all the other constraints, including residuals, so that they are exact.
+                final long[] excluded = this.excludedDates;
+                final List<Atom<ChronoLocalDate>> residualsToTest = this.residuals;
+                final long[] filtered = Arrays.stream(this.includedDates)
+                        .filter(epochDay -> {
+                            if (Arrays.binarySearch(excluded, epochDay) >= 0) {
+                                return false;
+                            }
+                            final LocalDate date = LocalDate.ofEpochDay(epochDay);
+                            if (!fieldsOnly.test(date)) {
+                                return false;
+                            }
+                            for (final Atom<ChronoLocalDate> residual : residualsToTest) {
+                                if (!residual.test(date)) {
+                                    return false;
+                                }
+                            }
+                            return true;
+                        })
+                        .toArray();
+                if (filtered.length == 0) {
+                    return EMPTY;
+                }
+                return new DatePattern(
+                        filtered[0], filtered[filtered.length - 1], this.includedYears, this.excludedYears,
+                        this.months, this.daysOfMonth, this.daysOfWeek, filtered, new long[0], Collections.emptyList(), false);
+            }
+
+            // Excluded dates are filtered to those which would match otherwise, so that they can be subtracted in counting.
+            final long[] excluded = Arrays.stream(this.excludedDates)
+                    .filter(epochDay -> fieldsOnly.test(LocalDate.ofEpochDay(epochDay)))
+                    .toArray();
+            return new DatePattern(
+                    this.lowerEpochDay, this.upperEpochDay, this.includedYears, this.excludedYears,
+                    this.months, this.daysOfMonth, this.daysOfWeek, null, excluded, Collections.unmodifiableList(this.residuals), false);
+        }
+
+        private void restrictYears(final long fromYear, final long toYear) {
+            if (fromYear > Year.MAX_VALUE || toYear < Year.MIN_VALUE || fromYear > toYear) {
+                this.empty = true;
+                return;
+            }
+            if (fromYear > Year.MIN_VALUE) {
+                this.lowerEpochDay = Math.max(this.lowerEpochDay, LocalDate.of((int) fromYear, 1, 1).toEpochDay());
+            }
+            if (toYear < Year.MAX_VALUE) {
+                this.upperEpochDay = Math.min(this.upperEpochDay, LocalDate.of((int) toYear, 12, 31).toEpochDay());
+            }
+        }
+
+        private long lowerEpochDay;
+        private long upperEpochDay;
+        private int[] includedYears;
+        private int[] excludedYears;
+        private int months;
+        private long daysOfMonth;
+        private int daysOfWeek;
+        private long[] includedDates;
+        private long[] excludedDates;
+        private final ArrayList<Atom<ChronoLocalDate>> residuals;
+        private boolean empty;
+    }
+
+    private static int[] toSortedInts(final Set<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static long toMask(final Set<Integer> values) {
+        long mask = 0L;
+        for (final int value : values) {
+            if (value >= 1 && value <= 31) {
+                mask |= 1L << value;
+            }
+        }
+        return mask;
+    }
+
+    private static int[] intersect(final int[] left, final int[] right) {
+        return Arrays.stream(left).filter(value -> Arrays.binarySearch(right, value) >= 0).toArray();
+    }
+
+    private static long[] intersect(final long[] left, final long[] right) {
+        return SortedEpochDays.intersect(left, right);
+    }
+
+    private static int[] union(final int[] left, final int[] right) {
+        final int[] merged = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, merged, left.length, right.length);
+        return Arrays.stream(merged).sorted().distinct().toArray();
+    }
+
+    private static long[] union(final long[] left, final long[] right) {
+        final long[] merged = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, merged, left.length, right.length);
+        return Arrays.stream(merged).sorted().distinct().toArray();
+    }
+
+    static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+    static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+    static final int NO_YEAR = Integer.MIN_VALUE;
+
+    private static final int YEARS_IN_CYCLE = 400;
+
+    private static final int YEAR_TYPES = 14;
+
+    // The number of years of each type in a cycle of 400 years.
+    private static final int[] YEARS_OF_TYPE_IN_CYCLE = countYearsOfTypeInCycle();
+
+    private static final int ALL_MONTHS = 0x1ffe;
+    private static final long ALL_DAYS_OF_MONTH = 0xfffffffeL;
+    private static final int ALL_DAYS_OF_WEEK = 0xfe;
+
+    private static final DatePattern EMPTY = new DatePattern(
+            0L, -1L, null, new int[0], 0, 0L, 0, null, new long[0], Collections.emptyList(), true);
+
+    private final long lowerEpochDay;
+    private final long upperEpochDay;
+
+    // null if any year is allowed except for excludedYears.
+    private final int[] includedYears;
+    private final int[] excludedYears;
+
+    // Bits from 1 to 12.
+    private final int months;
+    // Bits from 1 to 31.
+    private final long daysOfMonth;
+    // Bits from 1 (Monday) to 7 (Sunday).
+    private final int daysOfWeek;
+
+    // null if any date is allowed except for excludedDates.
+    private final long[] includedDates;
+    private final long[] excludedDates;
+
+    private final List<Atom<ChronoLocalDate>> residuals;
+
+    private final boolean empty;
+
+    // Field matches in a whole year for each type of year.
+    private final long[] countsByYearType;
+    // Field matches in a cycle of 400 years.
+    private final long countInCycle;
+}
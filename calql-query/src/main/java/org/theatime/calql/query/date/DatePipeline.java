@@ -0,0 +1,330 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.theatime.calql.query.CancellationToken;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.DisjunctiveNormalFormula;
+import org.theatime.calql.query.Order;
+import org.theatime.calql.query.ScanLimits;
+import org.theatime.calql.query.SourceStreamer;
+
+/**
+ * Streams matching dates in a pipeline, in which a producer thread generates dates ahead of the consumer.
+ *
+ * <p>A stream by {@code streamBy} is consumed in one thread, generating and testing candidates between consuming
+ * matches. If the consumer does expensive work for each date, such as I/O, generation waits for consumption, and vice
+ * versa. A pipelined stream runs generation on a producer thread instead, which fills a bounded lock-free ring buffer
+ * of epoch days up to {@code depth} ahead of the consumer. Generation and consumption overlap then.
+ *
+ * <p>The producer starts when the stream is consumed first. Each side spins briefly, and then, parks when the buffer
+ * is full or empty, until the other side makes progress.
+ *
+ * <p>Closing the stream cancels the producer through a {@link CancellationToken}, even while it is scanning candidates
+ * without a match, and waits for the producer to close its source stream. A failure in the producer, such as
+ * {@link org.theatime.calql.query.ScanLimitExceededException}, is rethrown to the consumer after the dates before it.
+ *
+ * <p>Ex. {@code try (Stream<LocalDate> dates = DatePipeline.of(256).streamBy(conjunction, DefaultDateSourceStreamer.of(), order)) { ... }}
+ */
+public final class DatePipeline {
+    private DatePipeline(final int depth, final Executor executor) {
+        this.depth = depth;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a pipeline which starts a new daemon thread as the producer for each stream.
+     */
+    public static DatePipeline of(final int depth) {
+        return of(depth, DatePipeline::startDaemonThread);
+    }
+
+    /**
+     * Creates a pipeline which runs the producer for each stream on the executor.
+     *
+     * <p>The producer occupies an executor thread until the stream ends or is closed.
+     */
+    public static DatePipeline of(final int depth, final Executor executor) {
+        Objects.requireNonNull(executor, "executor is null.");
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth must be positive.");
+        }
+        if (depth > EpochDayRingBuffer.MAX_DEPTH) {
+            throw new IllegalArgumentException("depth must be " + EpochDayRingBuffer.MAX_DEPTH + " or less.");
+        }
+        return new DatePipeline(depth, executor);
+    }
+
+    public Stream<LocalDate> streamBy(
+            final Conjunction<ChronoLocalDate> conjunction,
+            final SourceStreamer<ChronoLocalDate, LocalDate> sourceStreamer,
+            final Order order) {
+        return this.streamBy(conjunction, sourceStreamer, order, ScanLimits.none());
+    }
+
+    public Stream<LocalDate> streamBy(
+            final Conjunction<ChronoLocalDate> conjunction,
+            final SourceStreamer<ChronoLocalDate, LocalDate> sourceStreamer,
+            final Order order,
+            final ScanLimits limits) {
+        Objects.requireNonNull(conjunction, "conjunction is null.");
+        Objects.requireNonNull(limits, "limits is null.");
+        return this.stream(cancellation -> conjunction.streamBy(sourceStreamer, order, limits.withCancellation(cancellation)));
+    }
+
+    public Stream<LocalDate> streamBy(
+            final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula,
+            final SourceStreamer<ChronoLocalDate, LocalDate> sourceStreamer,
+            final Order order) {
+        return this.streamBy(disjunctiveNormalFormula, sourceStreamer, order, ScanLimits.none());
+    }
+
+    public Stream<LocalDate> streamBy(
+            final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula,
+            final SourceStreamer<ChronoLocalDate, LocalDate> sourceStreamer,
+            final Order order,
+            final ScanLimits limits) {
+        Objects.requireNonNull(disjunctiveNormalFormula, "disjunctiveNormalFormula is null.");
+        Objects.requireNonNull(limits, "limits is null.");
+        return this.stream(cancellation -> disjunctiveNormalFormula.streamBy(sourceStreamer, order, limits.withCancellation(cancellation)));
+    }
+
+    /**
+     * Pipelines dates of streams created by the factory.
+     *
+     * @param streamFactory  creates a stream of dates to be cancelled by the given token, on the producer thread
+     */
+    public Stream<LocalDate> stream(final Function<CancellationToken, ? extends Stream<LocalDate>> streamFactory) {
+        Objects.requireNonNull(streamFactory, "streamFactory is null.");
+        final Pipe pipe = new Pipe(streamFactory, new EpochDayRingBuffer(this.depth), this.executor);
+        return StreamSupport.stream(() -> pipe, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE, false).onClose(pipe::close);
+    }
+
+    /**
+     * Returns the maximum number of dates buffered ahead of the consumer, which is exactly as given, not rounded.
+     */
+    public int depth() {
+        return this.depth;
+    }
+
+    /**
+     * Connects a producer and a consumer by a ring buffer.
+     *
+     * <p>{@code waitingProducer} and {@code waitingConsumer} are set to the thread about to park, so that the other side
+     * unparks it after making progress. A parking thread checks the condition again after setting it, and parks with
+     * a timeout, so that a wake-up is never lost.
+     */
+    private static final class Pipe implements Spliterator<LocalDate>, Runnable {
+        Pipe(
+                final Function<CancellationToken, ? extends Stream<LocalDate>> streamFactory,
+                final EpochDayRingBuffer buffer,
+                final Executor executor) {
+            this.streamFactory = streamFactory;
+            this.buffer = buffer;
+            this.executor = executor;
+            this.cancellation = CancellationToken.of();
+            this.terminated = new CountDownLatch(1);
+            this.started = false;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super LocalDate> action) {
+            if (!this.started) {
+                this.started = true;
+                this.executor.execute(this);
+            }
+            int spins = 0;
+            while (true) {
+                final long epochDay = this.buffer.poll();
+                if (epochDay != EpochDayRingBuffer.EMPTY) {
+                    unpark(this.waitingProducer);
+                    action.accept(LocalDate.ofEpochDay(epochDay));
+                    return true;
+                }
+                if (this.producerDone) {
+                    // The producer may have offered the last dates before it set done.
+                    if (!this.buffer.isEmpty()) {
+                        continue;
+                    }
+                    final Throwable failure = this.failure;
+                    if (failure instanceof RuntimeException) {
+                        throw (RuntimeException) failure;
+                    } else if (failure instanceof Error) {
+                        throw (Error) failure;
+                    }
+                    return false;
+                }
+                if (this.closed) {
+                    throw new CancellationException("The pipeline is closed.");
+                }
+                if (spins < SPINS) {
+                    spins++;
+                    Thread.onSpinWait();
+                    continue;
+                }
+                this.waitingConsumer = Thread.currentThread();
+                if (this.buffer.isEmpty() && !this.producerDone) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                this.waitingConsumer = null;
+                if (Thread.interrupted()) {
+                    this.close();
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Interrupted while waiting for dates.");
+                }
+            }
+        }
+
+        /**
+         * Produces dates on the producer thread.
+         */
+        @Override
+        public void run() {
+            Stream<LocalDate> stream = null;
+            try {
+                stream = this.streamFactory.apply(this.cancellation);
+                final Iterator<LocalDate> iterator = stream.iterator();
+                while (!this.closed && iterator.hasNext()) {
+                    final long epochDay = iterator.next().toEpochDay();
+                    int spins = 0;
+                    while (!this.buffer.offer(epochDay)) {
+                        if (this.closed) {
+                            return;
+                        }
+                        if (spins < SPINS) {
+                            spins++;
+                            Thread.onSpinWait();
+                            continue;
+                        }
+                        this.waitingProducer = Thread.currentThread();
+                        if (this.buffer.isFull() && !this.closed) {
+                            LockSupport.parkNanos(this, PARK_NANOS);
+                        }
+                        this.waitingProducer = null;
+                    }
+                    unpark(this.waitingConsumer);
+                }
+            } catch (final RuntimeException | Error ex) {
+                if (!this.closed) {
+                    this.failure = ex;
+                }
+            } finally {
+                try {
+                    if (stream != null) {
+                        stream.close();
+                    }
+                } finally {
+                    this.producerDone = true;
+                    unpark(this.waitingConsumer);
+                    this.terminated.countDown();
+                }
+            }
+        }
+
+        /**
+         * Cancels the producer, and waits for it to close its source stream.
+         */
+        void close() {
+            this.closed = true;
+            this.cancellation.cancel();
+            if (!this.started) {
+                return;
+            }
+            unpark(this.waitingProducer);
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    // The producer may be blocked outside of scanning, such as in a slow source. It is not waited forever.
+                    this.terminated.await(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (final InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public Spliterator<LocalDate> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+
+        private static void unpark(final Thread thread) {
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private final Function<CancellationToken, ? extends Stream<LocalDate>> streamFactory;
+        private final EpochDayRingBuffer buffer;
+        private final Executor executor;
+        private final CancellationToken cancellation;
+        private final CountDownLatch terminated;
+
+        private volatile boolean closed;
+        private volatile boolean producerDone;
+        private volatile Throwable failure;
+        private volatile Thread waitingProducer;
+        private volatile Thread waitingConsumer;
+
+        // Accessed only by the consumer.
+        private boolean started;
+    }
+
+    private static void startDaemonThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, "calql-date-pipeline");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static final int DEFAULT_DEPTH = 1024;
+
+    private static final int SPINS = 64;
+
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 10000L;
+
+    private final int depth;
+    private final Executor executor;
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.Order;
+
+/**
+ * A request of matching dates of a compiled formula, in an order, optionally limited, and optionally within a window.
+ *
+ * <p>It is immutable. {@code withLimit} and {@code within} return a new request.
+ *
+ * @see SharedDateScanExecutor
+ */
+public final class DateQuery {
+    private DateQuery(final DateMatcher matcher, final Order order, final long limit, final DateRange window) {
+        this.matcher = matcher;
+        this.order = order;
+        this.limit = limit;
+        this.window = window;
+    }
+
+    public static DateQuery of(final DateMatcher matcher, final Order order) {
+        Objects.requireNonNull(matcher, "matcher is null.");
+        if (order != Order.FROM_EARLIEST_TO_LATEST && order != Order.FROM_LATEST_TO_EARLIEST) {
+            throw new IllegalArgumentException("invalid date order: " + order);
+        }
+        return new DateQuery(matcher, order, -1L, null);
+    }
+
+    public static DateQuery of(final Formula<ChronoLocalDate> formula, final Order order) {
+        return of(DateMatcher.of(formula), order);
+    }
+
+    /**
+     * Returns a request of the first {@code limit} dates in the order at most.
+     */
+    public DateQuery withLimit(final long limit) {
+        if (limit < 0L) {
+            throw new IllegalArgumentException("limit must not be negative.");
+        }
+        return new DateQuery(this.matcher, this.order, limit, this.window);
+    }
+
+    /**
+     * Returns a request of dates only within the window.
+     *
+     * <p>A window is required if the formula is not bounded, unless a limit bounds it in the order.
+     */
+    public DateQuery within(final DateRange window) {
+        Objects.requireNonNull(window, "window is null.");
+        return new DateQuery(this.matcher, this.order, this.limit, window);
+    }
+
+    public DateMatcher matcher() {
+        return this.matcher;
+    }
+
+    public Order order() {
+        return this.order;
+    }
+
+    public OptionalLong limit() {
+        return this.limit < 0L ? OptionalLong.empty() : OptionalLong.of(this.limit);
+    }
+
+    public Optional<DateRange> window() {
+        return Optional.ofNullable(this.window);
+    }
+
+    /**
+     * Returns the range of epoch days to scan, as {@code [lower, upper]}, or {@code null} if nothing can match.
+     *
+     * <p>An unbounded side is bounded by the window if given, and a bounded side is narrowed to the first or the last
+     * match within the window. If the limit is given, the far side in the order is narrowed to the {@code limit}-th
+     * match, so that a limited query does not need a window, and does not scan beyond its last result.
+     *
+     * @throws IllegalArgumentException  if the range cannot be bounded
+     */
+    long[] epochDayRange() {
+        if (this.limit == 0L) {
+            return null;
+        }
+
+        long lower = Long.MAX_VALUE;
+        long upper = Long.MIN_VALUE;
+        boolean unboundedLower = false;
+        boolean unboundedUpper = false;
+        // Matches are sought only within the window, so that a residual atom never makes them seek far beyond it.
+        final long windowFrom = this.window == null ? DatePattern.MIN_EPOCH_DAY : this.window.start().toEpochDay();
+        final long windowTo = this.window == null ? DatePattern.MAX_EPOCH_DAY : this.window.end().toEpochDay();
+        for (final DatePattern pattern : this.matcher.union().patterns()) {
+            final Optional<LocalDate> first = pattern.next(LocalDate.ofEpochDay(windowFrom), windowTo);
+            if (!first.isPresent()) {
+                continue;
+            }
+            if (pattern.hasLowerBound()) {
+                lower = Math.min(lower, first.get().toEpochDay());
+            } else {
+                unboundedLower = true;
+            }
+            if (pattern.hasUpperBound()) {
+                upper = Math.max(upper, pattern.previous(LocalDate.ofEpochDay(windowTo), first.get().toEpochDay()).get().toEpochDay());
+            } else {
+                unboundedUpper = true;
+            }
+        }
+        if (lower == Long.MAX_VALUE && !unboundedLower) {
+            return null;
+        }
+
+        if (this.window != null) {
+            lower = unboundedLower ? this.window.start().toEpochDay() : Math.max(lower, this.window.start().toEpochDay());
+            upper = unboundedUpper ? this.window.end().toEpochDay() : Math.min(upper, this.window.end().toEpochDay());
+            unboundedLower = false;
+            unboundedUpper = false;
+        }
+        if (!unboundedLower && this.limit > 0L && this.order == Order.FROM_EARLIEST_TO_LATEST) {
+            final Optional<LocalDate> last = this.matcher.union().selectForward(lower, unboundedUpper ? DatePattern.MAX_EPOCH_DAY : upper, this.limit - 1L);
+            if (last.isPresent()) {
+                upper = last.get().toEpochDay();
+                unboundedUpper = false;
+            } else if (unboundedUpper) {
+                upper = this.matcher.union().previous(LocalDate.ofEpochDay(DatePattern.MAX_EPOCH_DAY), lower).get().toEpochDay();
+                unboundedUpper = false;
+            }
+        }
+        if (!unboundedUpper && this.limit > 0L && this.order == Order.FROM_LATEST_TO_EARLIEST) {
+            final Optional<LocalDate> last = this.matcher.union().selectBackward(unboundedLower ? DatePattern.MIN_EPOCH_DAY : lower, upper, this.limit - 1L);
+            if (last.isPresent()) {
+                lower = last.get().toEpochDay();
+                unboundedLower = false;
+            } else if (unboundedLower) {
+                lower = this.matcher.union().next(LocalDate.ofEpochDay(DatePattern.MIN_EPOCH_DAY), upper).get().toEpochDay();
+                unboundedLower = false;
+            }
+        }
+        if (unboundedLower) {
+            throw new IllegalArgumentException("conjunction does not have the earliest date, and neither window nor limit bounds it.");
+        }
+        if (unboundedUpper) {
+            throw new IllegalArgumentException("conjunction does not have the latest date, and neither window nor limit bounds it.");
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new long[] { lower, upper };
+    }
+
+    @Override
+    public String toString() {
+        return "DateQuery{order=" + (this.order == Order.FROM_EARLIEST_TO_LATEST ? "earliest to latest" : "latest to earliest")
+                + ", limit=" + (this.limit < 0L ? "none" : Long.toString(this.limit))
+                + ", window=" + this.window + "}";
+    }
+
+    private final DateMatcher matcher;
+    private final Order order;
+    private final long limit;
+    private final DateRange window;
+}
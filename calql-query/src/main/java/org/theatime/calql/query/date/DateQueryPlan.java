@@ -0,0 +1,375 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+import org.theatime.calql.query.Atom;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.DisjunctiveNormalFormula;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.NegationNormalFormula;
+import org.theatime.calql.query.Order;
+import org.theatime.calql.query.SourceStreamer;
+
+/**
+ * Explains how a formula of dates is streamed, and what it costs, like {@code EXPLAIN} in SQL.
+ *
+ * <p>{@link #explain(Formula, Order)} reports the Negation Normal Form, the Disjunctive Normal Form, and for each
+ * conjunction: its bounds, whether it possibly exists, the source streamer {@link DefaultDateSourceStreamer} would
+ * choose, the estimated number of candidates the streamer would generate, and the estimated number of matches.
+ * Nothing is streamed for the estimates. They are empty if they are infinite.
+ *
+ * <p>{@link #analyze(Formula, Order, long)} streams each conjunction actually, like {@code EXPLAIN ANALYZE}, and reports
+ * the actual numbers in addition. It stops scanning a conjunction at {@code maxCandidates} candidates, so that an
+ * unbounded conjunction can be analyzed, too. A conjunction unbounded at the start of the order is streamed from the
+ * year of its first match in the order, and reported as truncated.
+ *
+ * <p>Ex. {@code DateQueryPlan.explain(formula, Order.FROM_EARLIEST_TO_LATEST).estimatedCandidates()} can be checked to
+ * reject expensive queries before running them.
+ */
+public final class DateQueryPlan {
+    private DateQueryPlan(
+            final NegationNormalFormula<ChronoLocalDate> negationNormalForm,
+            final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalForm,
+            final List<Branch> branches,
+            final OptionalLong estimatedMatches,
+            final boolean analyzed) {
+        this.negationNormalForm = negationNormalForm;
+        this.disjunctiveNormalForm = disjunctiveNormalForm;
+        this.branches = branches;
+        this.estimatedMatches = estimatedMatches;
+        this.analyzed = analyzed;
+    }
+
+    public static DateQueryPlan explain(final Formula<ChronoLocalDate> formula, final Order order) {
+        return plan(formula, order, false, 0L);
+    }
+
+    /**
+     * Explains the formula, and analyzes it with streaming actually.
+     *
+     * @param maxCandidates  the maximum number of candidates to scan for each conjunction
+     */
+    public static DateQueryPlan analyze(final Formula<ChronoLocalDate> formula, final Order order, final long maxCandidates) {
+        if (maxCandidates < 0L) {
+            throw new IllegalArgumentException("maxCandidates must not be negative.");
+        }
+        return plan(formula, order, true, maxCandidates);
+    }
+
+    public NegationNormalFormula<ChronoLocalDate> negationNormalForm() {
+        return this.negationNormalForm;
+    }
+
+    public DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalForm() {
+        return this.disjunctiveNormalForm;
+    }
+
+    /**
+     * Returns the plans of conjunctions in the Disjunctive Normal Form.
+     */
+    public List<Branch> branches() {
+        return this.branches;
+    }
+
+    /**
+     * Returns the estimated number of candidates to scan in total, or empty if it is infinite.
+     */
+    public OptionalLong estimatedCandidates() {
+        long total = 0L;
+        for (final Branch branch : this.branches) {
+            if (!branch.estimatedCandidates.isPresent()) {
+                return OptionalLong.empty();
+            }
+            total += branch.estimatedCandidates.getAsLong();
+        }
+        return OptionalLong.of(total);
+    }
+
+    /**
+     * Returns the estimated number of distinct matching dates, or empty if it is infinite.
+     */
+    public OptionalLong estimatedMatches() {
+        return this.estimatedMatches;
+    }
+
+    public boolean isAnalyzed() {
+        return this.analyzed;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("NNF: ").append(this.negationNormalForm).append('\n');
+        builder.append("DNF: ").append(this.branches.size()).append(" conjunction(s)");
+        builder.append(", estimated candidates: ").append(format(this.estimatedCandidates()));
+        builder.append(", estimated matches: ").append(format(this.estimatedMatches)).append('\n');
+        for (int i = 0; i < this.branches.size(); i++) {
+            builder.append("  #").append(i).append(' ').append(this.branches.get(i)).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A plan of a conjunction.
+     */
+    public static final class Branch {
+        private Branch(
+                final Conjunction<ChronoLocalDate> conjunction,
+                final Optional<LocalDate> earliest,
+                final Optional<LocalDate> latest,
+                final boolean existsPossibly,
+                final Optional<SourceStreamer<ChronoLocalDate, LocalDate>> streamer,
+                final OptionalLong estimatedCandidates,
+                final OptionalLong estimatedMatches) {
+            this.conjunction = conjunction;
+            this.earliest = earliest;
+            this.latest = latest;
+            this.existsPossibly = existsPossibly;
+            this.streamer = streamer;
+            this.estimatedCandidates = estimatedCandidates;
+            this.estimatedMatches = estimatedMatches;
+            this.analyzed = false;
+        }
+
+        public Conjunction<ChronoLocalDate> conjunction() {
+            return this.conjunction;
+        }
+
+        /**
+         * Returns the earliest date derived from the atoms of the conjunction, which may not match.
+         */
+        public Optional<LocalDate> earliest() {
+            return this.earliest;
+        }
+
+        /**
+         * Returns the latest date derived from the atoms of the conjunction, which may not match.
+         */
+        public Optional<LocalDate> latest() {
+            return this.latest;
+        }
+
+        public boolean existsPossibly() {
+            return this.existsPossibly;
+        }
+
+        /**
+         * Returns the source streamer to be chosen, or empty if nothing is streamed because the conjunction never exists.
+         */
+        public Optional<SourceStreamer<ChronoLocalDate, LocalDate>> streamer() {
+            return this.streamer;
+        }
+
+        /**
+         * Returns the estimated number of candidates generated by the source streamer, or empty if it is infinite.
+         */
+        public OptionalLong estimatedCandidates() {
+            return this.estimatedCandidates;
+        }
+
+        /**
+         * Returns the estimated number of matching dates, or empty if it is infinite.
+         */
+        public OptionalLong estimatedMatches() {
+            return this.estimatedMatches;
+        }
+
+        /**
+         * Returns the actual number of candidates scanned, or empty if it is not analyzed.
+         */
+        public OptionalLong actualCandidates() {
+            return this.analyzed ? OptionalLong.of(this.actualCandidates) : OptionalLong.empty();
+        }
+
+        /**
+         * Returns the actual number of matching dates in the scanned candidates, or empty if it is not analyzed.
+         */
+        public OptionalLong actualMatches() {
+            return this.analyzed ? OptionalLong.of(this.actualMatches) : OptionalLong.empty();
+        }
+
+        /**
+         * Returns the actual elapsed time of streaming in nanoseconds, or empty if it is not analyzed.
+         */
+        public OptionalLong actualNanos() {
+            return this.analyzed ? OptionalLong.of(this.actualNanos) : OptionalLong.empty();
+        }
+
+        /**
+         * Returns {@code true} if the analysis stopped at {@code maxCandidates} before the source stream ended, or if it
+         * started from the first match because the source stream has no start.
+         */
+        public boolean isTruncated() {
+            return this.truncated;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder();
+            builder.append(this.conjunction);
+            builder.append(" bounds: [").append(this.earliest.map(Object::toString).orElse("-inf"));
+            builder.append(", ").append(this.latest.map(Object::toString).orElse("+inf")).append(']');
+            builder.append(", exists possibly: ").append(this.existsPossibly);
+            builder.append(", streamer: ").append(this.streamer.map(chosen -> chosen.getClass().getSimpleName()).orElse("none"));
+            builder.append(", estimated candidates: ").append(format(this.estimatedCandidates));
+            builder.append(", estimated matches: ").append(format(this.estimatedMatches));
+            if (this.analyzed) {
+                builder.append(", actual candidates: ").append(this.actualCandidates).append(this.truncated ? " (truncated)" : "");
+                builder.append(", actual matches: ").append(this.actualMatches);
+                builder.append(", actual time: ").append(this.actualNanos / 1000L).append(" us");
+            }
+            return builder.toString();
+        }
+
+        private void analyze(final DatePattern pattern, final Order order, final long maxCandidates) {
+            this.analyzed = true;
+            if (!this.streamer.isPresent()) {
+                return;
+            }
+            final long started = System.nanoTime();
+            final Optional<Conjunction<ChronoLocalDate>> streamed = this.boundedAtStart(pattern, order);
+            if (!streamed.isPresent()) {
+                // It never matches, but the source stream would be infinite.
+                this.truncated = true;
+                this.actualNanos = System.nanoTime() - started;
+                return;
+            }
+            try (final Stream<LocalDate> stream = this.streamer.get().sourceStreamFrom(streamed.get(), order)) {
+                final Iterator<LocalDate> candidates = stream.iterator();
+                while (candidates.hasNext()) {
+                    if (this.actualCandidates >= maxCandidates) {
+                        this.truncated = true;
+                        break;
+                    }
+                    final LocalDate candidate = candidates.next();
+                    this.actualCandidates++;
+                    if (this.conjunction.test(candidate)) {
+                        this.actualMatches++;
+                    }
+                }
+            }
+            this.actualNanos = System.nanoTime() - started;
+        }
+
+        /**
+         * Returns the conjunction bounded at the start of the order by the year of its first match if it is unbounded there.
+         */
+        private Optional<Conjunction<ChronoLocalDate>> boundedAtStart(final DatePattern pattern, final Order order) {
+            final boolean descending = order == Order.FROM_LATEST_TO_EARLIEST;
+            if (descending ? this.latest.isPresent() : this.earliest.isPresent()) {
+                return Optional.of(this.conjunction);
+            }
+            final Optional<LocalDate> first = descending ? pattern.last() : pattern.first();
+            if (!first.isPresent()) {
+                return Optional.empty();
+            }
+            this.truncated = true;
+            final ArrayList<Atom<ChronoLocalDate>> atoms = new ArrayList<>(this.conjunction);
+            atoms.add(descending ? BeforeYear.orEqualTo(first.get().getYear()) : AfterYear.orEqualTo(first.get().getYear()));
+            return Optional.of(Conjunction.of(atoms));
+        }
+
+        private final Conjunction<ChronoLocalDate> conjunction;
+        private final Optional<LocalDate> earliest;
+        private final Optional<LocalDate> latest;
+        private final boolean existsPossibly;
+        private final Optional<SourceStreamer<ChronoLocalDate, LocalDate>> streamer;
+        private final OptionalLong estimatedCandidates;
+        private final OptionalLong estimatedMatches;
+
+        private boolean analyzed;
+        private long actualCandidates;
+        private long actualMatches;
+        private long actualNanos;
+        private boolean truncated;
+    }
+
+    private static DateQueryPlan plan(final Formula<ChronoLocalDate> formula, final Order order, final boolean analyzing, final long maxCandidates) {
+        Objects.requireNonNull(formula, "formula is null.");
+        Objects.requireNonNull(order, "order is null.");
+        final NegationNormalFormula<ChronoLocalDate> negationNormalForm = formula.toNegationNormalForm();
+        final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalForm = negationNormalForm.getDisjunctiveNormalForm();
+        final DefaultDateSourceStreamer defaultStreamer = DefaultDateSourceStreamer.of();
+
+        final ArrayList<Branch> branches = new ArrayList<>();
+        final ArrayList<DatePattern> patterns = new ArrayList<>();
+        boolean bounded = true;
+        for (final Conjunction<ChronoLocalDate> conjunction : disjunctiveNormalForm) {
+            final DatePattern pattern = DatePattern.of(conjunction);
+            patterns.add(pattern);
+            bounded &= pattern.isBounded();
+            final Branch branch = branch(conjunction, pattern, defaultStreamer, order);
+            if (analyzing) {
+                branch.analyze(pattern, order, maxCandidates);
+            }
+            branches.add(branch);
+        }
+
+        final OptionalLong estimatedMatches = bounded
+                ? OptionalLong.of(DateUnion.of(patterns, DateUnion.DEFAULT_MAX_TERMS).count(DatePattern.MIN_EPOCH_DAY, DatePattern.MAX_EPOCH_DAY))
+                : OptionalLong.empty();
+        return new DateQueryPlan(negationNormalForm, disjunctiveNormalForm, Collections.unmodifiableList(branches), estimatedMatches, analyzing);
+    }
+
+    private static Branch branch(
+            final Conjunction<ChronoLocalDate> conjunction,
+            final DatePattern pattern,
+            final DefaultDateSourceStreamer defaultStreamer,
+            final Order order) {
+        final Optional<LocalDate> earliest = conjunction.earliest().map(LocalDate::from);
+        final Optional<LocalDate> latest = conjunction.latest().map(LocalDate::from);
+        if (!conjunction.existsPossibly()) {
+            return new Branch(conjunction, earliest, latest, false, Optional.empty(), OptionalLong.of(0L), OptionalLong.of(0L));
+        }
+
+        final SourceStreamer<ChronoLocalDate, LocalDate> chosen = defaultStreamer.choose(conjunction, order);
+        final OptionalLong estimatedCandidates;
+        if (chosen instanceof ExactDateSourceStreamer) {
+            estimatedCandidates = OptionalLong.of(ExactDateSourceStreamer.candidates(conjunction).length);
+        } else if (earliest.isPresent() && latest.isPresent()) {
+            estimatedCandidates = OptionalLong.of(ChronoUnit.DAYS.between(earliest.get(), latest.get()) + 1L);
+        } else {
+            estimatedCandidates = OptionalLong.empty();
+        }
+
+        final OptionalLong estimatedMatches = pattern.isBounded()
+                ? OptionalLong.of(pattern.count(pattern.lowerEpochDay(), pattern.upperEpochDay()))
+                : OptionalLong.empty();
+        return new Branch(conjunction, earliest, latest, true, Optional.of(chosen), estimatedCandidates, estimatedMatches);
+    }
+
+    private static String format(final OptionalLong value) {
+        return value.isPresent() ? Long.toString(value.getAsLong()) : "inf";
+    }
+
+    private final NegationNormalFormula<ChronoLocalDate> negationNormalForm;
+    private final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalForm;
+    private final List<Branch> branches;
+    private final OptionalLong estimatedMatches;
+    private final boolean analyzed;
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * A range of consecutive dates from {@code start} to {@code end}, both inclusive.
+ */
+public final class DateRange {
+    private DateRange(final LocalDate start, final LocalDate end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Creates a range from {@code start} to {@code end}, both inclusive.
+     *
+     * @throws IllegalArgumentException  if {@code start} is after {@code end}
+     */
+    public static DateRange of(final LocalDate start, final LocalDate end) {
+        Objects.requireNonNull(start, "start is null.");
+        Objects.requireNonNull(end, "end is null.");
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("start is after end: " + start + " > " + end);
+        }
+        return new DateRange(start, end);
+    }
+
+    static DateRange ofEpochDays(final long startEpochDay, final long endEpochDay) {
+        return new DateRange(LocalDate.ofEpochDay(startEpochDay), LocalDate.ofEpochDay(endEpochDay));
+    }
+
+    public LocalDate start() {
+        return this.start;
+    }
+
+    public LocalDate end() {
+        return this.end;
+    }
+
+    /**
+     * Returns the number of days in the range.
+     */
+    public long days() {
+        return ChronoUnit.DAYS.between(this.start, this.end) + 1;
+    }
+
+    public boolean contains(final LocalDate date) {
+        return !date.isBefore(this.start) && !date.isAfter(this.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(DateRange.class, this.start, this.end);
+    }
+
+    @Override
+    public boolean equals(final Object otherObject) {
+        if (this == otherObject) {
+            return true;
+        }
+        if (!(otherObject instanceof DateRange)) {
+            return false;
+        }
+
+        final DateRange other = (DateRange) otherObject;
+        return Objects.equals(this.start, other.start) && Objects.equals(this.end, other.end);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s, %s]", this.start, this.end);
+    }
+
+    private final LocalDate start;
+    private final LocalDate end;
+}
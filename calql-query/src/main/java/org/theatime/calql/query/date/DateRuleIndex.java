@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.DisjunctiveNormalFormula;
+import org.theatime.calql.query.Formula;
+
+/**
+ * An index of many date formulas (rules) to find which of them match a given date.
+ *
+ * <p>Each conjunction in the Disjunctive Normal Form (DNF) of a rule is posted under its most selective field among
+ * month, day of month, day of week, and the range of years. Matching a date touches only the conjunctions posted under
+ * the fields of the date, and the conjunctions without any constraint on those fields.
+ *
+ * <p>Ex. a conjunction of {@code EitherMonth.of(2)} and {@code EitherDayOfWeek.of(FRIDAY)} is posted under February
+ * since one month out of 12 is more selective than one day of week out of 7.
+ *
+ * <p>Rules can be added and removed incrementally. It is not thread-safe.
+ *
+ * @param <K>  the type of keys to identify rules
+ */
+public final class DateRuleIndex<K> {
+    private DateRuleIndex() {
+        this.rules = new HashMap<>();
+        this.byMonth = newPostings(13);
+        this.byDayOfMonth = newPostings(32);
+        this.byDayOfWeek = newPostings(8);
+        this.byYear = new HashMap<>();
+        this.unconditional = new LinkedHashSet<>();
+    }
+
+    public static <K> DateRuleIndex<K> of() {
+        return new DateRuleIndex<>();
+    }
+
+    /**
+     * Adds a rule, or replaces the rule of the same key.
+     */
+    public DateRuleIndex<K> add(final K key, final Formula<ChronoLocalDate> formula) {
+        Objects.requireNonNull(formula, "formula is null.");
+        return this.add(key, formula.toDisjunctiveNormalForm());
+    }
+
+    /**
+     * Adds a rule in Disjunctive Normal Form (DNF), or replaces the rule of the same key.
+     */
+    public DateRuleIndex<K> add(final K key, final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula) {
+        Objects.requireNonNull(key, "key is null.");
+        Objects.requireNonNull(disjunctiveNormalFormula, "disjunctiveNormalFormula is null.");
+        this.remove(key);
+
+        final ArrayList<Branch<K>> branches = new ArrayList<>();
+        for (final Conjunction<ChronoLocalDate> conjunction : disjunctiveNormalFormula) {
+            final DatePattern pattern = DatePattern.of(conjunction);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            final Branch<K> branch = new Branch<>(key, pattern);
+            this.post(branch);
+            branches.add(branch);
+        }
+        this.rules.put(key, branches);
+        return this;
+    }
+
+    /**
+     * Removes the rule of the key.
+     *
+     * @return {@code true} if the rule was in the index
+     */
+    public boolean remove(final K key) {
+        Objects.requireNonNull(key, "key is null.");
+        final List<Branch<K>> branches = this.rules.remove(key);
+        if (branches == null) {
+            return false;
+        }
+        for (final Branch<K> branch : branches) {
+            this.unpost(branch);
+        }
+        return true;
+    }
+
+    public boolean contains(final K key) {
+        return this.rules.containsKey(key);
+    }
+
+    public int size() {
+        return this.rules.size();
+    }
+
+    /**
+     * Finds the keys of the rules that match the date.
+     */
+    public Set<K> match(final LocalDate date) {
+        Objects.requireNonNull(date, "date is null.");
+        final HashSet<K> matched = new HashSet<>();
+        collect(this.byMonth.get(date.getMonthValue()), date, matched);
+        collect(this.byDayOfMonth.get(date.getDayOfMonth()), date, matched);
+        collect(this.byDayOfWeek.get(date.getDayOfWeek().getValue()), date, matched);
+        final Set<Branch<K>> ofYear = this.byYear.get(date.getYear());
+        if (ofYear != null) {
+            collect(ofYear, date, matched);
+        }
+        collect(this.unconditional, date, matched);
+        return Collections.unmodifiableSet(matched);
+    }
+
+    private void post(final Branch<K> branch) {
+        if (branch.field == FIELD_MONTH) {
+            forEachBit(branch.pattern.months(), value -> this.byMonth.get(value).add(branch));
+        } else if (branch.field == FIELD_DAY_OF_MONTH) {
+            forEachBit(branch.pattern.daysOfMonth(), value -> this.byDayOfMonth.get(value).add(branch));
+        } else if (branch.field == FIELD_DAY_OF_WEEK) {
+            forEachBit(branch.pattern.daysOfWeek(), value -> this.byDayOfWeek.get(value).add(branch));
+        } else if (branch.field == FIELD_YEAR) {
+            for (int year = branch.fromYear; year <= branch.toYear; year++) {
+                this.byYear.computeIfAbsent(year, k -> new LinkedHashSet<>()).add(branch);
+            }
+        } else {
+            this.unconditional.add(branch);
+        }
+    }
+
+    private void unpost(final Branch<K> branch) {
+        if (branch.field == FIELD_MONTH) {
+            forEachBit(branch.pattern.months(), value -> this.byMonth.get(value).remove(branch));
+        } else if (branch.field == FIELD_DAY_OF_MONTH) {
+            forEachBit(branch.pattern.daysOfMonth(), value -> this.byDayOfMonth.get(value).remove(branch));
+        } else if (branch.field == FIELD_DAY_OF_WEEK) {
+            forEachBit(branch.pattern.daysOfWeek(), value -> this.byDayOfWeek.get(value).remove(branch));
+        } else if (branch.field == FIELD_YEAR) {
+            for (int year = branch.fromYear; year <= branch.toYear; year++) {
+                final Set<Branch<K>> ofYear = this.byYear.get(year);
+                ofYear.remove(branch);
+                if (ofYear.isEmpty()) {
+                    this.byYear.remove(year);
+                }
+            }
+        } else {
+            this.unconditional.remove(branch);
+        }
+    }
+
+    private static <K> void collect(final Set<Branch<K>> branches, final LocalDate date, final Set<K> matched) {
+        for (final Branch<K> branch : branches) {
+            if (!matched.contains(branch.key) && branch.pattern.test(date)) {
+                matched.add(branch.key);
+            }
+        }
+    }
+
+    private static void forEachBit(final long bits, final IntConsumer consumer) {
+        for (long rest = bits; rest != 0L; rest &= rest - 1) {
+            consumer.accept(Long.numberOfTrailingZeros(rest));
+        }
+    }
+
+    private static <K> ArrayList<Set<Branch<K>>> newPostings(final int size) {
+        final ArrayList<Set<Branch<K>>> postings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            postings.add(new LinkedHashSet<>());
+        }
+        return postings;
+    }
+
+    private static final class Branch<K> {
+        Branch(final K key, final DatePattern pattern) {
+            this.key = key;
+            this.pattern = pattern;
+
+            if (pattern.isBounded()) {
+                this.fromYear = LocalDate.ofEpochDay(pattern.lowerEpochDay()).getYear();
+                this.toYear = LocalDate.ofEpochDay(pattern.upperEpochDay()).getYear();
+            } else {
+                this.fromYear = 0;
+                this.toYear = -1;
+            }
+
+            // Estimates the ratio of dates that pass each field, and picks the smallest.
+            int field = FIELD_NONE;
+            double selectivity = 1.0;
+            final double ofMonth = Integer.bitCount(pattern.months()) / 12.0;
+            if (ofMonth < selectivity) {
+                field = FIELD_MONTH;
+                selectivity = ofMonth;
+            }
+            final double ofDayOfMonth = Long.bitCount(pattern.daysOfMonth()) / 31.0;
+            if (ofDayOfMonth < selectivity) {
+                field = FIELD_DAY_OF_MONTH;
+                selectivity = ofDayOfMonth;
+            }
+            final double ofDayOfWeek = Integer.bitCount(pattern.daysOfWeek()) / 7.0;
+            if (ofDayOfWeek < selectivity) {
+                field = FIELD_DAY_OF_WEEK;
+                selectivity = ofDayOfWeek;
+            }
+            if (this.toYear >= this.fromYear && (this.toYear - this.fromYear + 1) <= MAX_POSTED_YEARS) {
+                final double ofYear = (this.toYear - this.fromYear + 1) / (double) MAX_POSTED_YEARS;
+                if (ofYear < selectivity) {
+                    field = FIELD_YEAR;
+                }
+            }
+            this.field = field;
+        }
+
+        final K key;
+        final DatePattern pattern;
+        final int field;
+
+        // Empty (from > to) if the years are not bounded.
+        final int fromYear;
+        final int toYear;
+    }
+
+    private static final int FIELD_NONE = 0;
+    private static final int FIELD_MONTH = 1;
+    private static final int FIELD_DAY_OF_MONTH = 2;
+    private static final int FIELD_DAY_OF_WEEK = 3;
+    private static final int FIELD_YEAR = 4;
+
+    // A range of years is posted only if it is within this span. It also approximates the selectivity of a range of years.
+    private static final int MAX_POSTED_YEARS = 100;
+
+    private final HashMap<K, List<Branch<K>>> rules;
+
+    private final ArrayList<Set<Branch<K>>> byMonth;
+    private final ArrayList<Set<Branch<K>>> byDayOfMonth;
+    private final ArrayList<Set<Branch<K>>> byDayOfWeek;
+    private final HashMap<Integer, Set<Branch<K>>> byYear;
+    private final LinkedHashSet<Branch<K>> unconditional;
+}
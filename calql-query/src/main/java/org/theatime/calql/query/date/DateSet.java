@@ -0,0 +1,908 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.theatime.calql.query.Order;
+
+/**
+ * An immutable set of dates, backed by a compressed bitmap over epoch days in the manner of Roaring bitmaps.
+ *
+ * <p>Epoch days are partitioned by their high bits into chunks of 65536 days (about 179 years). Each chunk is stored
+ * in the smallest of a sorted array, a bitmap, or runs of consecutive days. A set of weekdays over a century costs
+ * about 8 KiB, and a set of a few ranges costs a few bytes per range, instead of 40+ bytes per {@link LocalDate}.
+ *
+ * <p>It can be collected from a stream of dates by {@link #toDateSet()}, and can be fed into {@link EitherDate#of(DateSet)}.
+ *
+ * @see <a href="https://roaringbitmap.org/">Roaring Bitmaps</a>
+ */
+public final class DateSet implements Iterable<LocalDate>, Serializable {
+    private DateSet(final long[] keys, final Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cumulative = new long[containers.length + 1];
+        for (int i = 0; i < containers.length; i++) {
+            this.cumulative[i + 1] = this.cumulative[i] + containers[i].cardinality;
+        }
+    }
+
+    public static DateSet empty() {
+        return EMPTY;
+    }
+
+    public static DateSet of(final LocalDate... dates) {
+        return of(Arrays.asList(dates));
+    }
+
+    public static DateSet of(final Collection<LocalDate> dates) {
+        final Builder builder = builder();
+        for (final LocalDate date : dates) {
+            builder.add(date);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a set of dates from {@code from} to {@code to}, both inclusive.
+     */
+    public static DateSet ofRange(final LocalDate from, final LocalDate to) {
+        return builder().addRange(from, to).build();
+    }
+
+    /**
+     * Creates a set of dates from {@code from} to {@code to}, both inclusive, that satisfy the matcher.
+     */
+    public static DateSet matching(final DateMatcher matcher, final LocalDate from, final LocalDate to) {
+        Objects.requireNonNull(matcher, "matcher is null.");
+        Objects.requireNonNull(to, "to is null.");
+        final Builder builder = builder();
+        Optional<LocalDate> found = matcher.nextMatch(from);
+        while (found.isPresent() && !found.get().isAfter(to)) {
+            builder.add(found.get());
+            found = found.get().equals(LocalDate.MAX) ? Optional.<LocalDate>empty() : matcher.nextMatch(found.get().plusDays(1));
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a {@link Collector} to collect dates into a {@link DateSet}.
+     */
+    public static Collector<LocalDate, ?, DateSet> toDateSet() {
+        return Collector.of(
+                Builder::new,
+                Builder::add,
+                Builder::addAll,
+                Builder::build,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Decodes a set encoded by {@link #toByteArray()}.
+     *
+     * @throws IllegalArgumentException  if the bytes are not a valid encoded set
+     */
+    public static DateSet fromByteArray(final byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes is null.");
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != VERSION) {
+                throw new IllegalArgumentException("invalid encoded date set: unknown version.");
+            }
+            final int size = buffer.getInt();
+            if (size < 0) {
+                throw new IllegalArgumentException("invalid encoded date set: negative size.");
+            }
+            final Builder builder = builder();
+            for (int i = 0; i < size; i++) {
+                final long key = buffer.getLong();
+                if (key < MIN_KEY || key > MAX_KEY) {
+                    throw new IllegalArgumentException("invalid encoded date set: key out of range.");
+                }
+                builder.merge(key, Container.decode(buffer).toBitmap());
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("invalid encoded date set: trailing bytes.");
+            }
+            final DateSet decoded = builder.build();
+            if (!decoded.isEmpty()) {
+                LocalDate.ofEpochDay(decoded.epochDayAt(0));
+                LocalDate.ofEpochDay(decoded.epochDayAt(decoded.size() - 1));
+            }
+            return decoded;
+        } catch (final BufferUnderflowException | DateTimeException ex) {
+            throw new IllegalArgumentException("invalid encoded date set.", ex);
+        }
+    }
+
+    /**
+     * Encodes the set into compact bytes, which can be decoded by {@link #fromByteArray(byte[])}.
+     */
+    public byte[] toByteArray() {
+        int length = 1 + 4;
+        for (final Container container : this.containers) {
+            length += 8 + container.encodedLength();
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(VERSION);
+        buffer.putInt(this.containers.length);
+        for (int i = 0; i < this.containers.length; i++) {
+            buffer.putLong(this.keys[i]);
+            this.containers[i].encode(buffer);
+        }
+        return buffer.array();
+    }
+
+    public long size() {
+        return this.cumulative[this.containers.length];
+    }
+
+    public boolean isEmpty() {
+        return this.containers.length == 0;
+    }
+
+    public boolean contains(final LocalDate date) {
+        final long epochDay = date.toEpochDay();
+        final int index = Arrays.binarySearch(this.keys, keyOf(epochDay));
+        return index >= 0 && this.containers[index].contains(lowOf(epochDay));
+    }
+
+    public Optional<LocalDate> first() {
+        if (this.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(LocalDate.ofEpochDay(this.epochDayAt(0)));
+    }
+
+    public Optional<LocalDate> last() {
+        if (this.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(LocalDate.ofEpochDay(this.epochDayAt(this.size() - 1)));
+    }
+
+    /**
+     * Returns the number of dates in the set on or before {@code date}.
+     */
+    public long rank(final LocalDate date) {
+        final long epochDay = date.toEpochDay();
+        final int index = Arrays.binarySearch(this.keys, keyOf(epochDay));
+        if (index >= 0) {
+            return this.cumulative[index] + this.containers[index].rank(lowOf(epochDay));
+        }
+        return this.cumulative[-index - 1];
+    }
+
+    /**
+     * Returns the {@code index}-th (0-origin) date in ascending order.
+     *
+     * @throws IndexOutOfBoundsException  if {@code index} is negative, or not less than {@link #size()}
+     */
+    public LocalDate select(final long index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException("index out of the date set: " + index);
+        }
+        return LocalDate.ofEpochDay(this.epochDayAt(index));
+    }
+
+    public DateSet union(final DateSet other) {
+        return combine(this, other, OPERATION_OR);
+    }
+
+    public DateSet intersection(final DateSet other) {
+        return combine(this, other, OPERATION_AND);
+    }
+
+    public DateSet difference(final DateSet other) {
+        return combine(this, other, OPERATION_AND_NOT);
+    }
+
+    /**
+     * Returns the dates in ascending order.
+     */
+    @Override
+    public Iterator<LocalDate> iterator() {
+        return this.iterator(Order.FROM_EARLIEST_TO_LATEST);
+    }
+
+    public Iterator<LocalDate> iterator(final Order order) {
+        return this.iterator(LocalDate.MIN, LocalDate.MAX, order);
+    }
+
+    /**
+     * Returns the dates from {@code from} to {@code to}, both inclusive, in the order.
+     */
+    public Iterator<LocalDate> iterator(final LocalDate from, final LocalDate to, final Order order) {
+        Objects.requireNonNull(from, "from is null.");
+        Objects.requireNonNull(to, "to is null.");
+        if (order == Order.FROM_EARLIEST_TO_LATEST) {
+            return new Cursor(from.toEpochDay(), to.toEpochDay(), true);
+        } else if (order == Order.FROM_LATEST_TO_EARLIEST) {
+            return new Cursor(from.toEpochDay(), to.toEpochDay(), false);
+        } else {
+            throw new IllegalArgumentException("invalid date order: " + order);
+        }
+    }
+
+    public Stream<LocalDate> stream(final Order order) {
+        return this.stream(LocalDate.MIN, LocalDate.MAX, order);
+    }
+
+    public Stream<LocalDate> stream(final LocalDate from, final LocalDate to, final Order order) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                this.iterator(from, to, order),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE),
+            false);
+    }
+
+    /**
+     * Returns the epoch days in ascending order.
+     */
+    public long[] toEpochDays() {
+        final long[] epochDays = new long[Math.toIntExact(this.size())];
+        int i = 0;
+        for (int index = 0; index < this.containers.length; index++) {
+            final long base = this.keys[index] << CHUNK_BITS;
+            final Container container = this.containers[index];
+            for (int low = container.next(0); low >= 0; low = low == CHUNK_MASK ? -1 : container.next(low + 1)) {
+                epochDays[i++] = base + low;
+            }
+        }
+        return epochDays;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(DateSet.class, Arrays.hashCode(this.keys), Arrays.hashCode(this.containers));
+    }
+
+    @Override
+    public boolean equals(final Object otherObject) {
+        if (this == otherObject) {
+            return true;
+        }
+        if (!(otherObject instanceof DateSet)) {
+            return false;
+        }
+
+        final DateSet other = (DateSet) otherObject;
+        return Arrays.equals(this.keys, other.keys) && Arrays.equals(this.containers, other.containers);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        final Iterator<LocalDate> iterator = this.iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            if (i >= MAX_DATES_IN_STRING) {
+                builder.append("... (").append(this.size()).append(" dates)");
+                break;
+            }
+            builder.append(iterator.next());
+        }
+        return builder.append("]").toString();
+    }
+
+    /**
+     * A builder of {@link DateSet}. It is not thread-safe.
+     */
+    public static final class Builder {
+        private Builder() {
+            this.bitmaps = new TreeMap<>();
+        }
+
+        public Builder add(final LocalDate date) {
+            final long epochDay = date.toEpochDay();
+            final int low = lowOf(epochDay);
+            this.bitmapOf(keyOf(epochDay))[low >>> 6] |= 1L << low;
+            return this;
+        }
+
+        /**
+         * Adds dates from {@code from} to {@code to}, both inclusive, without iterating each date.
+         */
+        public Builder addRange(final LocalDate from, final LocalDate to) {
+            final long fromEpochDay = from.toEpochDay();
+            final long toEpochDay = to.toEpochDay();
+            for (long key = keyOf(fromEpochDay); fromEpochDay <= toEpochDay && key <= keyOf(toEpochDay); key++) {
+                final int low = key == keyOf(fromEpochDay) ? lowOf(fromEpochDay) : 0;
+                final int high = key == keyOf(toEpochDay) ? lowOf(toEpochDay) : CHUNK_MASK;
+                setRange(this.bitmapOf(key), low, high);
+            }
+            return this;
+        }
+
+        public Builder addAll(final DateSet dates) {
+            for (int i = 0; i < dates.containers.length; i++) {
+                this.merge(dates.keys[i], dates.containers[i].toBitmap());
+            }
+            return this;
+        }
+
+        public DateSet build() {
+            final long[] keys = new long[this.bitmaps.size()];
+            final Container[] containers = new Container[this.bitmaps.size()];
+            int size = 0;
+            for (final Map.Entry<Long, long[]> entry : this.bitmaps.entrySet()) {
+                final Container container = Container.ofBitmap(entry.getValue());
+                if (container != null) {
+                    keys[size] = entry.getKey();
+                    containers[size] = container;
+                    size++;
+                }
+            }
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new DateSet(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size));
+        }
+
+        private Builder addAll(final Builder other) {
+            for (final Map.Entry<Long, long[]> entry : other.bitmaps.entrySet()) {
+                this.merge(entry.getKey(), entry.getValue());
+            }
+            return this;
+        }
+
+        private void merge(final long key, final long[] bitmap) {
+            final long[] merged = this.bitmapOf(key);
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] |= bitmap[i];
+            }
+        }
+
+        private long[] bitmapOf(final long key) {
+            return this.bitmaps.computeIfAbsent(key, k -> new long[WORDS]);
+        }
+
+        private final TreeMap<Long, long[]> bitmaps;
+    }
+
+    private long epochDayAt(final long index) {
+        int low = 0;
+        int high = this.containers.length - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (this.cumulative[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return (this.keys[low] << CHUNK_BITS) + this.containers[low].select((int) (index - this.cumulative[low]));
+    }
+
+    private static DateSet combine(final DateSet left, final DateSet right, final int operation) {
+        Objects.requireNonNull(right, "other is null.");
+        final long[] keys = new long[left.keys.length + right.keys.length];
+        final Container[] containers = new Container[keys.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.keys.length || j < right.keys.length) {
+            final long leftKey = i < left.keys.length ? left.keys[i] : Long.MAX_VALUE;
+            final long rightKey = j < right.keys.length ? right.keys[j] : Long.MAX_VALUE;
+            final Container container;
+            final long key;
+            if (leftKey < rightKey) {
+                key = leftKey;
+                container = operation == OPERATION_AND ? null : left.containers[i];
+                i++;
+            } else if (leftKey > rightKey) {
+                key = rightKey;
+                container = operation == OPERATION_OR ? right.containers[j] : null;
+                j++;
+            } else {
+                key = leftKey;
+                final long[] bitmap = left.containers[i].toBitmap();
+                final long[] other = right.containers[j].toBitmap();
+                for (int word = 0; word < WORDS; word++) {
+                    if (operation == OPERATION_OR) {
+                        bitmap[word] |= other[word];
+                    } else if (operation == OPERATION_AND) {
+                        bitmap[word] &= other[word];
+                    } else {
+                        bitmap[word] &= ~other[word];
+                    }
+                }
+                container = Container.ofBitmap(bitmap);
+                i++;
+                j++;
+            }
+            if (container != null) {
+                keys[size] = key;
+                containers[size] = container;
+                size++;
+            }
+        }
+        if (size == 0) {
+            return EMPTY;
+        }
+        return new DateSet(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size));
+    }
+
+    private static long keyOf(final long epochDay) {
+        return epochDay >> CHUNK_BITS;
+    }
+
+    private static int lowOf(final long epochDay) {
+        return (int) (epochDay & CHUNK_MASK);
+    }
+
+    private static void setRange(final long[] bitmap, final int from, final int to) {
+        for (int word = from >>> 6; word <= to >>> 6; word++) {
+            long mask = -1L;
+            if (word == from >>> 6) {
+                mask &= -1L << from;
+            }
+            if (word == to >>> 6) {
+                mask &= -1L >>> (63 - (to & 63));
+            }
+            bitmap[word] |= mask;
+        }
+    }
+
+    private Object writeReplace() {
+        return new Serialized(this.toByteArray());
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("DateSet must be deserialized through its serialized form.");
+    }
+
+    /**
+     * A serialized form of {@link DateSet}, in the compact encoding of {@link #toByteArray()}.
+     */
+    private static final class Serialized implements Serializable {
+        Serialized(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private Object readResolve() {
+            return fromByteArray(this.bytes);
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] bytes;
+    }
+
+    /**
+     * A chunk of 65536 days, stored in a sorted array, a bitmap, or runs.
+     */
+    private static final class Container {
+        private Container(final byte type, final char[] values, final long[] bitmap, final int cardinality) {
+            this.type = type;
+            this.values = values;
+            this.bitmap = bitmap;
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * Creates the smallest container from a bitmap, or {@code null} if it is empty.
+         */
+        static Container ofBitmap(final long[] bitmap) {
+            int cardinality = 0;
+            int runs = 0;
+            long previous = 0L;
+            for (final long word : bitmap) {
+                cardinality += Long.bitCount(word);
+                runs += Long.bitCount(word & ~((word << 1) | (previous >>> 63)));
+                previous = word;
+            }
+            if (cardinality == 0) {
+                return null;
+            }
+
+            final int arrayBytes = cardinality * 2;
+            final int runBytes = runs * 4;
+            if (runBytes < arrayBytes && runBytes < BITMAP_BYTES) {
+                final char[] values = new char[runs * 2];
+                int run = 0;
+                int start = nextSetBit(bitmap, 0);
+                while (start >= 0) {
+                    final int end = nextClearBit(bitmap, start) - 1;
+                    values[run * 2] = (char) start;
+                    values[run * 2 + 1] = (char) (end - start);
+                    run++;
+                    start = end >= CHUNK_MASK ? -1 : nextSetBit(bitmap, end + 1);
+                }
+                return new Container(TYPE_RUN, values, null, cardinality);
+            }
+            if (arrayBytes < BITMAP_BYTES) {
+                final char[] values = new char[cardinality];
+                int i = 0;
+                for (int word = 0; word < WORDS; word++) {
+                    for (long rest = bitmap[word]; rest != 0L; rest &= rest - 1) {
+                        values[i++] = (char) ((word << 6) + Long.numberOfTrailingZeros(rest));
+                    }
+                }
+                return new Container(TYPE_ARRAY, values, null, cardinality);
+            }
+            return new Container(TYPE_BITMAP, null, bitmap.clone(), cardinality);
+        }
+
+        static Container decode(final ByteBuffer buffer) {
+            final byte type = buffer.get();
+            final long[] bitmap = new long[WORDS];
+            if (type == TYPE_BITMAP) {
+                for (int word = 0; word < WORDS; word++) {
+                    bitmap[word] = buffer.getLong();
+                }
+            } else if (type == TYPE_ARRAY) {
+                final int length = Short.toUnsignedInt(buffer.getShort()) + 1;
+                for (int i = 0; i < length; i++) {
+                    final int low = buffer.getChar();
+                    bitmap[low >>> 6] |= 1L << low;
+                }
+            } else if (type == TYPE_RUN) {
+                final int runs = Short.toUnsignedInt(buffer.getShort()) + 1;
+                for (int i = 0; i < runs; i++) {
+                    final int start = buffer.getChar();
+                    final int end = start + buffer.getChar();
+                    if (end > CHUNK_MASK) {
+                        throw new IllegalArgumentException("invalid encoded date set: run out of range.");
+                    }
+                    setRange(bitmap, start, end);
+                }
+            } else {
+                throw new IllegalArgumentException("invalid encoded date set: unknown container type.");
+            }
+            final Container container = ofBitmap(bitmap);
+            if (container == null) {
+                throw new IllegalArgumentException("invalid encoded date set: empty container.");
+            }
+            return container;
+        }
+
+        int encodedLength() {
+            if (this.type == TYPE_BITMAP) {
+                return 1 + BITMAP_BYTES;
+            }
+            return 1 + 2 + this.values.length * 2;
+        }
+
+        void encode(final ByteBuffer buffer) {
+            buffer.put(this.type);
+            if (this.type == TYPE_BITMAP) {
+                for (final long word : this.bitmap) {
+                    buffer.putLong(word);
+                }
+                return;
+            }
+            // The number of elements (array) or runs minus 1, which fits in an unsigned short.
+            buffer.putShort((short) ((this.type == TYPE_RUN ? this.values.length / 2 : this.values.length) - 1));
+            for (final char value : this.values) {
+                buffer.putChar(value);
+            }
+        }
+
+        long[] toBitmap() {
+            if (this.type == TYPE_BITMAP) {
+                return this.bitmap.clone();
+            }
+            final long[] bitmap = new long[WORDS];
+            if (this.type == TYPE_ARRAY) {
+                for (final char value : this.values) {
+                    bitmap[value >>> 6] |= 1L << value;
+                }
+            } else {
+                for (int i = 0; i < this.values.length; i += 2) {
+                    setRange(bitmap, this.values[i], this.values[i] + this.values[i + 1]);
+                }
+            }
+            return bitmap;
+        }
+
+        boolean contains(final int low) {
+            if (this.type == TYPE_BITMAP) {
+                return (this.bitmap[low >>> 6] & (1L << low)) != 0L;
+            } else if (this.type == TYPE_ARRAY) {
+                return Arrays.binarySearch(this.values, (char) low) >= 0;
+            }
+            final int run = this.runAtOrBefore(low);
+            return run >= 0 && low <= this.values[run * 2] + this.values[run * 2 + 1];
+        }
+
+        /**
+         * Returns the number of elements less than or equal to {@code low}.
+         */
+        int rank(final int low) {
+            if (this.type == TYPE_BITMAP) {
+                int rank = 0;
+                for (int word = 0; word < (low >>> 6); word++) {
+                    rank += Long.bitCount(this.bitmap[word]);
+                }
+                return rank + Long.bitCount(this.bitmap[low >>> 6] & (-1L >>> (63 - (low & 63))));
+            } else if (this.type == TYPE_ARRAY) {
+                final int found = Arrays.binarySearch(this.values, (char) low);
+                return found >= 0 ? found + 1 : -found - 1;
+            }
+            int rank = 0;
+            for (int i = 0; i < this.values.length && this.values[i] <= low; i += 2) {
+                rank += Math.min(this.values[i] + this.values[i + 1], low) - this.values[i] + 1;
+            }
+            return rank;
+        }
+
+        int select(final int index) {
+            if (this.type == TYPE_BITMAP) {
+                int rest = index;
+                for (int word = 0; word < WORDS; word++) {
+                    final int count = Long.bitCount(this.bitmap[word]);
+                    if (rest < count) {
+                        long bits = this.bitmap[word];
+                        for (int k = 0; k < rest; k++) {
+                            bits &= bits - 1;
+                        }
+                        return (word << 6) + Long.numberOfTrailingZeros(bits);
+                    }
+                    rest -= count;
+                }
+                throw new IllegalStateException("index out of the container.");
+            } else if (this.type == TYPE_ARRAY) {
+                return this.values[index];
+            }
+            int rest = index;
+            for (int i = 0; i < this.values.length; i += 2) {
+                if (rest <= this.values[i + 1]) {
+                    return this.values[i] + rest;
+                }
+                rest -= this.values[i + 1] + 1;
+            }
+            throw new IllegalStateException("index out of the container.");
+        }
+
+        /**
+         * Returns the smallest element greater than or equal to {@code low}, or -1.
+         */
+        int next(final int low) {
+            if (this.type == TYPE_BITMAP) {
+                return nextSetBit(this.bitmap, low);
+            } else if (this.type == TYPE_ARRAY) {
+                final int found = Arrays.binarySearch(this.values, (char) low);
+                final int index = found >= 0 ? found : -found - 1;
+                return index < this.values.length ? this.values[index] : -1;
+            }
+            final int run = this.runAtOrBefore(low);
+            if (run >= 0 && low <= this.values[run * 2] + this.values[run * 2 + 1]) {
+                return low;
+            }
+            return (run + 1) * 2 < this.values.length ? this.values[(run + 1) * 2] : -1;
+        }
+
+        /**
+         * Returns the largest element less than or equal to {@code low}, or -1.
+         */
+        int previous(final int low) {
+            if (this.type == TYPE_BITMAP) {
+                for (int word = low >>> 6; word >= 0; word--) {
+                    final long bits = this.bitmap[word] & (word == low >>> 6 ? -1L >>> (63 - (low & 63)) : -1L);
+                    if (bits != 0L) {
+                        return (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+                    }
+                }
+                return -1;
+            } else if (this.type == TYPE_ARRAY) {
+                final int found = Arrays.binarySearch(this.values, (char) low);
+                final int index = found >= 0 ? found : -found - 2;
+                return index >= 0 ? this.values[index] : -1;
+            }
+            final int run = this.runAtOrBefore(low);
+            if (run < 0) {
+                return -1;
+            }
+            return Math.min(low, this.values[run * 2] + this.values[run * 2 + 1]);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.type, Arrays.hashCode(this.values), Arrays.hashCode(this.bitmap));
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject) {
+                return true;
+            }
+            if (!(otherObject instanceof Container)) {
+                return false;
+            }
+
+            final Container other = (Container) otherObject;
+            return this.type == other.type && Arrays.equals(this.values, other.values) && Arrays.equals(this.bitmap, other.bitmap);
+        }
+
+        /**
+         * Returns the index of the last run starting at or before {@code low}, or -1.
+         */
+        private int runAtOrBefore(final int low) {
+            int lowRun = 0;
+            int highRun = this.values.length / 2 - 1;
+            int found = -1;
+            while (lowRun <= highRun) {
+                final int middle = (lowRun + highRun) >>> 1;
+                if (this.values[middle * 2] <= low) {
+                    found = middle;
+                    lowRun = middle + 1;
+                } else {
+                    highRun = middle - 1;
+                }
+            }
+            return found;
+        }
+
+        private static int nextSetBit(final long[] bitmap, final int from) {
+            int word = from >>> 6;
+            long bits = bitmap[word] & (-1L << from);
+            while (bits == 0L) {
+                if (++word >= WORDS) {
+                    return -1;
+                }
+                bits = bitmap[word];
+            }
+            return (word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+
+        private static int nextClearBit(final long[] bitmap, final int from) {
+            int word = from >>> 6;
+            long bits = ~bitmap[word] & (-1L << from);
+            while (bits == 0L) {
+                if (++word >= WORDS) {
+                    return CHUNK_SIZE;
+                }
+                bits = ~bitmap[word];
+            }
+            return (word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+
+        private final byte type;
+
+        // Sorted elements for TYPE_ARRAY, or pairs of (start, length - 1) for TYPE_RUN.
+        private final char[] values;
+        private final long[] bitmap;
+
+        private final int cardinality;
+    }
+
+    /**
+     * Iterates dates in a range in either order.
+     */
+    private final class Cursor implements Iterator<LocalDate> {
+        Cursor(final long fromEpochDay, final long toEpochDay, final boolean forward) {
+            this.fromEpochDay = fromEpochDay;
+            this.toEpochDay = toEpochDay;
+            this.forward = forward;
+            final long start = forward ? fromEpochDay : toEpochDay;
+            final int found = Arrays.binarySearch(DateSet.this.keys, keyOf(start));
+            if (found >= 0) {
+                this.index = found;
+                this.nextEpochDay = this.seekIn(found, lowOf(start));
+            } else {
+                this.index = forward ? -found - 1 : -found - 2;
+                this.nextEpochDay = this.seekIn(this.index, forward ? 0 : CHUNK_MASK);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.nextEpochDay == NONE) {
+                return false;
+            }
+            return this.forward ? this.nextEpochDay <= this.toEpochDay : this.nextEpochDay >= this.fromEpochDay;
+        }
+
+        @Override
+        public LocalDate next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final long current = this.nextEpochDay;
+            final int low = lowOf(current);
+            if (this.forward) {
+                this.nextEpochDay = low < CHUNK_MASK ? this.seekIn(this.index, low + 1) : this.seekIn(++this.index, 0);
+            } else {
+                this.nextEpochDay = low > 0 ? this.seekIn(this.index, low - 1) : this.seekIn(--this.index, CHUNK_MASK);
+            }
+            return LocalDate.ofEpochDay(current);
+        }
+
+        /**
+         * Seeks from {@code low} in the {@code index}-th container, and then in the following containers in the order.
+         */
+        private long seekIn(final int index, final int low) {
+            final Container[] containers = DateSet.this.containers;
+            int from = low;
+            this.index = index;
+            while (this.index >= 0 && this.index < containers.length) {
+                final int found = this.forward ? containers[this.index].next(from) : containers[this.index].previous(from);
+                if (found >= 0) {
+                    return (DateSet.this.keys[this.index] << CHUNK_BITS) + found;
+                }
+                this.index += this.forward ? 1 : -1;
+                from = this.forward ? 0 : CHUNK_MASK;
+            }
+            return NONE;
+        }
+
+        private final long fromEpochDay;
+        private final long toEpochDay;
+        private final boolean forward;
+
+        private int index;
+        private long nextEpochDay;
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte VERSION = 1;
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int WORDS = CHUNK_SIZE / 64;
+    private static final int BITMAP_BYTES = CHUNK_SIZE / 8;
+
+    private static final long MIN_KEY = keyOf(DatePattern.MIN_EPOCH_DAY);
+    private static final long MAX_KEY = keyOf(DatePattern.MAX_EPOCH_DAY);
+
+    private static final byte TYPE_ARRAY = 1;
+    private static final byte TYPE_BITMAP = 2;
+    private static final byte TYPE_RUN = 3;
+
+    private static final int OPERATION_OR = 1;
+    private static final int OPERATION_AND = 2;
+    private static final int OPERATION_AND_NOT = 3;
+
+    private static final int MAX_DATES_IN_STRING = 10;
+
+    // No epoch day of LocalDate can be this.
+    private static final long NONE = Long.MIN_VALUE;
+
+    private static final DateSet EMPTY = new DateSet(new long[0], new Container[0]);
+
+    private final long[] keys;
+    private final Container[] containers;
+
+    // cumulative[i] is the number of dates in containers before the i-th.
+    private final long[] cumulative;
+}
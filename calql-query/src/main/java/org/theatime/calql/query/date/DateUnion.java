@@ -0,0 +1,368 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A union of {@link DatePattern}s, which is a compiled form of {@link org.theatime.calql.query.DisjunctiveNormalFormula}.
+ *
+ * <p>It counts dates by the inclusion-exclusion principle over non-empty intersections of the patterns. It falls back to
+ * walking through matches if a pattern is not analytic, or if there are too many intersections.
+ */
+final class DateUnion {
+    private DateUnion(final List<DatePattern> patterns, final List<Term> terms) {
+        this.patterns = patterns;
+        this.terms = terms;
+    }
+
+    static DateUnion of(final List<DatePattern> patterns, final int maxTerms) {
+        final ArrayList<DatePattern> nonEmptyPatterns = new ArrayList<>();
+        for (final DatePattern pattern : patterns) {
+            if (!pattern.isEmpty()) {
+                nonEmptyPatterns.add(pattern);
+            }
+        }
+        return new DateUnion(Collections.unmodifiableList(nonEmptyPatterns), inclusionExclusionTerms(nonEmptyPatterns, maxTerms));
+    }
+
+    /**
+     * Creates a union of patterns which never overlap with each other. Counts are simply summed up over the patterns.
+     *
+     * @see org.theatime.calql.query.DisjunctiveNormalFormula#toDisjoint(int)
+     */
+    static DateUnion ofDisjoint(final List<DatePattern> patterns) {
+        final ArrayList<DatePattern> nonEmptyPatterns = new ArrayList<>();
+        final ArrayList<Term> terms = new ArrayList<>();
+        for (final DatePattern pattern : patterns) {
+            if (!pattern.isEmpty()) {
+                nonEmptyPatterns.add(pattern);
+                terms.add(new Term(pattern, 1L));
+            }
+        }
+        for (final DatePattern pattern : nonEmptyPatterns) {
+            if (!pattern.isAnalytic()) {
+                return new DateUnion(Collections.unmodifiableList(nonEmptyPatterns), null);
+            }
+        }
+        return new DateUnion(Collections.unmodifiableList(nonEmptyPatterns), Collections.unmodifiableList(terms));
+    }
+
+    List<DatePattern> patterns() {
+        return this.patterns;
+    }
+
+    /**
+     * Returns the terms of the inclusion-exclusion principle, or {@code null} if it cannot be counted analytically.
+     */
+    List<Term> terms() {
+        return this.terms;
+    }
+
+    boolean test(final LocalDate date) {
+        for (final DatePattern pattern : this.patterns) {
+            if (pattern.test(date)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Optional<LocalDate> next(final LocalDate from) {
+        return this.next(from, DatePattern.MAX_EPOCH_DAY);
+    }
+
+    /**
+     * Seeks the earliest matching date on or after {@code from}, and on or before {@code limitEpochDay}.
+     */
+    Optional<LocalDate> next(final LocalDate from, final long limitEpochDay) {
+        LocalDate earliest = null;
+        for (final DatePattern pattern : this.patterns) {
+            final Optional<LocalDate> found = pattern.next(from, earliest == null ? limitEpochDay : earliest.toEpochDay() - 1);
+            if (found.isPresent() && (earliest == null || found.get().isBefore(earliest))) {
+                earliest = found.get();
+                if (earliest.equals(from)) {
+                    break;
+                }
+            }
+        }
+        return Optional.ofNullable(earliest);
+    }
+
+    Optional<LocalDate> previous(final LocalDate from) {
+        return this.previous(from, DatePattern.MIN_EPOCH_DAY);
+    }
+
+    /**
+     * Seeks the latest matching date on or before {@code from}, and on or after {@code limitEpochDay}.
+     */
+    Optional<LocalDate> previous(final LocalDate from, final long limitEpochDay) {
+        LocalDate latest = null;
+        for (final DatePattern pattern : this.patterns) {
+            final Optional<LocalDate> found = pattern.previous(from, latest == null ? limitEpochDay : latest.toEpochDay() + 1);
+            if (found.isPresent() && (latest == null || found.get().isAfter(latest))) {
+                latest = found.get();
+                if (latest.equals(from)) {
+                    break;
+                }
+            }
+        }
+        return Optional.ofNullable(latest);
+    }
+
+    /**
+     * Returns the last day of the maximal run of consecutive matching days that contains {@code epochDay}, which must match.
+     *
+     * <p>Runs of different patterns are chained as long as another pattern matches the day just after the run. The run
+     * is cut at {@code limitEpochDay} since chained runs may continue for ever.
+     */
+    long runEnd(final long epochDay, final long limitEpochDay) {
+        long end = epochDay - 1;
+        boolean extended = true;
+        while (extended && end < limitEpochDay) {
+            extended = false;
+            final LocalDate next = LocalDate.ofEpochDay(end + 1);
+            for (final DatePattern pattern : this.patterns) {
+                if (pattern.test(next)) {
+                    end = Math.max(end, pattern.runEnd(next.toEpochDay(), limitEpochDay));
+                    extended = true;
+                }
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns the first day of the maximal run of consecutive matching days that contains {@code epochDay}, which must match.
+     *
+     * <p>The run is cut at {@code limitEpochDay}.
+     */
+    long runStart(final long epochDay, final long limitEpochDay) {
+        long start = epochDay + 1;
+        boolean extended = true;
+        while (extended && start > limitEpochDay) {
+            extended = false;
+            final LocalDate previous = LocalDate.ofEpochDay(start - 1);
+            for (final DatePattern pattern : this.patterns) {
+                if (pattern.test(previous)) {
+                    start = Math.min(start, pattern.runStart(previous.toEpochDay(), limitEpochDay));
+                    extended = true;
+                }
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Counts matching dates between {@code fromEpochDay} and {@code toEpochDay}, both inclusive, without counting a date twice.
+     */
+    long count(final long fromEpochDay, final long toEpochDay) {
+        if (fromEpochDay > toEpochDay) {
+            return 0L;
+        }
+        if (this.terms != null) {
+            long count = 0L;
+            for (final Term term : this.terms) {
+                count += term.sign * term.pattern.count(fromEpochDay, toEpochDay);
+            }
+            return count;
+        }
+
+        long count = 0L;
+        final Walker walker = new Walker(this.patterns, LocalDate.ofEpochDay(fromEpochDay), toEpochDay);
+        for (Optional<LocalDate> found = walker.next(); found.isPresent(); found = walker.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Selects the {@code n}-th (0-origin) matching date on or after {@code fromEpochDay}, and on or before {@code toEpochDay}.
+     *
+     * <p>If analytic, it binary-searches the date by counts, which costs a few dozen counts regardless of {@code n}.
+     */
+    Optional<LocalDate> selectForward(final long fromEpochDay, final long toEpochDay, final long n) {
+        if (n < 0L) {
+            throw new IllegalArgumentException("n must not be negative.");
+        }
+        if (fromEpochDay > toEpochDay) {
+            return Optional.<LocalDate>empty();
+        }
+        if (this.terms == null) {
+            // The walk stops at the bound, so that it never walks far with residuals.
+            final Walker walker = new Walker(this.patterns, LocalDate.ofEpochDay(fromEpochDay), toEpochDay);
+            Optional<LocalDate> found = walker.next();
+            for (long i = 0; i < n && found.isPresent(); i++) {
+                found = walker.next();
+            }
+            return found;
+        }
+
+        if (this.count(fromEpochDay, toEpochDay) <= n) {
+            return Optional.<LocalDate>empty();
+        }
+        // Finds the smallest "high" such that count(from, high) > n.
+        long low = fromEpochDay;
+        long high = toEpochDay;
+        while (low < high) {
+            final long middle = low + (high - low) / 2;
+            if (this.count(fromEpochDay, middle) > n) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return Optional.of(LocalDate.ofEpochDay(low));
+    }
+
+    /**
+     * Selects the {@code n}-th (0-origin) matching date on or before {@code toEpochDay}, and on or after {@code fromEpochDay}.
+     */
+    Optional<LocalDate> selectBackward(final long fromEpochDay, final long toEpochDay, final long n) {
+        if (n < 0L) {
+            throw new IllegalArgumentException("n must not be negative.");
+        }
+        if (fromEpochDay > toEpochDay) {
+            return Optional.<LocalDate>empty();
+        }
+        if (this.terms == null) {
+            Optional<LocalDate> found = this.previous(LocalDate.ofEpochDay(toEpochDay), fromEpochDay);
+            for (long i = 0; i < n && found.isPresent(); i++) {
+                found = found.get().equals(LocalDate.MIN) ? Optional.<LocalDate>empty() : this.previous(found.get().minusDays(1), fromEpochDay);
+            }
+            return found;
+        }
+
+        if (this.count(fromEpochDay, toEpochDay) <= n) {
+            return Optional.<LocalDate>empty();
+        }
+        // Finds the largest "low" such that count(low, to) > n.
+        long low = fromEpochDay;
+        long high = toEpochDay;
+        while (low < high) {
+            final long middle = high - (high - low) / 2;
+            if (this.count(middle, toEpochDay) > n) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return Optional.of(LocalDate.ofEpochDay(low));
+    }
+
+    private static List<Term> inclusionExclusionTerms(final List<DatePattern> patterns, final int maxTerms) {
+        for (final DatePattern pattern : patterns) {
+            if (!pattern.isAnalytic()) {
+                return null;
+            }
+        }
+        final ArrayList<Term> terms = new ArrayList<>();
+        if (!collectTerms(patterns, 0, null, 1L, maxTerms, terms)) {
+            return null;
+        }
+        return Collections.unmodifiableList(terms);
+    }
+
+    /**
+     * Collects non-empty intersections of patterns with their signs. Supersets of an empty intersection are pruned.
+     */
+    private static boolean collectTerms(
+            final List<DatePattern> patterns,
+            final int start,
+            final DatePattern intersection,
+            final long sign,
+            final int maxTerms,
+            final ArrayList<Term> terms) {
+        for (int i = start; i < patterns.size(); i++) {
+            final DatePattern next = intersection == null ? patterns.get(i) : intersection.intersect(patterns.get(i));
+            if (next.isEmpty()) {
+                continue;
+            }
+            if (terms.size() >= maxTerms) {
+                return false;
+            }
+            terms.add(new Term(next, sign));
+            if (!collectTerms(patterns, i + 1, next, -sign, maxTerms, terms)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static final class Term {
+        Term(final DatePattern pattern, final long sign) {
+            this.pattern = pattern;
+            this.sign = sign;
+        }
+
+        final DatePattern pattern;
+        final long sign;
+    }
+
+    /**
+     * Walks through matches of a union of patterns forward, without visiting non-matching dates.
+     */
+    static final class Walker {
+        Walker(final List<DatePattern> patterns, final LocalDate from) {
+            this(patterns, from, DatePattern.MAX_EPOCH_DAY);
+        }
+
+        /**
+         * Walks only through matches on or before {@code limitEpochDay}.
+         */
+        Walker(final List<DatePattern> patterns, final LocalDate from, final long limitEpochDay) {
+            this.patterns = patterns;
+            this.limitEpochDay = limitEpochDay;
+            this.heads = new ArrayList<>();
+            for (final DatePattern pattern : patterns) {
+                this.heads.add(pattern.next(from, limitEpochDay));
+            }
+        }
+
+        Optional<LocalDate> next() {
+            LocalDate earliest = null;
+            for (final Optional<LocalDate> head : this.heads) {
+                if (head.isPresent() && (earliest == null || head.get().isBefore(earliest))) {
+                    earliest = head.get();
+                }
+            }
+            if (earliest == null) {
+                return Optional.<LocalDate>empty();
+            }
+            for (int i = 0; i < this.heads.size(); i++) {
+                final Optional<LocalDate> head = this.heads.get(i);
+                if (head.isPresent() && head.get().equals(earliest)) {
+                    this.heads.set(i, earliest.equals(LocalDate.MAX) ? Optional.<LocalDate>empty() : this.patterns.get(i).next(earliest.plusDays(1), this.limitEpochDay));
+                }
+            }
+            return Optional.of(earliest);
+        }
+
+        private final List<DatePattern> patterns;
+        private final long limitEpochDay;
+        private final ArrayList<Optional<LocalDate>> heads;
+    }
+
+    static final int DEFAULT_MAX_TERMS = 4096;
+
+    private final List<DatePattern> patterns;
+    private final List<Term> terms;
+}
@@ -23,6 +23,7 @@ import java.util.stream.Stream;
 import org.theatime.calql.query.Atom;
 import org.theatime.calql.query.Conjunction;
 import org.theatime.calql.query.Order;
+import org.theatime.calql.query.QueryListeners;
 import org.theatime.calql.query.SourceStreamer;
 
 /**
@@ -49,12 +50,9 @@ public final class DefaultDateSourceStreamer implements SourceStreamer<ChronoLoc
             return Stream.<LocalDate>empty();
         }
 
-        if (this.exactDateStreamer.isApplicableTo(conjunction, order)) {
-            return this.exactDateStreamer.sourceStreamFrom(conjunction, order);
-        }
-
-        // Last resort -- iterate all dates naively.
-        return this.naiveStreamer.sourceStreamFrom(conjunction, order);
+        final SourceStreamer<ChronoLocalDate, LocalDate> chosen = this.choose(conjunction, order);
+        QueryListeners.streamerChosen(conjunction, chosen);
+        return chosen.sourceStreamFrom(conjunction, order);
     }
 
     @Override
@@ -64,6 +62,18 @@ public final class DefaultDateSourceStreamer implements SourceStreamer<ChronoLoc
         return true;
     }
 
+    /**
+     * Chooses the source streamer for the conjunction which possibly exists.
+     */
+    SourceStreamer<ChronoLocalDate, LocalDate> choose(final Conjunction<ChronoLocalDate> conjunction, final Order order) {
+        if (this.exactDateStreamer.isApplicableTo(conjunction, order)) {
+            return this.exactDateStreamer;
+        }
+
+        // Last resort -- iterate all dates naively.
+        return this.naiveStreamer;
+    }
+
     private static void requireLocalDate(final Conjunction<ChronoLocalDate> conjunction) {
         for (final Atom<ChronoLocalDate> atom : conjunction) {
             if (atom.unit() != LocalDate.class) {
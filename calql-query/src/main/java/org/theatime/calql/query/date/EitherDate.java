@@ -18,33 +18,35 @@ package org.theatime.calql.query.date;
 
 import java.time.LocalDate;
 import java.time.chrono.ChronoLocalDate;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import org.theatime.calql.query.date.DateAtom;
 
+/**
+ * An atom of exact dates: {@code date in (...)}, or {@code date not in (...)}.
+ *
+ * <p>The dates are held in a sorted array of distinct epoch days, so that it can be tested by binary search, and so that
+ * it can be intersected and streamed in either order without copying into a collection.
+ */
 @SuppressWarnings("checkstyle:OverloadMethodsDeclarationOrder")
 public final class EitherDate extends DateAtom {
-    private EitherDate(final Set<LocalDate> dates, final boolean includes, final LocalDate earliest, final LocalDate latest) {
-        this.dates = dates;
+    private EitherDate(final long[] epochDays, final boolean includes) {
+        this.epochDays = epochDays;
         this.includes = includes;
-        this.earliest = earliest;
-        this.latest = latest;
     }
 
     static EitherDate of(final Collection<LocalDate> dates, final boolean includes) {
-        LocalDate earliest = LocalDate.MAX;
-        LocalDate latest = LocalDate.MIN;
+        final long[] epochDays = new long[dates.size()];
+        int i = 0;
         for (final LocalDate date : dates) {
-            if (earliest.compareTo(date) > 0) {
-                earliest = date;
-            }
-            if (latest.compareTo(date) < 0) {
-                latest = date;
-            }
+            epochDays[i++] = Objects.requireNonNull(date, "date is null.").toEpochDay();
         }
-        return new EitherDate(Set.copyOf(dates), includes, earliest, latest);
+        return new EitherDate(toSortedDistinct(epochDays), includes);
     }
 
     public static EitherDate of(final int year, final int month, final int dayOfMonth) {
@@ -56,11 +58,11 @@ public final class EitherDate extends DateAtom {
     }
 
     public static EitherDate of(final LocalDate date) {
-        return new EitherDate(Set.of(date), true, date, date);
+        return new EitherDate(new long[] { date.toEpochDay() }, true);
     }
 
     public static EitherDate notOf(final LocalDate date) {
-        return new EitherDate(Set.of(date), false, date, date);
+        return new EitherDate(new long[] { date.toEpochDay() }, false);
     }
 
     public static EitherDate of(final Collection<LocalDate> dates) {
@@ -71,36 +73,71 @@ public final class EitherDate extends DateAtom {
         return of(dates, false);
     }
 
+    public static EitherDate of(final DateSet dates) {
+        return new EitherDate(dates.toEpochDays(), true);
+    }
+
+    public static EitherDate notOf(final DateSet dates) {
+        return new EitherDate(dates.toEpochDays(), false);
+    }
+
     public static EitherDate of(final LocalDate... dates) {
-        return of(Set.of(dates), true);
+        return of(Arrays.asList(dates), true);
     }
 
     public static EitherDate notOf(final LocalDate... dates) {
-        return of(Set.of(dates), false);
+        return of(Arrays.asList(dates), false);
     }
 
+    /**
+     * Returns the dates in ascending order.
+     */
     public Set<LocalDate> dates() {
-        return this.dates;
+        final TreeSet<LocalDate> dates = new TreeSet<>();
+        for (final long epochDay : this.epochDays) {
+            dates.add(LocalDate.ofEpochDay(epochDay));
+        }
+        return Collections.unmodifiableSet(dates);
     }
 
     public boolean includes() {
         return this.includes;
     }
 
+    /**
+     * Returns the sorted, distinct epoch days. The array must not be modified.
+     */
+    long[] epochDays() {
+        return this.epochDays;
+    }
+
     @Override
     public Optional<LocalDate> earliest() {
-        return Optional.of(this.earliest);
+        if (!this.includes) {
+            return Optional.empty();
+        }
+        if (this.epochDays.length == 0) {
+            // Nothing can match. It is represented as an empty range from LocalDate.MAX to LocalDate.MIN.
+            return Optional.of(LocalDate.MAX);
+        }
+        return Optional.of(LocalDate.ofEpochDay(this.epochDays[0]));
     }
 
     @Override
     public Optional<LocalDate> latest() {
-        return Optional.of(this.latest);
+        if (!this.includes) {
+            return Optional.empty();
+        }
+        if (this.epochDays.length == 0) {
+            return Optional.of(LocalDate.MIN);
+        }
+        return Optional.of(LocalDate.ofEpochDay(this.epochDays[this.epochDays.length - 1]));
     }
 
     @Override
     public Optional<LocalDate> unique() {
-        if (earliest.equals(latest)) {
-            return Optional.of(this.earliest);
+        if (this.includes && this.epochDays.length == 1) {
+            return Optional.of(LocalDate.ofEpochDay(this.epochDays[0]));
         }
         return Optional.empty();
     }
@@ -109,7 +146,7 @@ public final class EitherDate extends DateAtom {
     public boolean test(final ChronoLocalDate targetChrono) {
         if (targetChrono instanceof LocalDate) {
             final LocalDate target = (LocalDate) targetChrono;
-            final boolean contains = this.dates.contains(target);
+            final boolean contains = Arrays.binarySearch(this.epochDays, target.toEpochDay()) >= 0;
             if (this.includes) {
                 return contains;
             } else {
@@ -130,12 +167,12 @@ public final class EitherDate extends DateAtom {
      */
     @Override
     public DateAtom negate() {
-        return new EitherDate(this.dates, this.includes, this.earliest, this.latest);
+        return new EitherDate(this.epochDays, !this.includes);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(EitherDate.class, this.dates, this.includes);
+        return Objects.hash(EitherDate.class, Arrays.hashCode(this.epochDays), this.includes);
     }
 
     @Override
@@ -148,29 +185,38 @@ public final class EitherDate extends DateAtom {
         }
 
         final EitherDate other = (EitherDate) otherObject;
-        return Objects.equals(this.dates, other.dates) && Objects.equals(this.includes, other.includes);
+        return Arrays.equals(this.epochDays, other.epochDays) && Objects.equals(this.includes, other.includes);
     }
 
     @Override
     public String toString() {
         if (this.includes) {
-            if (this.earliest == this.latest) {
-                return String.format("date = %s", this.earliest);
+            if (this.epochDays.length == 1) {
+                return String.format("date = %s", LocalDate.ofEpochDay(this.epochDays[0]));
             } else {
-                return String.format("date in %s", this.dates);
+                return String.format("date in %s", this.dates());
             }
         } else {
-            if (this.earliest == this.latest) {
-                return String.format("date <> %s", this.earliest);
+            if (this.epochDays.length == 1) {
+                return String.format("date <> %s", LocalDate.ofEpochDay(this.epochDays[0]));
             } else {
-                return String.format("date not in %s", this.dates);
+                return String.format("date not in %s", this.dates());
             }
         }
     }
 
-    private final Set<LocalDate> dates;
-    private final boolean includes;
+    private static long[] toSortedDistinct(final long[] epochDays) {
+        Arrays.sort(epochDays);
+        int distinct = 0;
+        for (int i = 0; i < epochDays.length; i++) {
+            if (distinct == 0 || epochDays[distinct - 1] != epochDays[i]) {
+                epochDays[distinct++] = epochDays[i];
+            }
+        }
+        return distinct == epochDays.length ? epochDays : Arrays.copyOf(epochDays, distinct);
+    }
 
-    private final LocalDate earliest;
-    private final LocalDate latest;
+    // Sorted and distinct.
+    private final long[] epochDays;
+    private final boolean includes;
 }
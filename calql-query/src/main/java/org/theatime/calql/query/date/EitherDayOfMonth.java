@@ -60,6 +60,14 @@ public final class EitherDayOfMonth extends DateAtom {
         return notOf(Arrays.stream(daysOfMonth).boxed().collect(Collectors.toSet()));
     }
 
+    public Set<Integer> daysOfMonth() {
+        return this.daysOfMonth;
+    }
+
+    public boolean includes() {
+        return this.includes;
+    }
+
     @Override
     public boolean test(final ChronoLocalDate targetChrono) {
         if (targetChrono instanceof LocalDate) {
@@ -59,6 +59,14 @@ public final class EitherDayOfWeek extends DateAtom {
         return new EitherDayOfWeek(Set.of(daysOfWeek), false);
     }
 
+    public Set<DayOfWeek> daysOfWeek() {
+        return this.daysOfWeek;
+    }
+
+    public boolean includes() {
+        return this.includes;
+    }
+
     @Override
     public boolean test(final ChronoLocalDate targetChrono) {
         if (targetChrono instanceof LocalDate) {
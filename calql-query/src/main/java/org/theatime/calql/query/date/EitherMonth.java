@@ -60,6 +60,14 @@ public final class EitherMonth extends DateAtom {
         return notOf(Arrays.stream(months).boxed().collect(Collectors.toSet()));
     }
 
+    public Set<Integer> months() {
+        return this.months;
+    }
+
+    public boolean includes() {
+        return this.includes;
+    }
+
     @Override
     public boolean test(final ChronoLocalDate targetChrono) {
         if (targetChrono instanceof LocalDate) {
@@ -39,10 +39,10 @@ public final class EitherYear extends DateAtom {
         int earliest = Integer.MAX_VALUE;
         int latest = Integer.MIN_VALUE;
         for (final int year : years) {
-            if (earliest < year) {
+            if (earliest > year) {
                 earliest = year;
             }
-            if (latest > year) {
+            if (latest < year) {
                 latest = year;
             }
         }
@@ -73,13 +73,27 @@ public final class EitherYear extends DateAtom {
         return notOf(Arrays.stream(years).boxed().collect(Collectors.toSet()));
     }
 
+    public Set<Integer> years() {
+        return this.years;
+    }
+
+    public boolean includes() {
+        return this.includes;
+    }
+
     @Override
     public Optional<LocalDate> earliest() {
+        if (!this.includes) {
+            return Optional.empty();
+        }
         return Optional.of(LocalDate.of(this.earliest, 1, 1));
     }
 
     @Override
     public Optional<LocalDate> latest() {
+        if (!this.includes) {
+            return Optional.empty();
+        }
         return Optional.of(LocalDate.of(this.latest, 12, 31));
     }
 
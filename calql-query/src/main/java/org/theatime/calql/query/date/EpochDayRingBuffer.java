@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded lock-free ring buffer of epoch days for a single producer thread and a single consumer thread.
+ *
+ * <p>The producer owns {@code tail}, and the consumer owns {@code head}. Each publishes its index by a release store
+ * ({@link AtomicLong#lazySet(long)}) after writing or reading the slot, and reads the other's index by a volatile read.
+ * Each also caches the other's index, and reads it again only when the cache says full or empty, to avoid touching
+ * the other's cache line for every value.
+ *
+ * <p>Epoch days are stored as {@code long}s, and never boxed in the buffer. It holds {@code depth} epoch days at most,
+ * exactly. Its array is rounded up to a power of two only so that a slot is indexed by a mask.
+ */
+final class EpochDayRingBuffer {
+    EpochDayRingBuffer(final int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth must be positive.");
+        }
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("depth must be " + MAX_DEPTH + " or less.");
+        }
+        final int length = Integer.highestOneBit(depth) == depth ? depth : Integer.highestOneBit(depth) << 1;
+        this.buffer = new long[length];
+        this.mask = length - 1;
+        this.depth = depth;
+        this.head = new AtomicLong(0L);
+        this.tail = new AtomicLong(0L);
+        this.cachedHead = 0L;
+        this.cachedTail = 0L;
+    }
+
+    /**
+     * Offers an epoch day from the producer thread.
+     *
+     * @return {@code false} if the buffer is full
+     */
+    boolean offer(final long epochDay) {
+        final long currentTail = this.tail.get();
+        if (currentTail - this.cachedHead >= this.depth) {
+            this.cachedHead = this.head.get();
+            if (currentTail - this.cachedHead >= this.depth) {
+                return false;
+            }
+        }
+        this.buffer[(int) (currentTail & this.mask)] = epochDay;
+        this.tail.lazySet(currentTail + 1L);
+        return true;
+    }
+
+    /**
+     * Polls an epoch day from the consumer thread.
+     *
+     * @return the epoch day, or {@link #EMPTY} if the buffer is empty
+     */
+    long poll() {
+        final long currentHead = this.head.get();
+        if (currentHead >= this.cachedTail) {
+            this.cachedTail = this.tail.get();
+            if (currentHead >= this.cachedTail) {
+                return EMPTY;
+            }
+        }
+        final long epochDay = this.buffer[(int) (currentHead & this.mask)];
+        this.head.lazySet(currentHead + 1L);
+        return epochDay;
+    }
+
+    boolean isEmpty() {
+        return this.head.get() >= this.tail.get();
+    }
+
+    boolean isFull() {
+        return this.tail.get() - this.head.get() >= this.depth;
+    }
+
+    int capacity() {
+        return this.depth;
+    }
+
+    /**
+     * Returned by {@link #poll()} if empty, which is out of the range of epoch days of {@link java.time.LocalDate}.
+     */
+    static final long EMPTY = Long.MIN_VALUE;
+
+    static final int MAX_DEPTH = 1 << 30;
+
+    private final long[] buffer;
+    private final int mask;
+    private final int depth;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+
+    // Accessed only by the producer thread.
+    private long cachedHead;
+
+    // Accessed only by the consumer thread.
+    private long cachedTail;
+}
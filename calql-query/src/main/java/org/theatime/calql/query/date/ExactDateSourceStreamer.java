@@ -18,8 +18,11 @@ package org.theatime.calql.query.date;
 
 import java.time.LocalDate;
 import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Objects;
-import java.util.TreeSet;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.theatime.calql.query.Atom;
 import org.theatime.calql.query.Conjunction;
@@ -48,22 +51,11 @@ public final class ExactDateSourceStreamer implements SourceStreamer<ChronoLocal
             return Stream.<LocalDate>empty();
         }
 
-        final TreeSet<LocalDate> dates = new TreeSet<>();
-        for (final Atom<ChronoLocalDate> atom : conjunction) {
-            if (!(atom instanceof EitherDate)) {
-                continue;
-            }
-            final EitherDate eitherDate = (EitherDate) atom;
-            if (!eitherDate.includes()) {
-                continue;
-            }
-            if (dates.isEmpty()) {
-                dates.addAll(eitherDate.dates());
-            } else {
-                dates.retainAll(eitherDate.dates());
-            }
+        final long[] dates = candidates(conjunction);
+        if (order == Order.FROM_LATEST_TO_EARLIEST) {
+            return IntStream.range(0, dates.length).mapToObj(i -> LocalDate.ofEpochDay(dates[dates.length - 1 - i]));
         }
-        return dates.stream();
+        return Arrays.stream(dates).mapToObj(LocalDate::ofEpochDay);
     }
 
     @Override
@@ -81,6 +73,29 @@ public final class ExactDateSourceStreamer implements SourceStreamer<ChronoLocal
         return false;
     }
 
+    /**
+     * Returns the sorted dates in epoch days which are included in all {@link EitherDate}s of the conjunction.
+     */
+    static long[] candidates(final Conjunction<ChronoLocalDate> conjunction) {
+        // Intersects from the smallest array so that each galloping intersection walks as few elements as possible.
+        final ArrayList<long[]> included = new ArrayList<>();
+        for (final Atom<ChronoLocalDate> atom : conjunction) {
+            if (atom instanceof EitherDate && ((EitherDate) atom).includes()) {
+                included.add(((EitherDate) atom).epochDays());
+            }
+        }
+        if (included.isEmpty()) {
+            return new long[0];
+        }
+        included.sort(Comparator.comparingInt(array -> array.length));
+
+        long[] intersection = included.get(0);
+        for (int i = 1; i < included.size() && intersection.length > 0; i++) {
+            intersection = SortedEpochDays.intersect(intersection, included.get(i));
+        }
+        return intersection;
+    }
+
     private static void requireLocalDate(final Conjunction<ChronoLocalDate> conjunction) {
         for (final Atom<ChronoLocalDate> atom : conjunction) {
             if (atom.unit() != LocalDate.class) {
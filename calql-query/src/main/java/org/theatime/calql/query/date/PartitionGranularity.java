@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Defines granularities of date partitions (year, year-month, and date), and their partition keys.
+ *
+ * <p>They are defined as {@code static} constant variables, not as {@code enum}, in the same way as
+ * {@link org.theatime.calql.query.Order}, and so that each granularity can be typed with its partition key.
+ *
+ * @param <P>  the type of partition keys
+ */
+public final class PartitionGranularity<P extends Comparable<? super P>> {
+    private PartitionGranularity(final String name, final Function<LocalDate, P> keyOf, final UnaryOperator<LocalDate> lastDateOf) {
+        this.name = name;
+        this.keyOf = keyOf;
+        this.lastDateOf = lastDateOf;
+    }
+
+    /**
+     * Returns the key of the partition that contains the date.
+     */
+    P keyOf(final LocalDate date) {
+        return this.keyOf.apply(date);
+    }
+
+    /**
+     * Returns the last date in the partition that contains the date.
+     */
+    LocalDate lastDateOf(final LocalDate date) {
+        return this.lastDateOf.apply(date);
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    public static final PartitionGranularity<Year> YEAR =
+            new PartitionGranularity<>("YEAR", Year::from, date -> date.with(TemporalAdjusters.lastDayOfYear()));
+
+    public static final PartitionGranularity<YearMonth> YEAR_MONTH =
+            new PartitionGranularity<>("YEAR_MONTH", YearMonth::from, date -> date.with(TemporalAdjusters.lastDayOfMonth()));
+
+    public static final PartitionGranularity<LocalDate> DATE =
+            new PartitionGranularity<>("DATE", date -> date, date -> date);
+
+    private final String name;
+    private final Function<LocalDate, P> keyOf;
+    private final UnaryOperator<LocalDate> lastDateOf;
+}
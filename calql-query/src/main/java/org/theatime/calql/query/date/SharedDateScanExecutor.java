@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.theatime.calql.query.Order;
+
+/**
+ * Executes a batch of date queries together by one shared pass over the union of their ranges.
+ *
+ * <p>Queries running one by one walk the calendar independently even if their ranges overlap. This executor walks
+ * each date in the union of the ranges only once instead: it creates the {@link LocalDate} once, and tests it by every
+ * query whose range contains it. Results of each query are delivered in its own order and limit.
+ *
+ * <p>The union of the ranges is split into sub-ranges of consecutive dates, which are scanned in parallel on the
+ * {@link ForkJoinPool}. Results from sub-ranges are concatenated in the order of the sub-ranges.
+ *
+ * <p>The range of a query with a limit is narrowed in advance to its {@code limit}-th match, so that the scan does
+ * not go beyond its last result. The results are truncated by the limit, too.
+ *
+ * <p>Ex. {@code SharedDateScanExecutor.of().execute(List.of(DateQuery.of(f1, order), DateQuery.of(f2, order).withLimit(10L)))}
+ */
+public final class SharedDateScanExecutor {
+    private SharedDateScanExecutor(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public static SharedDateScanExecutor of(final ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool is null.");
+        return new SharedDateScanExecutor(pool);
+    }
+
+    /**
+     * Creates an executor on {@link ForkJoinPool#commonPool()}.
+     */
+    public static SharedDateScanExecutor of() {
+        return new SharedDateScanExecutor(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Executes the queries, and returns their results in the same order as the queries.
+     *
+     * @throws IllegalArgumentException  if a query is not bounded, and no window is given for it
+     */
+    public List<List<LocalDate>> execute(final List<DateQuery> queries) {
+        Objects.requireNonNull(queries, "queries is null.");
+        final int size = queries.size();
+        final DateQuery[] queryArray = new DateQuery[size];
+        final long[] lowers = new long[size];
+        final long[] uppers = new long[size];
+
+        long lower = Long.MAX_VALUE;
+        long upper = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            queryArray[i] = Objects.requireNonNull(queries.get(i), "query is null.");
+            final long[] range = queryArray[i].epochDayRange();
+            if (range == null) {
+                // Nothing to scan for this query. The empty range is never intersected.
+                lowers[i] = Long.MAX_VALUE;
+                uppers[i] = Long.MIN_VALUE;
+                continue;
+            }
+            lowers[i] = range[0];
+            uppers[i] = range[1];
+            lower = Math.min(lower, range[0]);
+            upper = Math.max(upper, range[1]);
+        }
+
+        final ArrayList<List<LocalDate>> results = new ArrayList<>(size);
+        if (lower > upper) {
+            for (int i = 0; i < size; i++) {
+                results.add(Collections.emptyList());
+            }
+            return Collections.unmodifiableList(results);
+        }
+
+        final long span = upper - lower + 1L;
+        final long targetChunks = this.pool.getParallelism() * CHUNKS_PER_THREAD;
+        final long chunkDays = Math.max(MIN_CHUNK_DAYS, (span + targetChunks - 1L) / targetChunks);
+        final int chunks = (int) ((span + chunkDays - 1L) / chunkDays);
+        final Scan scan = new Scan(queryArray, lowers, uppers, lower, upper, chunkDays, chunks);
+        this.pool.invoke(new ScanAction(scan, 0, chunks));
+
+        for (int i = 0; i < size; i++) {
+            results.add(scan.collect(i));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Holds queries and their results per sub-range of a shared scan.
+     */
+    private static final class Scan {
+        @SuppressWarnings("unchecked")
+        Scan(
+                final DateQuery[] queries,
+                final long[] lowers,
+                final long[] uppers,
+                final long lower,
+                final long upper,
+                final long chunkDays,
+                final int chunks) {
+            this.queries = queries;
+            this.lowers = lowers;
+            this.uppers = uppers;
+            this.lower = lower;
+            this.upper = upper;
+            this.chunkDays = chunkDays;
+            this.found = new ArrayList[chunks][];
+        }
+
+        /**
+         * Scans a sub-range, and tests each date only by queries whose ranges contain it.
+         */
+        @SuppressWarnings("unchecked")
+        void scanChunk(final int chunk) {
+            final long start = this.lower + chunk * this.chunkDays;
+            final long end = Math.min(this.upper, start + this.chunkDays - 1L);
+
+            // Queries interested in this sub-range.
+            final int[] active = new int[this.queries.length];
+            int activeCount = 0;
+            for (int i = 0; i < this.queries.length; i++) {
+                if (this.lowers[i] <= end && start <= this.uppers[i]) {
+                    active[activeCount++] = i;
+                }
+            }
+
+            final ArrayList<LocalDate>[] chunkFound = new ArrayList[this.queries.length];
+            if (activeCount > 0) {
+                final DateUnion[] unions = new DateUnion[this.queries.length];
+                for (int k = 0; k < activeCount; k++) {
+                    unions[active[k]] = this.queries[active[k]].matcher().union();
+                }
+                for (long epochDay = start; epochDay <= end; epochDay++) {
+                    final LocalDate date = LocalDate.ofEpochDay(epochDay);
+                    for (int k = 0; k < activeCount; k++) {
+                        final int i = active[k];
+                        if (this.lowers[i] <= epochDay && epochDay <= this.uppers[i] && unions[i].test(date)) {
+                            if (chunkFound[i] == null) {
+                                chunkFound[i] = new ArrayList<>();
+                            }
+                            chunkFound[i].add(date);
+                        }
+                    }
+                }
+            }
+            this.found[chunk] = chunkFound;
+        }
+
+        List<LocalDate> collect(final int query) {
+            final ArrayList<LocalDate> dates = new ArrayList<>();
+            for (final ArrayList<LocalDate>[] chunkFound : this.found) {
+                if (chunkFound[query] != null) {
+                    dates.addAll(chunkFound[query]);
+                }
+            }
+            if (this.queries[query].order() == Order.FROM_LATEST_TO_EARLIEST) {
+                Collections.reverse(dates);
+            }
+            final long limit = this.queries[query].limit().orElse(Long.MAX_VALUE);
+            if (dates.size() > limit) {
+                return Collections.unmodifiableList(new ArrayList<>(dates.subList(0, (int) limit)));
+            }
+            return Collections.unmodifiableList(dates);
+        }
+
+        private final DateQuery[] queries;
+        private final long[] lowers;
+        private final long[] uppers;
+        private final long lower;
+        private final long upper;
+        private final long chunkDays;
+        private final ArrayList<LocalDate>[][] found;
+    }
+
+    private static final class ScanAction extends RecursiveAction {
+        ScanAction(final Scan scan, final int fromChunk, final int toChunk) {
+            this.scan = scan;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.toChunk - this.fromChunk <= 1) {
+                if (this.fromChunk < this.toChunk) {
+                    this.scan.scanChunk(this.fromChunk);
+                }
+                return;
+            }
+            final int middle = (this.fromChunk + this.toChunk) >>> 1;
+            invokeAll(new ScanAction(this.scan, this.fromChunk, middle), new ScanAction(this.scan, middle, this.toChunk));
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Scan scan;
+        private final int fromChunk;
+        private final int toChunk;
+    }
+
+    static final long MIN_CHUNK_DAYS = 512L;
+
+    private static final long CHUNKS_PER_THREAD = 4L;
+
+    private final ForkJoinPool pool;
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.util.Arrays;
+
+/**
+ * Operations on sorted arrays of distinct epoch days.
+ */
+final class SortedEpochDays {
+    private SortedEpochDays() {
+    }
+
+    /**
+     * Intersects two sorted arrays by galloping (exponential) search.
+     *
+     * <p>It walks the smaller array, and gallops in the larger array for each element. It costs {@code O(m log(n / m))}
+     * for {@code m} and {@code n} elements ({@code m <= n}), which is much cheaper than merging when {@code m} is small.
+     */
+    static long[] intersect(final long[] left, final long[] right) {
+        final long[] smaller = left.length <= right.length ? left : right;
+        final long[] larger = left.length <= right.length ? right : left;
+
+        final long[] intersection = new long[smaller.length];
+        int size = 0;
+        int position = 0;
+        for (int i = 0; i < smaller.length && position < larger.length; i++) {
+            position = gallop(larger, position, smaller[i]);
+            if (position < larger.length && larger[position] == smaller[i]) {
+                intersection[size++] = smaller[i];
+                position++;
+            }
+        }
+        return size == intersection.length ? intersection : Arrays.copyOf(intersection, size);
+    }
+
+    /**
+     * Returns the smallest index at or after {@code from} whose element is {@code key} or larger, or {@code sorted.length}.
+     */
+    static int gallop(final long[] sorted, final int from, final long key) {
+        if (from >= sorted.length || sorted[from] >= key) {
+            return from;
+        }
+        // Invariant: sorted[low] < key.
+        int low = from;
+        int step = 1;
+        while (low + step < sorted.length && sorted[low + step] < key) {
+            low += step;
+            step <<= 1;
+        }
+        final int high = Math.min(low + step, sorted.length);
+        final int found = Arrays.binarySearch(sorted, low + 1, high, key);
+        return found >= 0 ? found : -found - 1;
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.DisjunctiveNormalFormula;
+import org.theatime.calql.query.Formula;
+
+/**
+ * Translates a formula of dates into a SQL {@code WHERE} fragment over a date column, so that it can be pushed down to
+ * a relational database.
+ *
+ * <p>Each conjunction is translated into ranges of the column first, such as {@code d BETWEEN DATE '2024-01-01' AND
+ * DATE '2024-03-31'}, which are "sargable", and then can be served by an index on the column. Years and bounds are
+ * always translated into ranges. Months and days of month are expanded into ranges as well when the expansion has
+ * {@code maxRanges} ranges at most. Otherwise, and for days of week, {@code EXTRACT} residuals are added.
+ *
+ * <p>Ex. {@code year in (2023, 2024) AND month in (1, 2) AND dayOfWeek = MONDAY} is translated into:
+ *
+ * <pre>{@code (d BETWEEN DATE '2023-01-01' AND DATE '2023-02-28' OR d BETWEEN DATE '2024-01-01' AND DATE '2024-02-29')
+ * AND EXTRACT(ISO_DAY_OF_WEEK FROM d) = 1}</pre>
+ *
+ * <p>Dates are written in the range of SQL {@code DATE}, from {@code 0001-01-01} to {@code 9999-12-31}. A bound
+ * beyond the range is dropped, as no value of the column can be beyond it, and a date beyond the range never matches.
+ *
+ * <p>The column and the day-of-week expression are written in the fragment as they are. They must not come from
+ * untrusted input. Dates and numbers in the fragment are generated from the formula, and are safe.
+ */
+public final class SqlDatePredicate {
+    private SqlDatePredicate(final String column, final String dayOfWeekExpression, final int maxRanges) {
+        this.column = column;
+        this.dayOfWeekExpression = dayOfWeekExpression;
+        this.maxRanges = maxRanges;
+    }
+
+    /**
+     * Creates a translator over the column, with {@code EXTRACT(ISO_DAY_OF_WEEK FROM column)} for days of week.
+     */
+    public static SqlDatePredicate of(final String column) {
+        Objects.requireNonNull(column, "column is null.");
+        return of(column, "EXTRACT(ISO_DAY_OF_WEEK FROM " + column + ")", DEFAULT_MAX_RANGES);
+    }
+
+    /**
+     * Creates a translator over the column.
+     *
+     * @param column  the date column, written as it is
+     * @param dayOfWeekExpression  the expression of the ISO day of week (1 for Monday to 7 for Sunday) of the column
+     * @param maxRanges  the maximum number of ranges a conjunction can be expanded into
+     */
+    public static SqlDatePredicate of(final String column, final String dayOfWeekExpression, final int maxRanges) {
+        Objects.requireNonNull(column, "column is null.");
+        Objects.requireNonNull(dayOfWeekExpression, "dayOfWeekExpression is null.");
+        if (maxRanges < 1) {
+            throw new IllegalArgumentException("maxRanges must be positive.");
+        }
+        return new SqlDatePredicate(column, dayOfWeekExpression, maxRanges);
+    }
+
+    public String where(final Formula<ChronoLocalDate> formula) {
+        Objects.requireNonNull(formula, "formula is null.");
+        return this.where(formula.toDisjunctiveNormalForm());
+    }
+
+    /**
+     * Translates the formula into a {@code WHERE} fragment, which is {@code 1 = 0} if no date can match.
+     *
+     * @throws IllegalArgumentException  if the formula contains atoms which cannot be translated
+     */
+    public String where(final DisjunctiveNormalFormula<ChronoLocalDate> disjunctiveNormalFormula) {
+        Objects.requireNonNull(disjunctiveNormalFormula, "disjunctiveNormalFormula is null.");
+        final ArrayList<List<String>> branches = new ArrayList<>();
+        for (final Conjunction<ChronoLocalDate> conjunction : disjunctiveNormalFormula) {
+            final DatePattern pattern = DatePattern.of(conjunction);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            final List<String> conditions = this.translate(pattern);
+            if (conditions.isEmpty()) {
+                return TRUE;
+            }
+            if (!branches.contains(conditions)) {
+                branches.add(conditions);
+            }
+        }
+        if (branches.isEmpty()) {
+            return FALSE;
+        }
+        if (branches.size() == 1) {
+            return String.join(" AND ", branches.get(0));
+        }
+        final StringJoiner joiner = new StringJoiner(" OR ");
+        for (final List<String> conditions : branches) {
+            joiner.add(conditions.size() > 1 ? "(" + String.join(" AND ", conditions) + ")" : conditions.get(0));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Translates a pattern into conditions to be joined with {@code AND}, which are empty if any date matches.
+     */
+    private List<String> translate(final DatePattern pattern) {
+        if (!pattern.residuals().isEmpty()) {
+            throw new IllegalArgumentException("conjunction contains atoms which cannot be translated: " + pattern.residuals());
+        }
+
+        if (pattern.includedDates() != null) {
+            // Included dates are exact. No other field is needed.
+            return this.ranges(toRanges(pattern.includedDates()), false);
+        }
+
+        final ArrayList<String> fieldConditions = new ArrayList<>();
+        final List<DateRange> yearRanges = yearRanges(pattern);
+        final List<DateRange> expanded = this.expand(yearRanges, pattern.months(), pattern.daysOfMonth());
+        if (expanded == null) {
+            addIfNotEmpty(fieldConditions, values("EXTRACT(MONTH FROM " + this.column + ")", pattern.months(), 1, 12));
+            addIfNotEmpty(fieldConditions, values("EXTRACT(DAY FROM " + this.column + ")", pattern.daysOfMonth(), 1, 31));
+        }
+        addIfNotEmpty(fieldConditions, values(this.dayOfWeekExpression, pattern.daysOfWeek(), 1, 7));
+
+        final long[] excludedDates = withinSqlDates(pattern.excludedDates());
+        if (excludedDates.length == 1) {
+            fieldConditions.add(this.column + " <> " + literal(excludedDates[0]));
+        } else if (excludedDates.length > 1) {
+            final StringJoiner joiner = new StringJoiner(", ", this.column + " NOT IN (", ")");
+            for (final long epochDay : excludedDates) {
+                joiner.add(literal(epochDay));
+            }
+            fieldConditions.add(joiner.toString());
+        }
+
+        final List<String> conditions = this.ranges(expanded == null ? yearRanges : expanded, !fieldConditions.isEmpty());
+        conditions.addAll(fieldConditions);
+        return conditions;
+    }
+
+    /**
+     * Expands ranges into ranges of allowed months and days of month, or returns {@code null} if it needs too many ranges.
+     */
+    private List<DateRange> expand(final List<DateRange> ranges, final int months, final long daysOfMonth) {
+        if (months == ALL_MONTHS && daysOfMonth == ALL_DAYS_OF_MONTH) {
+            return ranges;
+        }
+        final ArrayList<DateRange> expanded = new ArrayList<>();
+        long runStart = 0L;
+        long runEnd = Long.MIN_VALUE;
+        for (final DateRange range : ranges) {
+            if (range.start().equals(LocalDate.MIN) || range.end().equals(LocalDate.MAX)) {
+                return null;
+            }
+            final long start = range.start().toEpochDay();
+            final long end = range.end().toEpochDay();
+            for (int year = range.start().getYear(); year <= range.end().getYear(); year++) {
+                for (int month = DatePattern.nextBit(months, 1); month > 0; month = DatePattern.nextBit(months, month + 1)) {
+                    final int lengthOfMonth = LocalDate.of(year, month, 1).lengthOfMonth();
+                    int day = DatePattern.nextBit(daysOfMonth, 1);
+                    while (day > 0 && day <= lengthOfMonth) {
+                        final int last = Math.min(DatePattern.lastConsecutiveBit(daysOfMonth, day), lengthOfMonth);
+                        final long from = Math.max(LocalDate.of(year, month, day).toEpochDay(), start);
+                        final long to = Math.min(LocalDate.of(year, month, last).toEpochDay(), end);
+                        if (from <= to) {
+                            if (from == runEnd + 1) {
+                                runEnd = to;
+                            } else {
+                                if (runEnd != Long.MIN_VALUE) {
+                                    expanded.add(DateRange.ofEpochDays(runStart, runEnd));
+                                    if (expanded.size() >= this.maxRanges) {
+                                        return null;
+                                    }
+                                }
+                                runStart = from;
+                                runEnd = to;
+                            }
+                        }
+                        day = DatePattern.nextBit(daysOfMonth, last + 1);
+                    }
+                }
+            }
+        }
+        if (runEnd != Long.MIN_VALUE) {
+            expanded.add(DateRange.ofEpochDays(runStart, runEnd));
+        }
+        return expanded;
+    }
+
+    /**
+     * Translates ranges into a condition in a list, which is parenthesized if it is to be joined with other conditions.
+     */
+    private List<String> ranges(final List<DateRange> ranges, final boolean joined) {
+        final ArrayList<String> disjuncts = new ArrayList<>();
+        final ArrayList<String> singles = new ArrayList<>();
+        for (final DateRange unclamped : ranges) {
+            final DateRange range = clampToSqlDates(unclamped);
+            if (range == null) {
+                continue;
+            }
+            final boolean lower = !range.start().equals(LocalDate.MIN);
+            final boolean upper = !range.end().equals(LocalDate.MAX);
+            if (!lower && !upper) {
+                return new ArrayList<>();
+            }
+            if (range.start().equals(range.end())) {
+                singles.add(literal(range.start()));
+            } else if (lower && upper) {
+                disjuncts.add(this.column + " BETWEEN " + literal(range.start()) + " AND " + literal(range.end()));
+            } else if (lower) {
+                disjuncts.add(this.column + " >= " + literal(range.start()));
+            } else {
+                disjuncts.add(this.column + " <= " + literal(range.end()));
+            }
+        }
+        if (singles.size() == 1) {
+            disjuncts.add(this.column + " = " + singles.get(0));
+        } else if (singles.size() > 1) {
+            disjuncts.add(this.column + " IN (" + String.join(", ", singles) + ")");
+        }
+        final ArrayList<String> conditions = new ArrayList<>();
+        if (disjuncts.isEmpty()) {
+            conditions.add(FALSE);
+        } else if (disjuncts.size() == 1) {
+            conditions.add(disjuncts.get(0));
+        } else if (joined) {
+            conditions.add("(" + String.join(" OR ", disjuncts) + ")");
+        } else {
+            conditions.add(String.join(" OR ", disjuncts));
+        }
+        return conditions;
+    }
+
+    /**
+     * Translates bounds and years into ranges of dates. {@link LocalDate#MIN} and {@link LocalDate#MAX} stand for no bound.
+     */
+    private static List<DateRange> yearRanges(final DatePattern pattern) {
+        final ArrayList<DateRange> ranges = new ArrayList<>();
+        final long lower = pattern.lowerEpochDay();
+        final long upper = pattern.upperEpochDay();
+        final int[] includedYears = pattern.includedYears();
+        if (includedYears != null) {
+            int index = 0;
+            while (index < includedYears.length) {
+                int last = index;
+                while (last + 1 < includedYears.length && includedYears[last + 1] == includedYears[last] + 1) {
+                    last++;
+                }
+                final long from = Math.max(lower, LocalDate.of(includedYears[index], 1, 1).toEpochDay());
+                final long to = Math.min(upper, LocalDate.of(includedYears[last], 12, 31).toEpochDay());
+                if (from <= to) {
+                    ranges.add(DateRange.ofEpochDays(from, to));
+                }
+                index = last + 1;
+            }
+            return ranges;
+        }
+
+        long from = lower;
+        for (final int excludedYear : pattern.excludedYears()) {
+            final long to = Math.min(upper, LocalDate.of(excludedYear, 1, 1).toEpochDay() - 1L);
+            if (from <= to) {
+                ranges.add(DateRange.ofEpochDays(from, to));
+            }
+            from = Math.max(from, LocalDate.of(excludedYear, 12, 31).toEpochDay() + 1L);
+        }
+        if (from <= upper) {
+            ranges.add(DateRange.ofEpochDays(from, upper));
+        }
+        return ranges;
+    }
+
+    private static List<DateRange> toRanges(final long[] epochDays) {
+        final ArrayList<DateRange> ranges = new ArrayList<>();
+        int index = 0;
+        while (index < epochDays.length) {
+            int last = index;
+            while (last + 1 < epochDays.length && epochDays[last + 1] == epochDays[last] + 1L) {
+                last++;
+            }
+            ranges.add(DateRange.ofEpochDays(epochDays[index], epochDays[last]));
+            index = last + 1;
+        }
+        return ranges;
+    }
+
+    /**
+     * Translates allowed values in bits from {@code min} to {@code max} into a condition, or an empty string if all are allowed.
+     */
+    private static String values(final String expression, final long bits, final int min, final int max) {
+        final ArrayList<Integer> allowed = new ArrayList<>();
+        final ArrayList<Integer> disallowed = new ArrayList<>();
+        for (int value = min; value <= max; value++) {
+            if ((bits & (1L << value)) != 0L) {
+                allowed.add(value);
+            } else {
+                disallowed.add(value);
+            }
+        }
+        if (disallowed.isEmpty()) {
+            return "";
+        }
+        if (allowed.size() == 1) {
+            return expression + " = " + allowed.get(0);
+        }
+        final int first = allowed.get(0);
+        final int last = allowed.get(allowed.size() - 1);
+        if (last - first + 1 == allowed.size()) {
+            return expression + " BETWEEN " + first + " AND " + last;
+        }
+        if (disallowed.size() == 1) {
+            return expression + " <> " + disallowed.get(0);
+        }
+        if (disallowed.size() < allowed.size()) {
+            return expression + " NOT IN (" + join(disallowed) + ")";
+        }
+        return expression + " IN (" + join(allowed) + ")";
+    }
+
+    private static String join(final List<Integer> values) {
+        final StringJoiner joiner = new StringJoiner(", ");
+        for (final int value : values) {
+            joiner.add(Integer.toString(value));
+        }
+        return joiner.toString();
+    }
+
+    private static void addIfNotEmpty(final List<String> conditions, final String condition) {
+        if (!condition.isEmpty()) {
+            conditions.add(condition);
+        }
+    }
+
+    private static String literal(final long epochDay) {
+        return literal(LocalDate.ofEpochDay(epochDay));
+    }
+
+    private static String literal(final LocalDate date) {
+        if (date.isBefore(SQL_MIN_DATE) || date.isAfter(SQL_MAX_DATE)) {
+            throw new IllegalArgumentException("date is out of the range of SQL DATE: " + date);
+        }
+        return "DATE '" + date + "'";
+    }
+
+    /**
+     * Clamps a range into the range of SQL {@code DATE}, with {@link LocalDate#MIN} and {@link LocalDate#MAX} for no
+     * bound, or returns {@code null} if the range is entirely out of it.
+     */
+    private static DateRange clampToSqlDates(final DateRange range) {
+        if (range.end().isBefore(SQL_MIN_DATE) || range.start().isAfter(SQL_MAX_DATE)) {
+            return null;
+        }
+        final LocalDate start = range.start().isBefore(SQL_MIN_DATE) ? LocalDate.MIN : range.start();
+        final LocalDate end = range.end().isAfter(SQL_MAX_DATE) ? LocalDate.MAX : range.end();
+        return DateRange.of(start, end);
+    }
+
+    private static long[] withinSqlDates(final long[] epochDays) {
+        final long min = SQL_MIN_DATE.toEpochDay();
+        final long max = SQL_MAX_DATE.toEpochDay();
+        return Arrays.stream(epochDays).filter(epochDay -> min <= epochDay && epochDay <= max).toArray();
+    }
+
+    public static final int DEFAULT_MAX_RANGES = 32;
+
+    private static final String TRUE = "1 = 1";
+    private static final String FALSE = "1 = 0";
+
+    private static final LocalDate SQL_MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate SQL_MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final int ALL_MONTHS = 0x1ffe;
+    private static final long ALL_DAYS_OF_MONTH = 0xfffffffeL;
+
+    private final String column;
+    private final String dayOfWeekExpression;
+    private final int maxRanges;
+}
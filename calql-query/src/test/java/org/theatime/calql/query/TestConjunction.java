@@ -19,11 +19,19 @@ package org.theatime.calql.query;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 import org.theatime.calql.query.date.AfterYear;
 import org.theatime.calql.query.date.BeforeYear;
 import org.theatime.calql.query.date.EitherDate;
+import org.theatime.calql.query.date.EitherDayOfWeek;
 import org.theatime.calql.query.date.EitherMonth;
 import org.theatime.calql.query.date.EitherYear;
 
@@ -99,4 +107,37 @@ public class TestConjunction {
         assertFalse(c.latest().isPresent());
         assertFalse(c.unique().isPresent());
     }
+
+    @Test
+    public void testAdaptive() throws Exception {
+        final Conjunction<ChronoLocalDate> c = Conjunction.of(
+                AfterYear.orEqualTo(1900), EitherMonth.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), EitherDayOfWeek.of(DayOfWeek.MONDAY));
+        // The clock never advances, so that atoms cost the same, and are ordered only by their pass rates, not by timing.
+        final AdaptiveConjunction<ChronoLocalDate> adaptive = AdaptiveConjunction.of(c, 1, 64, () -> 0L);
+        assertEquals(new ArrayList<>(c), adaptive.currentOrder());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final int year = 2000 + thread;
+                futures.add(executor.submit(() -> {
+                    for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+                        assertEquals(c.test(date), adaptive.test(date));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(EitherDayOfWeek.of(DayOfWeek.MONDAY), adaptive.currentOrder().get(0));
+        assertEquals(AfterYear.orEqualTo(1900), adaptive.currentOrder().get(2));
+        for (LocalDate date = LocalDate.of(2010, 1, 1); date.getYear() == 2010; date = date.plusDays(1)) {
+            assertEquals(c.test(date), adaptive.test(date));
+        }
+    }
 }
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.time.chrono.JapaneseDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.date.AfterDayOfMonth;
+import org.theatime.calql.query.date.AfterYear;
+import org.theatime.calql.query.date.BeforeYear;
+import org.theatime.calql.query.date.DateAggregator;
+import org.theatime.calql.query.date.DateAtom;
+import org.theatime.calql.query.date.DefaultDateSourceStreamer;
+import org.theatime.calql.query.date.EitherDate;
+import org.theatime.calql.query.date.EitherDayOfMonth;
+import org.theatime.calql.query.date.EitherDayOfWeek;
+import org.theatime.calql.query.date.EitherMonth;
+import org.theatime.calql.query.date.EitherYear;
+
+public class TestDisjunctiveNormalFormula {
+    @Test
+    public void testToDisjoint() {
+        final DisjunctiveNormalFormula<ChronoLocalDate> formula = DisjunctiveNormalFormula.of(
+                Conjunction.of(AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2022), EitherMonth.of(1, 2, 3)),
+                Conjunction.of(EitherYear.of(2021), EitherDayOfWeek.of(DayOfWeek.MONDAY)),
+                Conjunction.of(AfterYear.orEqualTo(2021), BeforeYear.orEqualTo(2023), AfterDayOfMonth.orEqualTo(25)),
+                Conjunction.of(EitherDate.of(2021, 1, 4), EitherYear.of(2021)),
+                Conjunction.of(EitherYear.of(2030), EitherYear.of(2031)));
+        assertFalse(formula.isDisjoint());
+
+        final DisjunctiveNormalFormula<ChronoLocalDate> disjoint = formula.toDisjoint(100).get();
+        assertTrue(disjoint.isDisjoint());
+        for (LocalDate date = LocalDate.of(2019, 1, 1); date.getYear() <= 2024; date = date.plusDays(1)) {
+            final LocalDate target = date;
+            final long original = formula.stream().filter(conjunction -> conjunction.test(target)).count();
+            final long rewritten = disjoint.stream().filter(conjunction -> conjunction.test(target)).count();
+            assertEquals(original > 0 ? 1L : 0L, rewritten, date.toString());
+        }
+
+        long sum = 0;
+        for (final Conjunction<ChronoLocalDate> conjunction : disjoint) {
+            sum += conjunction.countBy(DateAggregator.of());
+        }
+        assertEquals(formula.countBy(DateAggregator.of()), sum);
+        assertEquals(formula.countBy(DateAggregator.of()), disjoint.countBy(DateAggregator.of()));
+    }
+
+    @Test
+    public void testToDisjointOverBudget() {
+        final DisjunctiveNormalFormula<ChronoLocalDate> formula = DisjunctiveNormalFormula.of(
+                Conjunction.of(AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2022), EitherMonth.of(1, 2, 3)),
+                Conjunction.of(AfterYear.orEqualTo(2021), BeforeYear.orEqualTo(2023), EitherDayOfWeek.of(DayOfWeek.MONDAY)));
+        assertFalse(formula.toDisjoint(2).isPresent());
+        assertTrue(formula.toDisjoint(5).isPresent());
+    }
+
+    @Test
+    public void testTestSharesAtoms() {
+        final AtomicInteger yearTests = new AtomicInteger();
+        final AtomicInteger mondayTests = new AtomicInteger();
+        final Formula<ChronoLocalDate> formula = And.of(
+                new CountingAtom(AfterYear.orEqualTo(2000), yearTests),
+                Or.of(EitherMonth.of(1), EitherMonth.of(2), new CountingAtom(EitherDayOfWeek.of(DayOfWeek.MONDAY), mondayTests)),
+                Or.of(AfterDayOfMonth.orEqualTo(2), new CountingAtom(EitherDayOfWeek.notOf(DayOfWeek.MONDAY), mondayTests)));
+        final DisjunctiveNormalFormula<ChronoLocalDate> dnf = formula.toNegationNormalForm().getDisjunctiveNormalForm();
+        assertEquals(6, dnf.size());
+
+        assertFalse(dnf.test(LocalDate.of(1999, 1, 4)));
+        assertEquals(1, yearTests.get());
+
+        yearTests.set(0);
+        mondayTests.set(0);
+        assertTrue(dnf.test(LocalDate.of(2024, 3, 4)));
+        assertEquals(1, yearTests.get());
+        assertEquals(1, mondayTests.get());
+
+        yearTests.set(0);
+        mondayTests.set(0);
+        assertFalse(dnf.test(LocalDate.of(2024, 3, 1)));
+        assertEquals(1, yearTests.get());
+        assertEquals(1, mondayTests.get());
+
+        for (LocalDate date = LocalDate.of(1999, 1, 1); date.getYear() <= 2001; date = date.plusDays(1)) {
+            final LocalDate target = date;
+            assertEquals(dnf.stream().anyMatch(conjunction -> conjunction.test(target)), dnf.test(date));
+        }
+    }
+
+    @Test
+    public void testTestNonIsoDate() {
+        // A date atom and its negation are both false for a non-ISO date, so they must not share a result.
+        final DisjunctiveNormalFormula<ChronoLocalDate> dnf = Or.of(EitherMonth.of(1), Not.of(EitherMonth.of(1))).toDisjunctiveNormalForm();
+        final JapaneseDate date = JapaneseDate.of(2020, 1, 1);
+        assertEquals(dnf.stream().anyMatch(conjunction -> conjunction.test(date)), dnf.test(date));
+        assertFalse(dnf.test(date));
+        assertTrue(dnf.test(LocalDate.of(2020, 1, 1)));
+    }
+
+    @Test
+    public void testStreamBy() {
+        final DisjunctiveNormalFormula<ChronoLocalDate> formula = DisjunctiveNormalFormula.of(
+                Conjunction.of(EitherYear.of(2024), EitherMonth.of(1, 2)),
+                Conjunction.of(EitherYear.of(2024), EitherDayOfWeek.of(DayOfWeek.MONDAY)),
+                Conjunction.of(EitherDate.of(2023, 12, 31), EitherDate.of(2024, 1, 1)));
+        final List<LocalDate> expected = new ArrayList<>();
+        for (LocalDate date = LocalDate.of(2023, 1, 1); date.getYear() <= 2024; date = date.plusDays(1)) {
+            final LocalDate target = date;
+            if (formula.stream().anyMatch(conjunction -> conjunction.test(target))) {
+                expected.add(date);
+            }
+        }
+
+        try (final Stream<LocalDate> stream = formula.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST)) {
+            assertEquals(expected, stream.collect(Collectors.toList()));
+        }
+        try (final Stream<LocalDate> stream = formula.toDisjoint(100).get().streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST)) {
+            assertEquals(expected, stream.collect(Collectors.toList()));
+        }
+
+        final List<LocalDate> reversed = new ArrayList<>(expected);
+        Collections.reverse(reversed);
+        try (final Stream<LocalDate> stream = formula.toDisjoint(100).get().streamBy(DefaultDateSourceStreamer.of(), Order.FROM_LATEST_TO_EARLIEST)) {
+            assertEquals(reversed, stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testStreamInParallelBy() throws InterruptedException {
+        final DisjunctiveNormalFormula<ChronoLocalDate> formula = DisjunctiveNormalFormula.of(
+                Conjunction.of(AfterYear.orEqualTo(2000), BeforeYear.orEqualTo(2030), EitherDayOfWeek.of(DayOfWeek.MONDAY)),
+                Conjunction.of(AfterYear.orEqualTo(2010), BeforeYear.orEqualTo(2040), AfterDayOfMonth.orEqualTo(25)),
+                Conjunction.of(EitherYear.of(2024), EitherMonth.of(1, 2)),
+                Conjunction.of(EitherDate.of(2023, 12, 31), EitherDate.of(2024, 1, 1)));
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final Order order : List.of(Order.FROM_EARLIEST_TO_LATEST, Order.FROM_LATEST_TO_EARLIEST)) {
+                final List<LocalDate> expected = formula.streamBy(DefaultDateSourceStreamer.of(), order).collect(Collectors.toList());
+                try (final Stream<LocalDate> stream = formula.streamInParallelBy(DefaultDateSourceStreamer.of(), order, pool, 7, 2)) {
+                    assertEquals(expected, stream.collect(Collectors.toList()));
+                }
+                try (final Stream<LocalDate> stream = formula.streamInParallelBy(DefaultDateSourceStreamer.of(), order, pool)) {
+                    assertEquals(expected.subList(0, 100), stream.limit(100L).collect(Collectors.toList()));
+                }
+            }
+
+            // Unbounded conjunctions stop prefetching when the stream is closed.
+            final DisjunctiveNormalFormula<ChronoLocalDate> unbounded = DisjunctiveNormalFormula.of(
+                    Conjunction.of(AfterYear.orEqualTo(2000), EitherDayOfMonth.of(1)),
+                    Conjunction.of(AfterYear.orEqualTo(2000), EitherMonth.of(2), EitherDayOfMonth.of(29)));
+            try (final Stream<LocalDate> stream = unbounded.streamInParallelBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, pool)) {
+                final Iterator<LocalDate> iterator = stream.iterator();
+                assertEquals(LocalDate.of(2000, 1, 1), iterator.next());
+            }
+            assertTrue(pool.awaitQuiescence(10L, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testStreamInParallelByFailure() {
+        final SourceStreamer<ChronoLocalDate, LocalDate> failing = (conjunction, order) -> Stream.iterate(LocalDate.of(2000, 1, 1), date -> {
+            if (date.getYear() >= 2001) {
+                throw new IllegalStateException("failed");
+            }
+            return date.plusDays(1);
+        });
+        final DisjunctiveNormalFormula<ChronoLocalDate> formula = DisjunctiveNormalFormula.of(
+                Conjunction.of(EitherDayOfMonth.of(1)), Conjunction.of(EitherDayOfMonth.of(2)));
+        try (final Stream<LocalDate> stream = formula.streamInParallelBy(failing, Order.FROM_EARLIEST_TO_LATEST, ForkJoinPool.commonPool(), 3, 1)) {
+            final Iterator<LocalDate> iterator = stream.iterator();
+            assertEquals(LocalDate.of(2000, 1, 1), iterator.next());
+            assertThrows(IllegalStateException.class, () -> {
+                while (iterator.hasNext()) {
+                    iterator.next();
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testStreamInParallelByHandsOverPartialChunks() throws Exception {
+        // Each conjunction finds two dates quickly, but its third date takes long, which is blocked here until released.
+        // The merge needs the second dates to stream the first date, but they should not wait for full chunks.
+        final CountDownLatch release = new CountDownLatch(1);
+        final SourceStreamer<ChronoLocalDate, LocalDate> slow = (conjunction, order) -> Stream.of(0, 1, 2).map(years -> {
+            if (years > 1) {
+                try {
+                    release.await();
+                } catch (final InterruptedException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            return LocalDate.of(2000 + years, 1, 1);
+        });
+        final DisjunctiveNormalFormula<ChronoLocalDate> formula = DisjunctiveNormalFormula.of(
+                Conjunction.of(EitherDayOfMonth.of(1)), Conjunction.of(EitherMonth.of(1)));
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try (final Stream<LocalDate> stream = formula.streamInParallelBy(slow, Order.FROM_EARLIEST_TO_LATEST, pool, 256, 4)) {
+            final Iterator<LocalDate> iterator = stream.iterator();
+            final CompletableFuture<LocalDate> first = CompletableFuture.supplyAsync(iterator::next);
+            assertEquals(LocalDate.of(2000, 1, 1), first.get(10L, TimeUnit.SECONDS));
+            release.countDown();
+            assertEquals(List.of(LocalDate.of(2001, 1, 1), LocalDate.of(2002, 1, 1)), List.of(iterator.next(), iterator.next()));
+            assertFalse(iterator.hasNext());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static final class CountingAtom extends DateAtom {
+        CountingAtom(final Atom<ChronoLocalDate> delegate, final AtomicInteger tests) {
+            this.delegate = delegate;
+            this.tests = tests;
+        }
+
+        @Override
+        public boolean test(final ChronoLocalDate date) {
+            this.tests.incrementAndGet();
+            return this.delegate.test(date);
+        }
+
+        @Override
+        public DateAtom negate() {
+            return new CountingAtom(this.delegate.negate(), this.tests);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(CountingAtom.class, this.delegate);
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            return otherObject instanceof CountingAtom && this.delegate.equals(((CountingAtom) otherObject).delegate);
+        }
+
+        @Override
+        public String toString() {
+            return this.delegate.toString();
+        }
+
+        private final Atom<ChronoLocalDate> delegate;
+        private final AtomicInteger tests;
+    }
+}
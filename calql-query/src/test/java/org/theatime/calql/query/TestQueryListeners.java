@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.date.AfterYear;
+import org.theatime.calql.query.date.BeforeYear;
+import org.theatime.calql.query.date.DefaultDateSourceStreamer;
+import org.theatime.calql.query.date.EitherDayOfWeek;
+import org.theatime.calql.query.date.EitherMonth;
+
+public class TestQueryListeners {
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(QueryListeners.isEnabled());
+    }
+
+    @Test
+    public void testCounters() {
+        final QueryCounters counters = QueryCounters.of();
+        QueryListeners.register(counters);
+        try {
+            assertTrue(QueryListeners.isEnabled());
+            final DisjunctiveNormalFormula<ChronoLocalDate> dnf = And.of(
+                    AfterYear.orEqualTo(2024), BeforeYear.orEqualTo(2024), Or.of(EitherMonth.of(1), EitherDayOfWeek.of(DayOfWeek.MONDAY)))
+                    .toDisjunctiveNormalForm();
+            assertEquals(1, counters.normalizations());
+            assertEquals(2, counters.normalizedConjunctions());
+
+            final List<LocalDate> dates;
+            try (final Stream<LocalDate> stream = dnf.get(0).streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST)) {
+                dates = stream.collect(Collectors.toList());
+            }
+            assertEquals(31, dates.size());
+            assertEquals(1, counters.streams());
+            assertEquals(366, counters.candidatesScanned());
+            assertEquals(31, counters.matchesEmitted());
+            assertEquals(Collections.singletonMap("NaiveDateSourceStreamer", 1L), counters.streamersChosen());
+
+            // Finished only once even if closed after exhausted.
+            try (final Stream<LocalDate> stream = dnf.get(1).streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST)) {
+                assertEquals(LocalDate.of(2024, 1, 1), stream.findFirst().get());
+            }
+            assertEquals(2, counters.streams());
+            assertEquals(367, counters.candidatesScanned());
+            assertEquals(32, counters.matchesEmitted());
+        } finally {
+            QueryListeners.unregister(counters);
+        }
+        assertFalse(QueryListeners.isEnabled());
+    }
+
+    @Test
+    public void testFlightRecorder() throws Exception {
+        final FlightRecorderQueryListener listener = FlightRecorderQueryListener.of();
+        final Path file = Files.createTempFile("calql", ".jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable("org.theatime.calql.Normalization");
+            recording.enable("org.theatime.calql.Stream");
+            recording.start();
+            QueryListeners.register(listener);
+            try {
+                final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(AfterYear.orEqualTo(2024), EitherMonth.of(2));
+                Or.of(conjunction.get(0), conjunction.get(1)).toDisjunctiveNormalForm();
+                try (final Stream<LocalDate> stream = conjunction.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST)) {
+                    assertEquals(5, stream.limit(5).count());
+                }
+            } finally {
+                QueryListeners.unregister(listener);
+            }
+            recording.stop();
+            recording.dump(file);
+
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            final RecordedEvent normalization = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("org.theatime.calql.Normalization")).findFirst().get();
+            assertEquals(2, normalization.getInt("conjunctions"));
+            final RecordedEvent stream = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("org.theatime.calql.Stream")).findFirst().get();
+            assertEquals(5L, stream.getLong("matchesEmitted"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.date.AfterYear;
+import org.theatime.calql.query.date.BeforeYear;
+import org.theatime.calql.query.date.DefaultDateSourceStreamer;
+import org.theatime.calql.query.date.EitherDayOfMonth;
+import org.theatime.calql.query.date.EitherDayOfWeek;
+import org.theatime.calql.query.date.EitherMonth;
+
+public class TestQueryPublisher {
+    @Test
+    public void testExactDemand() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(AfterYear.orEqualTo(2000), EitherDayOfMonth.of(1));
+            final RecordingSubscriber<LocalDate> subscriber = new RecordingSubscriber<>();
+            conjunction.publishBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, executor).subscribe(subscriber);
+
+            subscriber.subscription.request(3L);
+            quiesce(executor);
+            assertEquals(List.of(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 2, 1), LocalDate.of(2000, 3, 1)), subscriber.values);
+
+            // More than signals in one task, which yields the executor in the middle.
+            subscriber.subscription.request(1000L);
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+            while (subscriber.values.size() < 1003 && System.nanoTime() < deadline) {
+                quiesce(executor);
+            }
+            quiesce(executor);
+            assertEquals(1003, subscriber.values.size());
+            assertEquals(LocalDate.of(2083, 7, 1), subscriber.values.get(1002));
+            assertEquals(1L, subscriber.completed.getCount());
+            subscriber.subscription.cancel();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testComplete() {
+        final DisjunctiveNormalFormula<ChronoLocalDate> formula = DisjunctiveNormalFormula.of(
+                Conjunction.of(AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2020), EitherDayOfWeek.of(DayOfWeek.MONDAY)),
+                Conjunction.of(AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2020), EitherDayOfWeek.of(DayOfWeek.FRIDAY)));
+        final RecordingSubscriber<LocalDate> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+        // Runs on the caller thread to test signals requested from inside onSubscribe.
+        formula.publishBy(DefaultDateSourceStreamer.of(), Order.FROM_LATEST_TO_EARLIEST, Runnable::run).subscribe(subscriber);
+
+        final List<LocalDate> expected = formula.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_LATEST_TO_EARLIEST).collect(Collectors.toList());
+        assertEquals(104, expected.size());
+        assertEquals(expected, subscriber.values);
+        assertEquals(0L, subscriber.completed.getCount());
+    }
+
+    @Test
+    public void testCancelStopsScanning() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // February 30 never exists, and the source streamer scans forever.
+            final Conjunction<ChronoLocalDate> impossible = Conjunction.of(AfterYear.orEqualTo(2000), EitherMonth.of(2), EitherDayOfMonth.of(30));
+            final RecordingSubscriber<LocalDate> subscriber = new RecordingSubscriber<>();
+            impossible.publishBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, executor).subscribe(subscriber);
+            subscriber.subscription.request(1L);
+            Thread.sleep(50L);
+            subscriber.subscription.cancel();
+
+            quiesce(executor);
+            assertTrue(subscriber.values.isEmpty());
+            assertEquals(1L, subscriber.completed.getCount());
+            assertTrue(subscriber.errors.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBatches() {
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(
+                AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2020), EitherDayOfWeek.of(DayOfWeek.MONDAY));
+        final Flow.Publisher<List<LocalDate>> publisher = QueryPublisher.ofBatches(
+                cancellation -> {
+                    final Stream<LocalDate> stream = conjunction.streamBy(
+                            DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none().withCancellation(cancellation));
+                    return stream.onClose(() -> closed.set(true));
+                },
+                Runnable::run,
+                20);
+
+        final RecordingSubscriber<List<LocalDate>> subscriber = new RecordingSubscriber<>(2L);
+        publisher.subscribe(subscriber);
+        assertEquals(2, subscriber.values.size());
+        assertEquals(20, subscriber.values.get(1).size());
+        assertEquals(LocalDate.of(2020, 1, 6), subscriber.values.get(0).get(0));
+
+        subscriber.subscription.request(10L);
+        assertEquals(3, subscriber.values.size());
+        assertEquals(12, subscriber.values.get(2).size());
+        assertEquals(0L, subscriber.completed.getCount());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testIllegalRequest() {
+        final RecordingSubscriber<LocalDate> subscriber = new RecordingSubscriber<>();
+        Conjunction.<ChronoLocalDate>of(EitherDayOfMonth.of(1)).publishBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, Runnable::run)
+                .subscribe(subscriber);
+        subscriber.subscription.request(0L);
+        assertEquals(1, subscriber.errors.size());
+        assertTrue(subscriber.errors.get(0) instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testRejectedClosesStream() {
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final AtomicInteger tasks = new AtomicInteger(0);
+        final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(AfterYear.orEqualTo(2000), EitherDayOfMonth.of(1));
+        final QueryPublisher<LocalDate> publisher = QueryPublisher.of(
+                cancellation -> conjunction.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST).onClose(() -> closed.set(true)),
+                task -> {
+                    // Rejects the next task submitted to yield the executor, after the stream is opened in the first task.
+                    if (tasks.getAndIncrement() > 0) {
+                        throw new RejectedExecutionException();
+                    }
+                    task.run();
+                });
+
+        final RecordingSubscriber<LocalDate> subscriber = new RecordingSubscriber<>(QueryPublisher.MAX_SIGNALS_PER_TASK + 1L);
+        publisher.subscribe(subscriber);
+        assertEquals(QueryPublisher.MAX_SIGNALS_PER_TASK, subscriber.values.size());
+        assertEquals(1, subscriber.errors.size());
+        assertTrue(subscriber.errors.get(0) instanceof RejectedExecutionException);
+        assertTrue(closed.get());
+    }
+
+    private static void quiesce(final ExecutorService executor) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(latch::countDown);
+        assertTrue(latch.await(10L, TimeUnit.SECONDS));
+    }
+
+    private static final class RecordingSubscriber<E> implements Flow.Subscriber<E> {
+        RecordingSubscriber() {
+            this(0L);
+        }
+
+        RecordingSubscriber(final long initialRequest) {
+            this.initialRequest = initialRequest;
+            this.values = Collections.synchronizedList(new ArrayList<>());
+            this.errors = Collections.synchronizedList(new ArrayList<>());
+            this.completed = new CountDownLatch(1);
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (this.initialRequest > 0L) {
+                subscription.request(this.initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(final E value) {
+            this.values.add(value);
+        }
+
+        @Override
+        public void onError(final Throwable ex) {
+            this.errors.add(ex);
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed.countDown();
+        }
+
+        private final long initialRequest;
+        private final List<E> values;
+        private final List<Throwable> errors;
+        private final CountDownLatch completed;
+
+        private volatile Flow.Subscription subscription;
+    }
+}
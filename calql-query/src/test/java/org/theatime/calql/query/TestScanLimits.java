@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.date.AfterYear;
+import org.theatime.calql.query.date.BeforeYear;
+import org.theatime.calql.query.date.DefaultDateSourceStreamer;
+import org.theatime.calql.query.date.EitherDate;
+import org.theatime.calql.query.date.EitherDayOfMonth;
+import org.theatime.calql.query.date.EitherDayOfWeek;
+import org.theatime.calql.query.date.EitherMonth;
+
+public class TestScanLimits {
+    @Test
+    public void testMaxCandidates() {
+        // February 30 never exists, but the source streamer scans forever because it is unbounded.
+        final Conjunction<ChronoLocalDate> impossible = Conjunction.of(AfterYear.orEqualTo(2000), EitherMonth.of(2), EitherDayOfMonth.of(30));
+        final ScanLimitExceededException ex = assertThrows(ScanLimitExceededException.class, () -> {
+            impossible.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none().withMaxCandidates(1000L)).count();
+        });
+        assertSame(ScanLimitExceededException.Reason.MAX_CANDIDATES_EXCEEDED, ex.reason());
+        assertEquals(1000L, ex.scanned());
+    }
+
+    @Test
+    public void testWithinLimits() {
+        final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(
+                AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2020), EitherDayOfWeek.of(DayOfWeek.MONDAY));
+        // The source ends at the 366th candidate exactly.
+        final List<LocalDate> dates = conjunction.streamBy(
+                DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none().withMaxCandidates(366L)).collect(Collectors.toList());
+        assertEquals(52, dates.size());
+
+        assertThrows(ScanLimitExceededException.class, () -> {
+            conjunction.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none().withMaxCandidates(365L)).count();
+        });
+    }
+
+    @Test
+    public void testDeadline() {
+        final Conjunction<ChronoLocalDate> impossible = Conjunction.of(AfterYear.orEqualTo(2000), EitherMonth.of(2), EitherDayOfMonth.of(30));
+        final ScanLimitExceededException ex = assertThrows(ScanLimitExceededException.class, () -> {
+            impossible.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none().withTimeout(Duration.ofMillis(50L))).count();
+        });
+        assertSame(ScanLimitExceededException.Reason.DEADLINE_EXCEEDED, ex.reason());
+
+        final ScanLimitExceededException past = assertThrows(ScanLimitExceededException.class, () -> {
+            impossible.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST,
+                                ScanLimits.none().withDeadline(Instant.now().minusSeconds(1L))).count();
+        });
+        assertEquals(0L, past.scanned());
+    }
+
+    @Test
+    public void testCancellation() {
+        final CancellationToken cancellation = CancellationToken.of();
+        final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(AfterYear.orEqualTo(2000), EitherDayOfMonth.of(1));
+        try (final Stream<LocalDate> stream = conjunction.streamBy(
+                DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none().withCancellation(cancellation))) {
+            final Iterator<LocalDate> iterator = stream.iterator();
+            assertEquals(LocalDate.of(2000, 1, 1), iterator.next());
+            assertEquals(LocalDate.of(2000, 2, 1), iterator.next());
+            cancellation.cancel();
+            final ScanLimitExceededException ex = assertThrows(ScanLimitExceededException.class, iterator::next);
+            assertSame(ScanLimitExceededException.Reason.CANCELLED, ex.reason());
+        }
+
+        // Cancelled by either of two tokens.
+        final CancellationToken another = CancellationToken.of();
+        final ScanLimits limits = ScanLimits.none().withCancellation(CancellationToken.of()).withCancellation(another);
+        another.cancel();
+        assertThrows(ScanLimitExceededException.class, () -> {
+            conjunction.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, limits).count();
+        });
+    }
+
+    @Test
+    public void testSharedAmongConjunctions() {
+        final DisjunctiveNormalFormula<ChronoLocalDate> formula = DisjunctiveNormalFormula.of(
+                Conjunction.of(AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2020), EitherDayOfWeek.of(DayOfWeek.MONDAY)),
+                Conjunction.of(AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2020), EitherDayOfWeek.of(DayOfWeek.FRIDAY)));
+        assertEquals(104L, formula.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none()).count());
+        final ScanLimitExceededException ex = assertThrows(ScanLimitExceededException.class, () -> {
+            formula.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none().withMaxCandidates(500L)).count();
+        });
+        assertEquals(500L, ex.scanned());
+        assertTrue(ScanLimits.none().isUnlimited());
+    }
+
+    @Test
+    public void testThrownFromStreamOfDisjunctiveNormalFormula() {
+        // February 30 never exists, so the first conjunction scans until the limit.
+        final DisjunctiveNormalFormula<ChronoLocalDate> formula = DisjunctiveNormalFormula.of(
+                Conjunction.of(AfterYear.orEqualTo(2000), EitherMonth.of(2), EitherDayOfMonth.of(30)),
+                Conjunction.of(EitherDate.of(LocalDate.of(2001, 1, 1))));
+        final Stream<LocalDate> stream = formula.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none().withMaxCandidates(1000L));
+        assertThrows(ScanLimitExceededException.class, () -> {
+            stream.findFirst();
+        });
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.Order;
+
+public class TestAdaptiveDateSourceStreamer {
+    @Test
+    public void testSwitchesBetweenDenseAndSparse() {
+        // Dense in the first quarter of each year, and no match in the rest.
+        final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(
+                AfterYear.orEqualTo(2000), BeforeYear.orEqualTo(2009), EitherMonth.of(1, 2, 3), EitherDayOfWeek.notOf(DayOfWeek.SUNDAY));
+        assertSameAsScanning(conjunction);
+
+        final AdaptiveDateSourceStreamer.AdaptiveIterator iterator =
+                new AdaptiveDateSourceStreamer.AdaptiveIterator(DatePattern.of(conjunction), true);
+        for (int i = 0; i < 70; i++) {
+            iterator.next();
+        }
+        assertTrue(iterator.isScanning());
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        assertTrue(iterator.switches() >= 10);
+    }
+
+    @Test
+    public void testSparse() {
+        final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(
+                AfterYear.orEqualTo(1900), BeforeYear.orEqualTo(2099), EitherMonth.of(2), EitherDayOfMonth.of(29));
+        assertSameAsScanning(conjunction);
+
+        final AdaptiveDateSourceStreamer.AdaptiveIterator iterator =
+                new AdaptiveDateSourceStreamer.AdaptiveIterator(DatePattern.of(conjunction), true);
+        while (iterator.hasNext()) {
+            iterator.next();
+            assertFalse(iterator.isScanning());
+        }
+        assertEquals(0, iterator.switches());
+    }
+
+    @Test
+    public void testExactDates() {
+        assertSameAsScanning(Conjunction.of(
+                EitherDate.of(LocalDate.of(1972, 2, 27), LocalDate.of(1973, 1, 18), LocalDate.of(1974, 10, 8)),
+                EitherDayOfWeek.notOf(DayOfWeek.THURSDAY)));
+    }
+
+    private static void assertSameAsScanning(final Conjunction<ChronoLocalDate> conjunction) {
+        final ArrayList<LocalDate> expected = new ArrayList<>();
+        for (LocalDate date = LocalDate.of(1899, 1, 1); date.getYear() <= 2100; date = date.plusDays(1)) {
+            if (conjunction.test(date)) {
+                expected.add(date);
+            }
+        }
+        assertEquals(expected, conjunction.streamBy(AdaptiveDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST).collect(Collectors.toList()));
+
+        final List<LocalDate> reversed = conjunction.streamBy(AdaptiveDateSourceStreamer.of(), Order.FROM_LATEST_TO_EARLIEST).collect(Collectors.toList());
+        Collections.reverse(reversed);
+        assertEquals(expected, reversed);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.DisjunctiveNormalFormula;
+
+public class TestDateAggregator {
+    @Test
+    public void testMondays() {
+        final Conjunction<ChronoLocalDate> c = Conjunction.of(
+                AfterYear.orEqualTo(1900), BeforeYear.orEqualTo(2100), EitherDayOfWeek.of(DayOfWeek.MONDAY));
+        assertEquals(bruteForceCount(c, 1900, 2100), c.countBy(DateAggregator.of()));
+        assertEquals(LocalDate.of(1900, 1, 1), c.firstBy(DateAggregator.of()).get());
+        assertEquals(LocalDate.of(2100, 12, 27), c.lastBy(DateAggregator.of()).get());
+    }
+
+    @Test
+    public void testFridayThe13th() {
+        final Conjunction<ChronoLocalDate> c = Conjunction.of(
+                AfterYear.orEqualTo(2001), BeforeYear.orEqualTo(2100), EitherDayOfMonth.of(13), EitherDayOfWeek.of(DayOfWeek.FRIDAY));
+        assertEquals(172L, c.countBy(DateAggregator.of()));
+        assertEquals(bruteForceCount(c, 2001, 2100), c.countBy(DateAggregator.of()));
+        assertEquals(LocalDate.of(2001, 4, 13), c.firstBy(DateAggregator.of()).get());
+    }
+
+    @Test
+    public void testMultipleCenturies() {
+        final Conjunction<ChronoLocalDate> c = Conjunction.of(
+                AfterYear.of(1582), BeforeYear.of(3456), EitherMonth.of(2), AfterDayOfMonth.of(27),
+                EitherYear.notOf(2000, 2004), EitherDate.notOf(LocalDate.of(2400, 2, 29)));
+        assertEquals(bruteForceCount(c, 1583, 3455), c.countBy(DateAggregator.of()));
+    }
+
+    @Test
+    public void testImpossible() {
+        final Conjunction<ChronoLocalDate> c = Conjunction.of(EitherMonth.of(2), EitherDayOfMonth.of(30));
+        assertEquals(0L, c.countBy(DateAggregator.of()));
+        assertFalse(c.firstBy(DateAggregator.of()).isPresent());
+        assertFalse(c.lastBy(DateAggregator.of()).isPresent());
+    }
+
+    @Test
+    public void testUnbounded() {
+        final Conjunction<ChronoLocalDate> c = Conjunction.of(AfterYear.orEqualTo(1970), EitherMonth.of(6));
+        assertThrows(IllegalArgumentException.class, () -> c.countBy(DateAggregator.of()));
+        assertEquals(LocalDate.of(1970, 6, 1), c.firstBy(DateAggregator.of()).get());
+    }
+
+    @Test
+    public void testDisjunctiveNormalFormula() {
+        final DisjunctiveNormalFormula<ChronoLocalDate> dnf = DisjunctiveNormalFormula.of(
+                Conjunction.of(AfterYear.orEqualTo(1990), BeforeYear.orEqualTo(2030), EitherDayOfWeek.of(DayOfWeek.SUNDAY)),
+                Conjunction.of(AfterYear.orEqualTo(2000), BeforeYear.orEqualTo(2050), EitherDayOfMonth.of(1)),
+                Conjunction.of(EitherYear.of(2020), EitherMonth.of(12)));
+        assertEquals(bruteForceCount(dnf, 1990, 2050), dnf.countBy(DateAggregator.of()));
+        assertEquals(bruteForceCount(dnf, 1990, 2050), dnf.countBy(DateAggregator.withMaxInclusionExclusionTerms(0)));
+        assertEquals(LocalDate.of(1990, 1, 7), dnf.firstBy(DateAggregator.of()).get());
+        assertEquals(LocalDate.of(2050, 12, 1), dnf.lastBy(DateAggregator.of()).get());
+
+        final SortedMap<Year, Long> byYear = DateAggregator.of().countByYear(dnf);
+        assertEquals(bruteForceCountByYear(dnf, 1990, 2050), byYear);
+        assertEquals(byYear, DateAggregator.withMaxInclusionExclusionTerms(0).countByYear(dnf));
+    }
+
+    @Test
+    public void testCountByYearMonth() {
+        final Conjunction<ChronoLocalDate> c = Conjunction.of(
+                EitherYear.of(2024), EitherDayOfWeek.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), BeforeMonth.orEqualTo(3));
+        final SortedMap<YearMonth, Long> counts = DateAggregator.of().countByYearMonth(c);
+        assertEquals(3, counts.size());
+        assertEquals(8L, counts.get(YearMonth.of(2024, 1)));
+        assertEquals(8L, counts.get(YearMonth.of(2024, 2)));
+        assertEquals(10L, counts.get(YearMonth.of(2024, 3)));
+    }
+
+    @Test
+    public void testCountByYearWithoutMatch() {
+        // February 30 never exists. The pattern is unbounded, but it does not need to walk years up to the maximum.
+        final Conjunction<ChronoLocalDate> c = Conjunction.of(AfterYear.orEqualTo(2000), EitherMonth.of(2), EitherDayOfMonth.of(30));
+        assertTrue(DateAggregator.of().countByYear(c).isEmpty());
+        assertTrue(DateAggregator.of().countByYearMonth(c).isEmpty());
+    }
+
+    @Test
+    public void testExactDates() {
+        final Conjunction<ChronoLocalDate> c = Conjunction.of(
+                EitherDate.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 6), LocalDate.of(2025, 1, 4)),
+                EitherDayOfWeek.of(DayOfWeek.SATURDAY));
+        assertEquals(2L, c.countBy(DateAggregator.of()));
+        assertEquals(LocalDate.of(2024, 1, 6), c.firstBy(DateAggregator.of()).get());
+        assertEquals(LocalDate.of(2025, 1, 4), c.lastBy(DateAggregator.of()).get());
+    }
+
+    @Test
+    public void testResidual() {
+        final Conjunction<ChronoLocalDate> c = Conjunction.of(
+                AfterYear.orEqualTo(2000), BeforeYear.orEqualTo(2009), EitherMonth.of(1), new EvenDayOfYear());
+        assertEquals(bruteForceCount(c, 2000, 2009), c.countBy(DateAggregator.of()));
+        assertEquals(Optional.of(LocalDate.of(2000, 1, 2)), c.firstBy(DateAggregator.of()));
+    }
+
+    private static long bruteForceCount(final Conjunction<ChronoLocalDate> conjunction, final int fromYear, final int toYear) {
+        long count = 0L;
+        for (LocalDate date = LocalDate.of(fromYear, 1, 1); date.getYear() <= toYear; date = date.plusDays(1)) {
+            if (conjunction.test(date)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long bruteForceCount(final DisjunctiveNormalFormula<ChronoLocalDate> dnf, final int fromYear, final int toYear) {
+        return bruteForceCountByYear(dnf, fromYear, toYear).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static SortedMap<Year, Long> bruteForceCountByYear(
+            final DisjunctiveNormalFormula<ChronoLocalDate> dnf, final int fromYear, final int toYear) {
+        final TreeMap<Year, Long> counts = new TreeMap<>();
+        for (LocalDate date = LocalDate.of(fromYear, 1, 1); date.getYear() <= toYear; date = date.plusDays(1)) {
+            for (final Conjunction<ChronoLocalDate> conjunction : dnf) {
+                if (conjunction.test(date)) {
+                    counts.merge(Year.of(date.getYear()), 1L, Long::sum);
+                    break;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static final class EvenDayOfYear extends DateAtom {
+        @Override
+        public boolean test(final ChronoLocalDate target) {
+            return target instanceof LocalDate && ((LocalDate) target).getDayOfYear() % 2 == 0;
+        }
+
+        @Override
+        public DateAtom negate() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.And;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.Order;
+
+public class TestDateCursor {
+    @Test
+    public void testPaginateAndResume() {
+        final DateCursor cursor = DateCursor.of(newMatcher(), Order.FROM_EARLIEST_TO_LATEST, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        assertEquals(Arrays.asList(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8)), take(cursor, 2));
+
+        // Resumed on "another node" with a newly compiled matcher from the encoded token.
+        final String encoded = cursor.token().encode();
+        final DateCursor resumed = DateCursor.resume(newMatcher(), ContinuationToken.decode(encoded));
+        assertEquals(Arrays.asList(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 22)), take(resumed, 2));
+        assertEquals(LocalDate.of(2024, 12, 30), resumed.stream().reduce((first, second) -> second).get());
+        assertFalse(resumed.hasNext());
+        assertFalse(DateCursor.resume(newMatcher(), resumed.token()).hasNext());
+    }
+
+    @Test
+    public void testReverseWindow() {
+        final DateCursor cursor = DateCursor.of(newMatcher(), Order.FROM_LATEST_TO_EARLIEST, LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 31));
+        assertEquals(
+                Arrays.asList(LocalDate.of(2024, 1, 29), LocalDate.of(2024, 1, 22), LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 8)),
+                cursor.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSeek() {
+        final DateCursor cursor = DateCursor.of(newMatcher(), Order.FROM_EARLIEST_TO_LATEST);
+        cursor.seek(LocalDate.of(2030, 6, 1));
+        assertEquals(LocalDate.of(2030, 6, 3), cursor.next());
+        cursor.seek(LocalDate.of(1999, 12, 31));
+        assertEquals(LocalDate.of(2000, 1, 3), cursor.next());
+    }
+
+    @Test
+    public void testSkip() {
+        final DateCursor cursor = DateCursor.of(newMatcher(), Order.FROM_EARLIEST_TO_LATEST, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        assertEquals(LocalDate.of(2024, 1, 1), cursor.next());
+        assertEquals(Arrays.asList(LocalDate.of(2024, 3, 18), LocalDate.of(2024, 3, 25)), take(cursor.skip(10), 2));
+        assertEquals(LocalDate.of(2024, 12, 30), cursor.skip(39).next());
+        assertFalse(cursor.skip(1).hasNext());
+
+        final DateCursor reverse = DateCursor.of(newMatcher(), Order.FROM_LATEST_TO_EARLIEST, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        assertEquals(LocalDate.of(2024, 10, 14), reverse.skip(11).next());
+        assertFalse(reverse.skip(41).hasNext());
+    }
+
+    @Test
+    public void testWindowWithResidual() {
+        // Seeking is bounded by the window, while the residual atom cannot bound it by years.
+        final DateMatcher matcher = DateMatcher.of(And.of(AfterYear.orEqualTo(1900), new FifteenthIn2020()));
+        final DateCursor cursor = DateCursor.of(matcher, Order.FROM_EARLIEST_TO_LATEST, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+        assertEquals(12L, cursor.stream().count());
+        assertFalse(cursor.hasNext());
+
+        final DateCursor reverse = DateCursor.of(matcher, Order.FROM_LATEST_TO_EARLIEST, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+        assertEquals(LocalDate.of(2020, 12, 15), reverse.next());
+        assertEquals(11L, reverse.stream().count());
+        assertFalse(DateCursor.of(matcher, Order.FROM_LATEST_TO_EARLIEST, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 14)).hasNext());
+    }
+
+    @Test
+    public void testSkipWithResidual() {
+        final DateMatcher matcher = DateMatcher.of(And.of(AfterYear.orEqualTo(1900), new FifteenthIn2020()));
+        final DateCursor cursor = DateCursor.of(matcher, Order.FROM_EARLIEST_TO_LATEST, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+        assertEquals(LocalDate.of(2020, 11, 15), cursor.skip(10).next());
+        assertFalse(cursor.skip(20).hasNext());
+
+        final DateCursor reverse = DateCursor.of(matcher, Order.FROM_LATEST_TO_EARLIEST, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+        assertEquals(LocalDate.of(2020, 2, 15), reverse.skip(10).next());
+        assertFalse(reverse.skip(20).hasNext());
+    }
+
+    @Test
+    public void testSerializable() throws Exception {
+        final DateCursor cursor = DateCursor.of(newMatcher(), Order.FROM_EARLIEST_TO_LATEST).seek(LocalDate.of(2024, 2, 1));
+        cursor.next();
+        final ContinuationToken token = cursor.token();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(token);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(token, in.readObject());
+        }
+    }
+
+    @Test
+    public void testTokenForAnotherFormula() {
+        final ContinuationToken token = DateCursor.of(newMatcher(), Order.FROM_EARLIEST_TO_LATEST).token();
+        final DateMatcher another = DateMatcher.of(Conjunction.of(EitherDayOfWeek.of(DayOfWeek.TUESDAY)));
+        assertThrows(IllegalArgumentException.class, () -> DateCursor.resume(another, token));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode("invalid"));
+    }
+
+    @Test
+    public void testTokenForAnotherResidual() {
+        final DateMatcher byThree = DateMatcher.of(Conjunction.of(EitherDayOfWeek.of(DayOfWeek.MONDAY), new DayOfYearDivisibleBy(3)));
+        final DateMatcher byFive = DateMatcher.of(Conjunction.of(EitherDayOfWeek.of(DayOfWeek.MONDAY), new DayOfYearDivisibleBy(5)));
+        final ContinuationToken token = DateCursor.of(byThree, Order.FROM_EARLIEST_TO_LATEST, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)).token();
+        DateCursor.resume(DateMatcher.of(Conjunction.of(EitherDayOfWeek.of(DayOfWeek.MONDAY), new DayOfYearDivisibleBy(3))), token);
+        assertThrows(IllegalArgumentException.class, () -> DateCursor.resume(byFive, token));
+    }
+
+    @Test
+    public void testDecodeInvalidToken() {
+        final long fingerprint = newMatcher().fingerprint();
+        final long day = LocalDate.of(2024, 1, 1).toEpochDay();
+        assertEquals(day, ContinuationToken.decode(encode(fingerprint, day, day, day + 10L)).positionEpochDay());
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode(encode(fingerprint, Long.MAX_VALUE, day, day + 10L)));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode(encode(fingerprint, day, Long.MIN_VALUE, day + 10L)));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode(encode(fingerprint, day, day + 1L, day + 10L)));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode(encode(fingerprint, day, day + 10L, day)));
+    }
+
+    private static DateMatcher newMatcher() {
+        return DateMatcher.of(Conjunction.of(EitherDayOfWeek.of(DayOfWeek.MONDAY)));
+    }
+
+    private static List<LocalDate> take(final DateCursor cursor, final int size) {
+        return cursor.stream().limit(size).collect(Collectors.toList());
+    }
+
+    private static String encode(final long fingerprint, final long position, final long windowFrom, final long windowTo) {
+        final ByteBuffer buffer = ByteBuffer.allocate(34);
+        buffer.put((byte) 1).put((byte) 0).putLong(fingerprint).putLong(position).putLong(windowFrom).putLong(windowTo);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private static final class DayOfYearDivisibleBy extends DateAtom {
+        DayOfYearDivisibleBy(final int divisor) {
+            this.divisor = divisor;
+        }
+
+        @Override
+        public boolean test(final ChronoLocalDate target) {
+            return target instanceof LocalDate && ((LocalDate) target).getDayOfYear() % this.divisor == 0;
+        }
+
+        @Override
+        public DateAtom negate() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String toString() {
+            return "DayOfYearDivisibleBy(" + this.divisor + ")";
+        }
+
+        private final int divisor;
+    }
+
+    private static final class FifteenthIn2020 extends DateAtom {
+        @Override
+        public boolean test(final ChronoLocalDate target) {
+            return target instanceof LocalDate && ((LocalDate) target).getYear() == 2020 && ((LocalDate) target).getDayOfMonth() == 15;
+        }
+
+        @Override
+        public DateAtom negate() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.And;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.Not;
+import org.theatime.calql.query.Or;
+import org.theatime.calql.query.Order;
+
+public class TestDateMatcher {
+    @Test
+    public void testNextAndPreviousMatch() {
+        // The last Friday of February.
+        final DateMatcher matcher = DateMatcher.of(Conjunction.of(
+                EitherMonth.of(2), AfterDayOfMonth.orEqualTo(22), EitherDayOfWeek.of(DayOfWeek.FRIDAY)));
+        assertEquals(Optional.of(LocalDate.of(2024, 2, 23)), matcher.nextMatch(LocalDate.of(2023, 3, 1)));
+        assertEquals(Optional.of(LocalDate.of(2024, 2, 23)), matcher.nextMatch(LocalDate.of(2024, 2, 23)));
+        assertEquals(Optional.of(LocalDate.of(2025, 2, 28)), matcher.nextMatch(LocalDate.of(2024, 2, 24)));
+        assertEquals(Optional.of(LocalDate.of(2024, 2, 23)), matcher.previousMatch(LocalDate.of(2025, 2, 27)));
+        assertEquals(Optional.of(LocalDate.of(2023, 2, 24)), matcher.previousMatch(LocalDate.of(2024, 2, 22)));
+    }
+
+    @Test
+    public void testDisjunction() {
+        final Formula<ChronoLocalDate> formula = Or.of(
+                And.of(EitherDayOfMonth.of(15), Not.of(EitherDayOfWeek.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY))),
+                And.of(EitherMonth.of(12), EitherDayOfMonth.of(25)));
+        final DateMatcher matcher = DateMatcher.of(formula);
+        assertEquals(Optional.of(LocalDate.of(2024, 11, 15)), matcher.nextMatch(LocalDate.of(2024, 11, 1)));
+        assertEquals(Optional.of(LocalDate.of(2024, 12, 25)), matcher.nextMatch(LocalDate.of(2024, 11, 16)));
+        assertEquals(Optional.of(LocalDate.of(2025, 1, 15)), matcher.nextMatch(LocalDate.of(2024, 12, 26)));
+        assertEquals(Optional.of(LocalDate.of(2024, 12, 25)), matcher.previousMatch(LocalDate.of(2025, 1, 14)));
+        assertTrue(matcher.test(LocalDate.of(2024, 12, 25)));
+        assertFalse(matcher.test(LocalDate.of(2024, 12, 15)));
+    }
+
+    @Test
+    public void testBounded() {
+        final DateMatcher matcher = DateMatcher.of(Conjunction.of(
+                AfterYear.orEqualTo(2000), BeforeYear.orEqualTo(2010), EitherMonth.of(7), EitherDayOfMonth.of(4)));
+        assertEquals(Optional.of(LocalDate.of(2000, 7, 4)), matcher.nextMatch(LocalDate.of(1900, 1, 1)));
+        assertFalse(matcher.nextMatch(LocalDate.of(2010, 7, 5)).isPresent());
+        assertEquals(Optional.of(LocalDate.of(2010, 7, 4)), matcher.previousMatch(LocalDate.of(2100, 1, 1)));
+        assertFalse(matcher.previousMatch(LocalDate.of(2000, 7, 3)).isPresent());
+    }
+
+    @Test
+    public void testNeverMatches() {
+        final DateMatcher matcher = DateMatcher.of(Conjunction.of(EitherMonth.of(4), EitherDayOfMonth.of(31)));
+        assertFalse(matcher.nextMatch(LocalDate.of(2000, 1, 1)).isPresent());
+        assertFalse(matcher.previousMatch(LocalDate.of(2000, 1, 1)).isPresent());
+    }
+
+    @Test
+    public void testExactDates() {
+        final DateMatcher matcher = DateMatcher.of(Conjunction.of(
+                EitherDate.of(LocalDate.of(2024, 5, 3), LocalDate.of(2024, 5, 4), LocalDate.of(2024, 9, 1)),
+                EitherDayOfWeek.notOf(DayOfWeek.SATURDAY)));
+        assertEquals(Optional.of(LocalDate.of(2024, 9, 1)), matcher.nextMatch(LocalDate.of(2024, 5, 4)));
+        assertEquals(Optional.of(LocalDate.of(2024, 5, 3)), matcher.previousMatch(LocalDate.of(2024, 8, 31)));
+    }
+
+    @Test
+    public void testNthMatch() {
+        final DateMatcher weekdays = DateMatcher.of(Conjunction.of(EitherDayOfWeek.notOf(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY))));
+        final LocalDate from = LocalDate.of(2024, 1, 6);
+        assertEquals(weekdays.nextMatch(from), weekdays.nthMatch(from, 0));
+        assertEquals(Optional.of(stepForward(weekdays, from, 10000)), weekdays.nthMatch(from, 10000));
+        assertEquals(Optional.of(stepBackward(weekdays, from, 10000)), weekdays.nthPreviousMatch(from, 10000));
+    }
+
+    @Test
+    public void testNthMatchInOverlappingDisjunction() {
+        final DateMatcher matcher = DateMatcher.of(Or.of(
+                And.of(AfterYear.orEqualTo(2000), EitherDayOfMonth.of(1, 13)),
+                And.of(BeforeYear.orEqualTo(2030), EitherDayOfWeek.of(DayOfWeek.FRIDAY))));
+        final LocalDate from = LocalDate.of(2020, 3, 14);
+        for (final long n : new long[] { 0, 1, 77, 500, 2000 }) {
+            assertEquals(Optional.of(stepForward(matcher, from, n)), matcher.nthMatch(from, n));
+            assertEquals(Optional.of(stepBackward(matcher, from, n)), matcher.nthPreviousMatch(from, n));
+        }
+
+        final DateMatcher bounded = DateMatcher.of(Conjunction.of(
+                AfterYear.orEqualTo(2000), BeforeYear.orEqualTo(2000), EitherMonth.of(7), EitherDayOfMonth.of(4)));
+        assertEquals(Optional.of(LocalDate.of(2000, 7, 4)), bounded.nthMatch(LocalDate.MIN, 0));
+        assertFalse(bounded.nthMatch(LocalDate.MIN, 1).isPresent());
+    }
+
+    @Test
+    public void testAll() {
+        final DateMatcher matcher = DateMatcher.of(Or.of(
+                And.of(EitherDayOfMonth.of(13), EitherDayOfWeek.of(DayOfWeek.FRIDAY)),
+                EitherMonth.of(2)));
+        final Random random = new Random(42L);
+
+        // A dense batch with many repeated dates, and a sparse batch over millennia.
+        for (final int span : new int[] { 400, 2_000_000 }) {
+            final long[] epochDays = new long[10000];
+            final int[] intEpochDays = new int[epochDays.length];
+            final LocalDate[] dates = new LocalDate[epochDays.length];
+            for (int i = 0; i < epochDays.length; i++) {
+                epochDays[i] = LocalDate.of(1900, 1, 1).toEpochDay() + random.nextInt(span);
+                intEpochDays[i] = (int) epochDays[i];
+                dates[i] = LocalDate.ofEpochDay(epochDays[i]);
+            }
+
+            final BitSet expected = new BitSet();
+            for (int i = 0; i < dates.length; i++) {
+                if (matcher.test(dates[i])) {
+                    expected.set(i);
+                }
+            }
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, matcher.testAll(epochDays));
+            assertEquals(expected, matcher.testAll(intEpochDays));
+            assertEquals(expected, matcher.testAll(dates));
+        }
+        assertTrue(matcher.testAll(new long[0]).isEmpty());
+        assertThrows(DateTimeException.class, () -> matcher.testAll(new long[] { 0L, Long.MAX_VALUE }));
+    }
+
+    @Test
+    public void testStreamRanges() {
+        final DateMatcher summer = DateMatcher.of(And.of(AfterYear.orEqualTo(1990), EitherMonth.of(6, 7, 8)));
+        assertEquals(
+                Arrays.asList(
+                        DateRange.of(LocalDate.of(1990, 6, 1), LocalDate.of(1990, 8, 31)),
+                        DateRange.of(LocalDate.of(1991, 6, 1), LocalDate.of(1991, 8, 31))),
+                summer.streamRanges(Order.FROM_EARLIEST_TO_LATEST).limit(2).collect(Collectors.toList()));
+        assertEquals(
+                Arrays.asList(
+                        DateRange.of(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 7, 15)),
+                        DateRange.of(LocalDate.of(2023, 7, 4), LocalDate.of(2023, 8, 31))),
+                summer.streamRanges(LocalDate.of(2023, 7, 4), LocalDate.of(2024, 7, 15), Order.FROM_LATEST_TO_EARLIEST).collect(Collectors.toList()));
+
+        // Runs of conjunctions are chained into a maximal run.
+        final DateMatcher chained = DateMatcher.of(Or.of(
+                And.of(AfterYear.orEqualTo(2000), AfterMonth.of(4)),
+                And.of(AfterYear.orEqualTo(2010), Not.of(EitherMonth.of(6, 7)))));
+        assertEquals(
+                Arrays.asList(
+                        DateRange.of(LocalDate.of(2008, 5, 1), LocalDate.of(2008, 12, 31)),
+                        DateRange.of(LocalDate.of(2009, 5, 1), LocalDate.of(2099, 12, 31))),
+                chained.streamRanges(LocalDate.of(2008, 1, 1), LocalDate.of(2099, 12, 31), Order.FROM_EARLIEST_TO_LATEST)
+                        .collect(Collectors.toList()));
+
+        final DateMatcher weekdays = DateMatcher.of(Conjunction.of(EitherDayOfWeek.notOf(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY))));
+        final DateRange week = weekdays.streamRanges(LocalDate.of(2024, 1, 6), LocalDate.MAX, Order.FROM_EARLIEST_TO_LATEST).findFirst().get();
+        assertEquals(DateRange.of(LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 12)), week);
+        assertEquals(5L, week.days());
+    }
+
+    @Test
+    public void testSeekWithLimit() {
+        // It would test every day until LocalDate.MAX or MIN without a limit.
+        final DateUnion union = DateMatcher.of(And.of(AfterYear.orEqualTo(1900), new FifteenthIn2020())).union();
+        final long limit = LocalDate.of(2021, 12, 31).toEpochDay();
+        assertEquals(Optional.of(LocalDate.of(2020, 12, 15)), union.next(LocalDate.of(2020, 12, 1), limit));
+        assertEquals(Optional.empty(), union.next(LocalDate.of(2020, 12, 16), limit));
+        assertEquals(Optional.of(LocalDate.of(2020, 1, 15)), union.previous(LocalDate.of(2020, 2, 1), LocalDate.of(2019, 1, 1).toEpochDay()));
+        assertEquals(Optional.empty(), union.previous(LocalDate.of(2020, 1, 14), LocalDate.of(1900, 1, 1).toEpochDay()));
+        assertEquals(Optional.empty(), union.next(LocalDate.of(2020, 12, 1), LocalDate.of(2020, 12, 14).toEpochDay()));
+        assertEquals(12L, union.count(LocalDate.of(1900, 1, 1).toEpochDay(), LocalDate.of(2100, 12, 31).toEpochDay()));
+    }
+
+    @Test
+    public void testStreamRangesWithResidual() {
+        final DateMatcher matcher = DateMatcher.of(And.of(AfterYear.orEqualTo(1900), new FifteenthIn2020()));
+        assertEquals(12L, matcher.streamRanges(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31), Order.FROM_EARLIEST_TO_LATEST).count());
+        assertEquals(12L, matcher.streamRanges(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31), Order.FROM_LATEST_TO_EARLIEST).count());
+        assertEquals(0L, matcher.streamRanges(LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31), Order.FROM_EARLIEST_TO_LATEST).count());
+    }
+
+    private static LocalDate stepForward(final DateMatcher matcher, final LocalDate from, final long n) {
+        LocalDate date = matcher.nextMatch(from).get();
+        for (long i = 0; i < n; i++) {
+            date = matcher.nextMatch(date.plusDays(1)).get();
+        }
+        return date;
+    }
+
+    private static LocalDate stepBackward(final DateMatcher matcher, final LocalDate from, final long n) {
+        LocalDate date = matcher.previousMatch(from).get();
+        for (long i = 0; i < n; i++) {
+            date = matcher.previousMatch(date.minusDays(1)).get();
+        }
+        return date;
+    }
+
+    private static final class FifteenthIn2020 extends DateAtom {
+        @Override
+        public boolean test(final ChronoLocalDate target) {
+            return target instanceof LocalDate && ((LocalDate) target).getYear() == 2020 && ((LocalDate) target).getDayOfMonth() == 15;
+        }
+
+        @Override
+        public DateAtom negate() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.And;
+import org.theatime.calql.query.Not;
+import org.theatime.calql.query.Or;
+import org.theatime.calql.query.Order;
+
+public class TestDateMergeFilter {
+    @Test
+    public void testSorted() {
+        final List<LocalDateTime> events = randomEvents(new Random(7L));
+        assertEquals(bruteForce(events), filter(events, Order.FROM_EARLIEST_TO_LATEST));
+
+        final ArrayList<LocalDateTime> reversed = new ArrayList<>(events);
+        Collections.reverse(reversed);
+        final List<LocalDateTime> expected = bruteForce(reversed);
+        assertEquals(expected, filter(reversed, Order.FROM_LATEST_TO_EARLIEST));
+    }
+
+    @Test
+    public void testUnsorted() {
+        final List<LocalDateTime> events = randomEvents(new Random(8L));
+        Collections.shuffle(events, new Random(9L));
+        assertEquals(bruteForce(events), filter(events, Order.FROM_EARLIEST_TO_LATEST));
+        assertEquals(bruteForce(events), filter(events, Order.FROM_LATEST_TO_EARLIEST));
+    }
+
+    @Test
+    public void testStreamClose() {
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        try (Stream<LocalDateTime> filtered = DateMergeFilter.filter(
+                randomEvents(new Random(10L)).stream().onClose(() -> closed.set(true)),
+                LocalDateTime::toLocalDate,
+                MATCHER,
+                Order.FROM_EARLIEST_TO_LATEST)) {
+            filtered.limit(3).count();
+        }
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testResidualBeyondLastMatch() {
+        final DateMatcher matcher = DateMatcher.of(And.of(AfterYear.orEqualTo(1900), new FifteenthIn2020()));
+        final List<LocalDate> records = List.of(LocalDate.of(2020, 3, 15), LocalDate.of(2020, 4, 1), LocalDate.of(2021, 1, 1), LocalDate.of(2030, 1, 15));
+        final ArrayList<LocalDate> filtered = new ArrayList<>();
+        DateMergeFilter.of(records.iterator(), date -> date, matcher, Order.FROM_EARLIEST_TO_LATEST).forEachRemaining(filtered::add);
+        assertEquals(List.of(LocalDate.of(2020, 3, 15)), filtered);
+
+        final ArrayList<LocalDate> reversed = new ArrayList<>(records);
+        Collections.reverse(reversed);
+        filtered.clear();
+        DateMergeFilter.of(reversed.iterator(), date -> date, matcher, Order.FROM_LATEST_TO_EARLIEST).forEachRemaining(filtered::add);
+        assertEquals(List.of(LocalDate.of(2020, 3, 15)), filtered);
+    }
+
+    private static List<LocalDateTime> filter(final List<LocalDateTime> events, final Order order) {
+        final ArrayList<LocalDateTime> filtered = new ArrayList<>();
+        DateMergeFilter.of(events.iterator(), LocalDateTime::toLocalDate, MATCHER, order).forEachRemaining(filtered::add);
+        return filtered;
+    }
+
+    private static List<LocalDateTime> bruteForce(final List<LocalDateTime> events) {
+        return events.stream().filter(event -> MATCHER.test(event.toLocalDate())).collect(Collectors.toList());
+    }
+
+    private static List<LocalDateTime> randomEvents(final Random random) {
+        final ArrayList<LocalDateTime> events = new ArrayList<>();
+        for (LocalDateTime time = LocalDateTime.of(2023, 1, 1, 0, 0); time.getYear() < 2026; time = time.plusMinutes(1 + random.nextInt(240))) {
+            events.add(time);
+        }
+        return events;
+    }
+
+    private static final DateMatcher MATCHER = DateMatcher.of(Or.of(
+            And.of(EitherDayOfMonth.of(1, 2, 3), Not.of(EitherDayOfWeek.of(DayOfWeek.SUNDAY))),
+            And.of(EitherYear.of(2024), EitherMonth.of(6))));
+
+    private static final class FifteenthIn2020 extends DateAtom {
+        @Override
+        public boolean test(final ChronoLocalDate target) {
+            return target instanceof LocalDate && ((LocalDate) target).getYear() == 2020 && ((LocalDate) target).getDayOfMonth() == 15;
+        }
+
+        @Override
+        public DateAtom negate() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
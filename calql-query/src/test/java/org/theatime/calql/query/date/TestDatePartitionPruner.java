@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.And;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.Or;
+
+public class TestDatePartitionPruner {
+    @Test
+    public void testLeapDay() {
+        final Formula<ChronoLocalDate> formula = And.of(EitherYear.of(2023, 2024), EitherMonth.of(2), EitherDayOfMonth.of(29));
+        assertEquals(new TreeSet<>(Arrays.asList(Year.of(2024))), DatePartitionPruner.of(PartitionGranularity.YEAR).partitions(formula));
+        assertEquals(new TreeSet<>(Arrays.asList(YearMonth.of(2024, 2))), DatePartitionPruner.of(PartitionGranularity.YEAR_MONTH).partitions(formula));
+        assertEquals(new TreeSet<>(Arrays.asList(LocalDate.of(2024, 2, 29))), DatePartitionPruner.of(PartitionGranularity.DATE).partitions(formula));
+    }
+
+    @Test
+    public void testAgainstBruteForce() {
+        final Formula<ChronoLocalDate> formula = Or.of(
+                And.of(AfterYear.orEqualTo(1990), BeforeYear.orEqualTo(2020), EitherDayOfMonth.of(31), EitherDayOfWeek.of(DayOfWeek.MONDAY)),
+                And.of(EitherYear.of(2030), EitherMonth.of(4, 5)));
+        final DateMatcher matcher = DateMatcher.of(formula);
+        final TreeSet<Year> years = new TreeSet<>();
+        final TreeSet<YearMonth> yearMonths = new TreeSet<>();
+        final TreeSet<LocalDate> dates = new TreeSet<>();
+        for (LocalDate date = LocalDate.of(1980, 1, 1); date.getYear() <= 2040; date = date.plusDays(1)) {
+            if (matcher.test(date)) {
+                years.add(Year.from(date));
+                yearMonths.add(YearMonth.from(date));
+                dates.add(date);
+            }
+        }
+        assertEquals(years, DatePartitionPruner.of(PartitionGranularity.YEAR).partitions(formula));
+        assertEquals(yearMonths, DatePartitionPruner.of(PartitionGranularity.YEAR_MONTH).partitions(formula));
+        assertEquals(dates, DatePartitionPruner.of(PartitionGranularity.DATE).partitions(formula));
+
+        final SortedSet<YearMonth> windowed = DatePartitionPruner.of(PartitionGranularity.YEAR_MONTH)
+                .partitions(matcher, LocalDate.of(2000, 1, 1), LocalDate.of(2009, 12, 31));
+        assertEquals(yearMonths.subSet(YearMonth.of(2000, 1), YearMonth.of(2010, 1)), windowed);
+    }
+
+    @Test
+    public void testUnbounded() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DatePartitionPruner.of(PartitionGranularity.YEAR).partitions(And.of(AfterYear.orEqualTo(2000), EitherMonth.of(1))));
+        assertTrue(DatePartitionPruner.of(PartitionGranularity.YEAR).partitions(And.of(EitherMonth.of(4), EitherDayOfMonth.of(31))).isEmpty());
+    }
+
+    @Test
+    public void testResidualBeyondLastMatch() {
+        final DateMatcher matcher = DateMatcher.of(And.of(AfterYear.orEqualTo(1900), new FifteenthIn2020()));
+        assertEquals(new TreeSet<>(Arrays.asList(Year.of(2020))),
+                     DatePartitionPruner.of(PartitionGranularity.YEAR).partitions(matcher, LocalDate.of(2020, 1, 1), LocalDate.of(2021, 6, 30)));
+        assertEquals(12, DatePartitionPruner.of(PartitionGranularity.YEAR_MONTH).partitions(matcher, LocalDate.of(2020, 1, 1), LocalDate.of(2021, 6, 30)).size());
+    }
+
+    private static final class FifteenthIn2020 extends DateAtom {
+        @Override
+        public boolean test(final ChronoLocalDate target) {
+            return target instanceof LocalDate && ((LocalDate) target).getYear() == 2020 && ((LocalDate) target).getDayOfMonth() == 15;
+        }
+
+        @Override
+        public DateAtom negate() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.DisjunctiveNormalFormula;
+import org.theatime.calql.query.Order;
+import org.theatime.calql.query.ScanLimitExceededException;
+import org.theatime.calql.query.ScanLimits;
+
+public class TestDatePipeline {
+    @Test
+    public void testSameAsStreamBy() {
+        final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(
+                AfterYear.orEqualTo(1990), BeforeYear.orEqualTo(2030), EitherDayOfWeek.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+        for (final Order order : List.of(Order.FROM_EARLIEST_TO_LATEST, Order.FROM_LATEST_TO_EARLIEST)) {
+            final List<LocalDate> expected = conjunction.streamBy(DefaultDateSourceStreamer.of(), order).collect(Collectors.toList());
+            // A shallow depth makes the producer wait for the consumer many times.
+            try (Stream<LocalDate> dates = DatePipeline.of(4).streamBy(conjunction, DefaultDateSourceStreamer.of(), order)) {
+                assertEquals(expected, dates.collect(Collectors.toList()));
+            }
+        }
+    }
+
+    @Test
+    public void testDisjunctiveNormalFormula() {
+        final DisjunctiveNormalFormula<ChronoLocalDate> formula = DisjunctiveNormalFormula.of(
+                Conjunction.of(AfterYear.orEqualTo(2000), BeforeYear.orEqualTo(2024), EitherMonth.of(2), EitherDayOfMonth.of(29)),
+                Conjunction.of(AfterYear.orEqualTo(2010), BeforeYear.orEqualTo(2020), EitherDayOfMonth.of(13), EitherDayOfWeek.of(DayOfWeek.FRIDAY)));
+        final List<LocalDate> expected = formula.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST).collect(Collectors.toList());
+        try (Stream<LocalDate> dates = DatePipeline.of(DatePipeline.DEFAULT_DEPTH).streamBy(
+                formula, DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST)) {
+            assertEquals(expected, dates.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testCloseStopsProducer() throws InterruptedException {
+        // Unbounded, so that the producer never ends by itself.
+        final Conjunction<ChronoLocalDate> unbounded = Conjunction.of(AfterYear.orEqualTo(2000), EitherDayOfMonth.of(1));
+        final AtomicBoolean sourceClosed = new AtomicBoolean(false);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Stream<LocalDate> dates = DatePipeline.of(16, executor).stream(cancellation ->
+                    unbounded.streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST).onClose(() -> sourceClosed.set(true)));
+            final Iterator<LocalDate> iterator = dates.iterator();
+            assertEquals(LocalDate.of(2000, 1, 1), iterator.next());
+            assertEquals(LocalDate.of(2000, 2, 1), iterator.next());
+            dates.close();
+            assertTrue(sourceClosed.get());
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(10L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCloseBeforeConsumed() {
+        final AtomicBoolean started = new AtomicBoolean(false);
+        final Stream<LocalDate> dates = DatePipeline.of(16).stream(cancellation -> {
+            started.set(true);
+            return Stream.of(LocalDate.of(2000, 1, 1));
+        });
+        dates.close();
+        assertFalse(started.get());
+    }
+
+    @Test
+    public void testFailurePropagates() {
+        // February 30 never exists, but the source streamer scans forever because it is unbounded.
+        final Conjunction<ChronoLocalDate> impossible = Conjunction.of(AfterYear.orEqualTo(2000), EitherMonth.of(2), EitherDayOfMonth.of(30));
+        try (Stream<LocalDate> dates = DatePipeline.of(16).streamBy(
+                impossible, DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST, ScanLimits.none().withMaxCandidates(1000L))) {
+            final ScanLimitExceededException ex = assertThrows(ScanLimitExceededException.class, () -> {
+                dates.count();
+            });
+            assertSame(ScanLimitExceededException.Reason.MAX_CANDIDATES_EXCEEDED, ex.reason());
+        }
+    }
+
+    @Test
+    public void testInvalidDepth() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            DatePipeline.of(0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            DatePipeline.of(Integer.MAX_VALUE);
+        });
+        assertEquals(1000, DatePipeline.of(1000).depth());
+    }
+
+    @Test
+    public void testRingBuffer() {
+        // It holds exactly three though its array has four slots.
+        final EpochDayRingBuffer buffer = new EpochDayRingBuffer(3);
+        assertEquals(3, buffer.capacity());
+        assertTrue(buffer.isEmpty());
+        assertEquals(EpochDayRingBuffer.EMPTY, buffer.poll());
+        for (long round = 0; round < 10; round++) {
+            for (long i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(round * 3 + i));
+            }
+            assertTrue(buffer.isFull());
+            assertFalse(buffer.offer(-1L));
+            for (long i = 0; i < 3; i++) {
+                assertEquals(round * 3 + i, buffer.poll());
+            }
+            assertTrue(buffer.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Optional;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.And;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.Or;
+import org.theatime.calql.query.Order;
+
+public class TestDateQueryPlan {
+    @Test
+    public void testExplain() {
+        final Formula<ChronoLocalDate> formula = Or.of(
+                And.of(AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2021), EitherDayOfWeek.of(DayOfWeek.MONDAY)),
+                And.of(EitherDate.of(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 2)), EitherDayOfWeek.of(DayOfWeek.WEDNESDAY)));
+        final DateQueryPlan plan = DateQueryPlan.explain(formula, Order.FROM_EARLIEST_TO_LATEST);
+        assertFalse(plan.isAnalyzed());
+        assertEquals(2, plan.branches().size());
+
+        final DateQueryPlan.Branch weekly = plan.branches().get(0);
+        assertTrue(weekly.existsPossibly());
+        assertEquals(Optional.of(LocalDate.of(2020, 1, 1)), weekly.earliest());
+        assertEquals(Optional.of(LocalDate.of(2021, 12, 31)), weekly.latest());
+        assertTrue(weekly.streamer().get() instanceof NaiveDateSourceStreamer);
+        assertEquals(OptionalLong.of(731L), weekly.estimatedCandidates());
+        assertEquals(OptionalLong.of(104L), weekly.estimatedMatches());
+        assertEquals(OptionalLong.empty(), weekly.actualCandidates());
+
+        final DateQueryPlan.Branch exact = plan.branches().get(1);
+        assertTrue(exact.streamer().get() instanceof ExactDateSourceStreamer);
+        assertEquals(OptionalLong.of(2L), exact.estimatedCandidates());
+        assertEquals(OptionalLong.of(1L), exact.estimatedMatches());
+
+        assertEquals(OptionalLong.of(733L), plan.estimatedCandidates());
+        assertEquals(OptionalLong.of(105L), plan.estimatedMatches());
+        assertTrue(plan.toString().contains("ExactDateSourceStreamer"));
+    }
+
+    @Test
+    public void testExplainUnbounded() {
+        final DateQueryPlan plan = DateQueryPlan.explain(
+                Or.of(EitherMonth.of(2), And.of(EitherYear.of(2024), EitherMonth.of(2), EitherDayOfMonth.of(30))),
+                Order.FROM_EARLIEST_TO_LATEST);
+        assertEquals(OptionalLong.empty(), plan.branches().get(0).estimatedCandidates());
+        assertEquals(OptionalLong.empty(), plan.estimatedCandidates());
+        assertEquals(OptionalLong.empty(), plan.estimatedMatches());
+        assertEquals(OptionalLong.of(0L), plan.branches().get(1).estimatedMatches());
+    }
+
+    @Test
+    public void testAnalyze() {
+        final Formula<ChronoLocalDate> formula = And.of(
+                AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2021), EitherDayOfWeek.of(DayOfWeek.MONDAY));
+        final DateQueryPlan plan = DateQueryPlan.analyze(formula, Order.FROM_LATEST_TO_EARLIEST, 1000L);
+        assertTrue(plan.isAnalyzed());
+        final DateQueryPlan.Branch branch = plan.branches().get(0);
+        assertEquals(OptionalLong.of(731L), branch.actualCandidates());
+        assertEquals(OptionalLong.of(104L), branch.actualMatches());
+        assertTrue(branch.actualNanos().getAsLong() >= 0L);
+        assertFalse(branch.isTruncated());
+        assertTrue(plan.toString().contains("actual matches: 104"));
+    }
+
+    @Test
+    public void testAnalyzeTruncated() {
+        final DateQueryPlan plan = DateQueryPlan.analyze(
+                And.of(AfterYear.orEqualTo(2020), EitherDayOfMonth.of(1)), Order.FROM_EARLIEST_TO_LATEST, 100L);
+        final DateQueryPlan.Branch branch = plan.branches().get(0);
+        assertTrue(branch.isTruncated());
+        assertEquals(OptionalLong.of(100L), branch.actualCandidates());
+        assertEquals(OptionalLong.of(4L), branch.actualMatches());
+
+        assertThrows(IllegalArgumentException.class, () -> DateQueryPlan.analyze(EitherMonth.of(1), Order.FROM_EARLIEST_TO_LATEST, -1L));
+    }
+
+    @Test
+    public void testAnalyzeUnboundedAtStart() {
+        final DateQueryPlan.Branch ascending = DateQueryPlan.analyze(EitherMonth.of(2), Order.FROM_EARLIEST_TO_LATEST, 1000L).branches().get(0);
+        assertTrue(ascending.isTruncated());
+        assertEquals(OptionalLong.of(1000L), ascending.actualCandidates());
+        assertTrue(ascending.actualMatches().getAsLong() > 0L);
+
+        final DateQueryPlan.Branch boundedAtEnd = DateQueryPlan.analyze(
+                And.of(BeforeYear.orEqualTo(2020), EitherDayOfMonth.of(1)), Order.FROM_EARLIEST_TO_LATEST, 100L).branches().get(0);
+        assertTrue(boundedAtEnd.isTruncated());
+        assertEquals(OptionalLong.of(100L), boundedAtEnd.actualCandidates());
+
+        final DateQueryPlan.Branch fromLatest = DateQueryPlan.analyze(
+                And.of(AfterYear.orEqualTo(2020), EitherDayOfMonth.of(1)), Order.FROM_LATEST_TO_EARLIEST, 100L).branches().get(0);
+        assertTrue(fromLatest.isTruncated());
+        assertEquals(OptionalLong.of(100L), fromLatest.actualCandidates());
+        // From December 31 in the last year: December 1, November 1, and October 1.
+        assertEquals(OptionalLong.of(3L), fromLatest.actualMatches());
+
+        // February 30 never exists, so nothing is streamed.
+        final DateQueryPlan.Branch never = DateQueryPlan.analyze(
+                And.of(EitherMonth.of(2), EitherDayOfMonth.of(30)), Order.FROM_EARLIEST_TO_LATEST, 100L).branches().get(0);
+        assertTrue(never.isTruncated());
+        assertEquals(OptionalLong.of(0L), never.actualCandidates());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.And;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.DisjunctiveNormalFormula;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.Not;
+import org.theatime.calql.query.Or;
+
+public class TestDateRuleIndex {
+    @Test
+    public void testMatch() {
+        final DateRuleIndex<String> index = DateRuleIndex.of();
+        index.add("payday", Or.of(EitherDayOfMonth.of(25), And.of(EitherMonth.of(12), EitherDayOfMonth.of(20))));
+        index.add("friday", EitherDayOfWeek.of(DayOfWeek.FRIDAY));
+        index.add("olympics", And.of(EitherYear.of(2024), EitherMonth.of(7, 8)));
+        index.add("always", Not.of(EitherMonth.of(2)));
+
+        assertEquals(new HashSet<>(Arrays.asList("payday", "friday", "always")), index.match(LocalDate.of(2020, 12, 25)));
+        assertEquals(new HashSet<>(Arrays.asList("payday", "always")), index.match(LocalDate.of(2020, 12, 20)));
+        assertEquals(new HashSet<>(Arrays.asList("olympics", "always")), index.match(LocalDate.of(2024, 8, 1)));
+        assertEquals(Collections.emptySet(), index.match(LocalDate.of(2024, 2, 1)));
+
+        assertTrue(index.remove("payday"));
+        assertFalse(index.remove("payday"));
+        assertEquals(Collections.singleton("always"), index.match(LocalDate.of(2020, 12, 20)));
+
+        index.add("friday", EitherDayOfWeek.of(DayOfWeek.SUNDAY));
+        assertEquals(Collections.singleton("friday"), index.match(LocalDate.of(2024, 2, 4)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testRandomRules() {
+        final Random random = new Random(31L);
+        final DateRuleIndex<Integer> index = DateRuleIndex.of();
+        final HashMap<Integer, DisjunctiveNormalFormula<ChronoLocalDate>> rules = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            final DisjunctiveNormalFormula<ChronoLocalDate> dnf = randomFormula(random).toNegationNormalForm().getDisjunctiveNormalForm();
+            index.add(i, dnf);
+            rules.put(i, dnf);
+        }
+        for (int i = 0; i < 500; i += 3) {
+            index.remove(i);
+            rules.remove(i);
+        }
+
+        for (LocalDate date = LocalDate.of(2019, 1, 1); date.getYear() < 2026; date = date.plusDays(1)) {
+            final HashSet<Integer> expected = new HashSet<>();
+            for (final Map.Entry<Integer, DisjunctiveNormalFormula<ChronoLocalDate>> rule : rules.entrySet()) {
+                for (final Conjunction<ChronoLocalDate> conjunction : rule.getValue()) {
+                    if (conjunction.test(date)) {
+                        expected.add(rule.getKey());
+                    }
+                }
+            }
+            assertEquals(expected, index.match(date));
+        }
+    }
+
+    private static Formula<ChronoLocalDate> randomFormula(final Random random) {
+        final Formula<ChronoLocalDate> month = EitherMonth.of(1 + random.nextInt(12), 1 + random.nextInt(12));
+        final Formula<ChronoLocalDate> dayOfMonth = EitherDayOfMonth.of(1 + random.nextInt(31));
+        final Formula<ChronoLocalDate> dayOfWeek = EitherDayOfWeek.of(DayOfWeek.of(1 + random.nextInt(7)));
+        final Formula<ChronoLocalDate> years = And.of(AfterYear.orEqualTo(2018 + random.nextInt(5)), BeforeYear.orEqualTo(2021 + random.nextInt(5)));
+        switch (random.nextInt(5)) {
+            case 0:
+                return And.of(month, dayOfWeek);
+            case 1:
+                return Or.of(dayOfMonth, And.of(years, month));
+            case 2:
+                return And.of(years, Not.of(dayOfWeek));
+            case 3:
+                return Or.of(dayOfWeek, dayOfMonth);
+            default:
+                return And.of(years, dayOfMonth, Not.of(month));
+        }
+    }
+}
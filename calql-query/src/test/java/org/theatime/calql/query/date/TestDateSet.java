@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.Order;
+
+public class TestDateSet {
+    @Test
+    public void testSetAlgebra() {
+        final Random random = new Random(34L);
+        for (int trial = 0; trial < 20; trial++) {
+            final TreeSet<LocalDate> left = randomDates(random);
+            final TreeSet<LocalDate> right = randomDates(random);
+            final DateSet leftSet = DateSet.of(left);
+            final DateSet rightSet = DateSet.of(right);
+            assertSame(left, leftSet);
+
+            final TreeSet<LocalDate> union = new TreeSet<>(left);
+            union.addAll(right);
+            assertSame(union, leftSet.union(rightSet));
+
+            final TreeSet<LocalDate> intersection = new TreeSet<>(left);
+            intersection.retainAll(right);
+            assertSame(intersection, leftSet.intersection(rightSet));
+
+            final TreeSet<LocalDate> difference = new TreeSet<>(left);
+            difference.removeAll(right);
+            assertSame(difference, leftSet.difference(rightSet));
+        }
+    }
+
+    @Test
+    public void testRankAndSelect() {
+        final TreeSet<LocalDate> dates = randomDates(new Random(35L));
+        final DateSet set = DateSet.of(dates);
+        long index = 0;
+        for (final LocalDate date : dates) {
+            assertEquals(date, set.select(index));
+            assertEquals(index + 1, set.rank(date));
+            assertEquals(index, set.rank(date.minusDays(1)));
+            index++;
+        }
+        assertEquals(0L, set.rank(LocalDate.MIN));
+        assertEquals(set.size(), set.rank(LocalDate.MAX));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.select(set.size()));
+    }
+
+    @Test
+    public void testRangeIteration() {
+        final TreeSet<LocalDate> dates = randomDates(new Random(36L));
+        final DateSet set = DateSet.of(dates);
+        final LocalDate from = LocalDate.of(1950, 3, 1);
+        final LocalDate to = LocalDate.of(2150, 10, 31);
+        final NavigableSet<LocalDate> expected = dates.subSet(from, true, to, true);
+        assertEquals(new ArrayList<>(expected), set.stream(from, to, Order.FROM_EARLIEST_TO_LATEST).collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(expected.descendingSet()), set.stream(from, to, Order.FROM_LATEST_TO_EARLIEST).collect(Collectors.toList()));
+        assertEquals(dates.first(), set.first().get());
+        assertEquals(dates.last(), set.last().get());
+    }
+
+    @Test
+    public void testRangesAndSerialization() throws Exception {
+        final DateSet ranges = DateSet.builder()
+                .addRange(LocalDate.of(1800, 1, 1), LocalDate.of(2200, 12, 31))
+                .addRange(LocalDate.of(2500, 6, 1), LocalDate.of(2500, 6, 30))
+                .build();
+        assertEquals(LocalDate.of(2200, 12, 31).toEpochDay() - LocalDate.of(1800, 1, 1).toEpochDay() + 1 + 30, ranges.size());
+        // Runs are encoded in a few bytes per chunk.
+        assertTrue(ranges.toByteArray().length < 100);
+        assertEquals(ranges, DateSet.fromByteArray(ranges.toByteArray()));
+
+        final DateSet weekdays = Conjunction.<ChronoLocalDate>of(
+                AfterYear.orEqualTo(1900), BeforeYear.orEqualTo(2099), EitherDayOfWeek.notOf(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY))
+                .streamBy(DefaultDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST)
+                .collect(DateSet.toDateSet());
+        assertEquals(52179L, weekdays.size());
+        assertEquals(weekdays, DateSet.fromByteArray(weekdays.toByteArray()));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(weekdays);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(weekdays, in.readObject());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> DateSet.fromByteArray(new byte[] { 1, 0, 0 }));
+        assertEquals(DateSet.empty(), DateSet.fromByteArray(DateSet.empty().toByteArray()));
+    }
+
+    @Test
+    public void testEitherDate() {
+        final DateSet set = DateSet.matching(
+                DateMatcher.of(Conjunction.of(EitherDayOfMonth.of(13), EitherDayOfWeek.of(DayOfWeek.FRIDAY))),
+                LocalDate.of(2000, 1, 1), LocalDate.of(2099, 12, 31));
+        assertEquals(172L, set.size());
+        final EitherDate atom = EitherDate.of(set);
+        assertTrue(atom.test(LocalDate.of(2024, 9, 13)));
+        assertFalse(atom.test(LocalDate.of(2024, 9, 14)));
+        assertEquals(set, DateSet.of(atom.dates()));
+    }
+
+    private static void assertSame(final TreeSet<LocalDate> expected, final DateSet actual) {
+        assertEquals(expected.size(), actual.size());
+        final List<LocalDate> list = new ArrayList<>(expected);
+        assertEquals(list, actual.stream(Order.FROM_EARLIEST_TO_LATEST).collect(Collectors.toList()));
+        Collections.reverse(list);
+        assertEquals(list, actual.stream(Order.FROM_LATEST_TO_EARLIEST).collect(Collectors.toList()));
+        for (final LocalDate date : expected) {
+            assertTrue(actual.contains(date));
+            assertFalse(actual.contains(date.plusDays(1)) && !expected.contains(date.plusDays(1)));
+        }
+        assertEquals(actual, DateSet.fromByteArray(actual.toByteArray()));
+    }
+
+    /**
+     * Generates sparse dates, dense dates, and ranges across chunks, including dates before 1970.
+     */
+    private static TreeSet<LocalDate> randomDates(final Random random) {
+        final TreeSet<LocalDate> dates = new TreeSet<>();
+        for (int i = 0; i < 300; i++) {
+            dates.add(LocalDate.of(1700, 1, 1).plusDays(random.nextInt(300000)));
+        }
+        final LocalDate denseFrom = LocalDate.of(1960 + random.nextInt(40), 1, 1);
+        for (int i = 0; i < 20000; i++) {
+            dates.add(denseFrom.plusDays(random.nextInt(40000)));
+        }
+        final LocalDate rangeFrom = LocalDate.of(2100 + random.nextInt(100), 1, 1);
+        for (int i = 0; i < 20; i++) {
+            final LocalDate start = rangeFrom.plusDays(random.nextInt(70000));
+            for (int j = 0; j < random.nextInt(100); j++) {
+                dates.add(start.plusDays(j));
+            }
+        }
+        return dates;
+    }
+}
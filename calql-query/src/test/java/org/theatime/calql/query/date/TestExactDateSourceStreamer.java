@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.Conjunction;
+import org.theatime.calql.query.Order;
+
+public class TestExactDateSourceStreamer {
+    @Test
+    public void testIntersection() {
+        final Random random = new Random(33L);
+        final List<LocalDate> holidays = randomDates(random, 50000);
+        final List<LocalDate> events = randomDates(random, 3000);
+        final List<LocalDate> few = new ArrayList<>(events.subList(0, 20));
+        few.add(LocalDate.of(1800, 1, 1));
+
+        final TreeSet<LocalDate> expected = new TreeSet<>(holidays);
+        expected.retainAll(events);
+        expected.retainAll(few);
+
+        final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(
+                EitherDate.of(holidays), EitherDate.of(events), EitherDate.of(few), EitherDate.notOf(LocalDate.of(2000, 1, 1)));
+        assertEquals(new ArrayList<>(expected), conjunction.streamBy(ExactDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST).collect(Collectors.toList()));
+
+        final ArrayList<LocalDate> reversed = new ArrayList<>(expected);
+        Collections.reverse(reversed);
+        assertEquals(reversed, conjunction.streamBy(ExactDateSourceStreamer.of(), Order.FROM_LATEST_TO_EARLIEST).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testDisjoint() {
+        final Conjunction<ChronoLocalDate> conjunction = Conjunction.of(
+                EitherDate.of(LocalDate.of(2024, 1, 1)), EitherDate.of(LocalDate.of(2024, 1, 2)), EitherDate.of(LocalDate.of(2024, 1, 1)));
+        assertEquals(0L, conjunction.streamBy(ExactDateSourceStreamer.of(), Order.FROM_EARLIEST_TO_LATEST).count());
+    }
+
+    @Test
+    public void testNegate() {
+        final EitherDate date = EitherDate.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 1));
+        assertEquals(2, date.dates().size());
+        assertTrue(date.test(LocalDate.of(2024, 1, 3)));
+        assertFalse(date.negate().test(LocalDate.of(2024, 1, 3)));
+        assertTrue(date.negate().test(LocalDate.of(2024, 1, 2)));
+        assertEquals(date, date.negate().negate());
+
+        // An exclusion does not bound the dates.
+        assertFalse(EitherDate.notOf(LocalDate.of(2024, 1, 1)).earliest().isPresent());
+        assertFalse(EitherDate.notOf(LocalDate.of(2024, 1, 1)).unique().isPresent());
+    }
+
+    private static List<LocalDate> randomDates(final Random random, final int size) {
+        final ArrayList<LocalDate> dates = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            dates.add(LocalDate.of(2000, 1, 1).plusDays(random.nextInt(36500)));
+        }
+        return dates;
+    }
+}
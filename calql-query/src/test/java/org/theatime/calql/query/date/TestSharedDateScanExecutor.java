@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.And;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.Or;
+import org.theatime.calql.query.Order;
+
+public class TestSharedDateScanExecutor {
+    @Test
+    public void testSameAsEachQuery() {
+        final ArrayList<DateQuery> queries = new ArrayList<>();
+        queries.add(DateQuery.of(And.of(AfterYear.orEqualTo(1990), BeforeYear.orEqualTo(2030), EitherDayOfWeek.of(DayOfWeek.MONDAY)),
+                                 Order.FROM_EARLIEST_TO_LATEST));
+        queries.add(DateQuery.of(Or.of(And.of(EitherYear.of(2001), EitherMonth.of(2)), And.of(EitherYear.of(2020, 2024), EitherDayOfMonth.of(29))),
+                                 Order.FROM_LATEST_TO_EARLIEST));
+        queries.add(DateQuery.of(And.of(AfterYear.orEqualTo(2000), EitherMonth.of(2), EitherDayOfMonth.of(29)), Order.FROM_EARLIEST_TO_LATEST)
+                            .withLimit(3L));
+        queries.add(DateQuery.of(EitherDayOfMonth.of(13), Order.FROM_LATEST_TO_EARLIEST)
+                            .within(DateRange.of(LocalDate.of(2010, 1, 1), LocalDate.of(2012, 12, 31))));
+        queries.add(DateQuery.of(And.of(EitherYear.of(2020), EitherYear.of(2021)), Order.FROM_EARLIEST_TO_LATEST));
+        queries.add(DateQuery.of(EitherDate.of(LocalDate.of(1995, 5, 5), LocalDate.of(2025, 5, 5)), Order.FROM_EARLIEST_TO_LATEST)
+                            .withLimit(0L));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final List<List<LocalDate>> results = SharedDateScanExecutor.of(pool).execute(queries);
+            assertEquals(queries.size(), results.size());
+            for (int i = 0; i < queries.size(); i++) {
+                assertEquals(expected(queries.get(i)), results.get(i), "query #" + i);
+            }
+            assertEquals(List.of(LocalDate.of(2000, 2, 29), LocalDate.of(2004, 2, 29), LocalDate.of(2008, 2, 29)), results.get(2));
+            assertEquals(LocalDate.of(2012, 12, 13), results.get(3).get(0));
+            assertTrue(results.get(4).isEmpty());
+            assertTrue(results.get(5).isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(List.of(), SharedDateScanExecutor.of().execute(List.of()));
+    }
+
+    @Test
+    public void testUnbounded() {
+        final Formula<ChronoLocalDate> unbounded = And.of(AfterYear.orEqualTo(2000), EitherDayOfMonth.of(1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            SharedDateScanExecutor.of().execute(List.of(DateQuery.of(unbounded, Order.FROM_EARLIEST_TO_LATEST)));
+        });
+        final List<List<LocalDate>> results = SharedDateScanExecutor.of().execute(List.of(
+                DateQuery.of(unbounded, Order.FROM_EARLIEST_TO_LATEST).within(DateRange.of(LocalDate.of(1990, 1, 1), LocalDate.of(2000, 3, 1)))));
+        assertEquals(List.of(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 2, 1), LocalDate.of(2000, 3, 1)), results.get(0));
+    }
+
+    @Test
+    public void testLimitNarrowsRange() {
+        final Formula<ChronoLocalDate> mondays = And.of(AfterYear.orEqualTo(1), BeforeYear.orEqualTo(9999), EitherDayOfWeek.of(DayOfWeek.MONDAY));
+        final DateQuery earliest = DateQuery.of(mondays, Order.FROM_EARLIEST_TO_LATEST).withLimit(10L);
+        final long[] range = earliest.epochDayRange();
+        assertEquals(LocalDate.of(1, 1, 1).toEpochDay(), range[0]);
+        assertEquals(LocalDate.of(1, 3, 5).toEpochDay(), range[1]);
+
+        final DateQuery latest = DateQuery.of(mondays, Order.FROM_LATEST_TO_EARLIEST).withLimit(2L)
+                .within(DateRange.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+        final long[] windowed = latest.epochDayRange();
+        assertEquals(LocalDate.of(2024, 12, 23).toEpochDay(), windowed[0]);
+        assertEquals(LocalDate.of(2024, 12, 30).toEpochDay(), windowed[1]);
+
+        final List<List<LocalDate>> results = SharedDateScanExecutor.of().execute(List.of(earliest, latest));
+        assertEquals(LocalDate.of(1, 1, 1).datesUntil(LocalDate.of(1, 3, 6), Period.ofWeeks(1)).collect(Collectors.toList()), results.get(0));
+        assertEquals(List.of(LocalDate.of(2024, 12, 30), LocalDate.of(2024, 12, 23)), results.get(1));
+    }
+
+    @Test
+    public void testLimitWithResidual() {
+        // The residual atom matches only in 2020. Narrowing by the limit must not seek beyond the window for it.
+        final Formula<ChronoLocalDate> formula = And.of(AfterYear.orEqualTo(1900), new FifteenthIn2020());
+        final DateRange window = DateRange.of(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+        final DateQuery earliest = DateQuery.of(formula, Order.FROM_EARLIEST_TO_LATEST).within(window).withLimit(20L);
+        final DateQuery latest = DateQuery.of(formula, Order.FROM_LATEST_TO_EARLIEST).within(window).withLimit(20L);
+        assertEquals(LocalDate.of(2020, 1, 15).toEpochDay(), earliest.epochDayRange()[0]);
+        assertEquals(LocalDate.of(2020, 12, 31).toEpochDay(), earliest.epochDayRange()[1]);
+        assertEquals(LocalDate.of(2020, 1, 15).toEpochDay(), latest.epochDayRange()[0]);
+        assertEquals(LocalDate.of(2020, 12, 31).toEpochDay(), latest.epochDayRange()[1]);
+
+        final List<List<LocalDate>> results = SharedDateScanExecutor.of().execute(List.of(earliest, latest));
+        assertEquals(12, results.get(0).size());
+        assertEquals(LocalDate.of(2020, 12, 15), results.get(1).get(0));
+        assertEquals(12, results.get(1).size());
+    }
+
+    private static List<LocalDate> expected(final DateQuery query) {
+        final DateRange window = query.window().orElse(DateRange.of(LocalDate.of(1900, 1, 1), LocalDate.of(2100, 12, 31)));
+        final List<LocalDate> dates = query.matcher().streamRanges(window.start(), window.end(), query.order())
+                .flatMap(range -> {
+                    final List<LocalDate> days = range.start().datesUntil(range.end().plusDays(1)).collect(Collectors.toList());
+                    if (query.order() == Order.FROM_LATEST_TO_EARLIEST) {
+                        Collections.reverse(days);
+                    }
+                    return days.stream();
+                })
+                .collect(Collectors.toList());
+        return dates.subList(0, (int) Math.min(dates.size(), query.limit().orElse(Long.MAX_VALUE)));
+    }
+
+    private static final class FifteenthIn2020 extends DateAtom {
+        @Override
+        public boolean test(final ChronoLocalDate target) {
+            return target instanceof LocalDate && ((LocalDate) target).getYear() == 2020 && ((LocalDate) target).getDayOfMonth() == 15;
+        }
+
+        @Override
+        public DateAtom negate() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
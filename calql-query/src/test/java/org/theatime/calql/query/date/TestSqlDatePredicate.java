@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.calql.query.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.theatime.calql.query.And;
+import org.theatime.calql.query.Formula;
+import org.theatime.calql.query.Not;
+import org.theatime.calql.query.Or;
+
+public class TestSqlDatePredicate {
+    @Test
+    public void testRanges() {
+        final SqlDatePredicate predicate = SqlDatePredicate.of("d");
+        assertEquals("d BETWEEN DATE '2020-01-01' AND DATE '2024-12-31'",
+                     predicate.where(And.of(AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(2024))));
+        assertEquals("d >= DATE '2020-01-01'", predicate.where(AfterYear.orEqualTo(2020)));
+        assertEquals("d BETWEEN DATE '2023-01-01' AND DATE '2023-02-28' OR d BETWEEN DATE '2024-01-01' AND DATE '2024-02-29'",
+                     predicate.where(And.of(EitherYear.of(2023, 2024), EitherMonth.of(1, 2))));
+        assertEquals("d IN (DATE '2024-01-01', DATE '2024-03-01')",
+                     predicate.where(EitherDate.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 1))));
+        assertEquals("1 = 1", predicate.where(Or.of(EitherMonth.of(1), And.of(AfterMonth.orEqualTo(1), BeforeMonth.orEqualTo(12)))));
+        assertEquals("1 = 0", predicate.where(And.of(EitherMonth.of(2), EitherMonth.of(3))));
+    }
+
+    @Test
+    public void testResiduals() {
+        final SqlDatePredicate predicate = SqlDatePredicate.of("d");
+        assertEquals("d >= DATE '2020-01-01' AND EXTRACT(MONTH FROM d) IN (1, 3) AND EXTRACT(ISO_DAY_OF_WEEK FROM d) = 1",
+                     predicate.where(And.of(AfterYear.orEqualTo(2020), EitherMonth.of(1, 3), EitherDayOfWeek.of(DayOfWeek.MONDAY))));
+        assertEquals("(d BETWEEN DATE '2019-01-01' AND DATE '2019-12-31' OR d >= DATE '2021-01-01') AND EXTRACT(DAY FROM d) BETWEEN 10 AND 20",
+                     predicate.where(And.of(AfterYear.orEqualTo(2019), EitherYear.notOf(2020), AfterDayOfMonth.orEqualTo(10), BeforeDayOfMonth.orEqualTo(20))));
+        assertEquals("EXTRACT(ISO_DAY_OF_WEEK FROM d) BETWEEN 6 AND 7 AND d <> DATE '2024-01-06'",
+                     predicate.where(And.of(EitherDayOfWeek.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), EitherDate.notOf(LocalDate.of(2024, 1, 6)))));
+    }
+
+    @Test
+    public void testOutOfSqlDates() {
+        final SqlDatePredicate predicate = SqlDatePredicate.of("d");
+        assertEquals("d >= DATE '2020-01-01'", predicate.where(And.of(AfterYear.orEqualTo(2020), BeforeYear.orEqualTo(12000))));
+        assertEquals("d <= DATE '2020-12-31'", predicate.where(And.of(AfterYear.orEqualTo(-5), BeforeYear.orEqualTo(2020))));
+        assertEquals("d >= DATE '9999-01-01'", predicate.where(EitherYear.of(9999, 10000)));
+        assertEquals("1 = 0", predicate.where(EitherYear.of(0, 10000)));
+        assertEquals("d = DATE '2024-01-01'", predicate.where(EitherDate.of(LocalDate.of(2024, 1, 1), LocalDate.of(10000, 1, 1))));
+        assertEquals("EXTRACT(ISO_DAY_OF_WEEK FROM d) = 1",
+                     predicate.where(And.of(EitherDayOfWeek.of(DayOfWeek.MONDAY), EitherDate.notOf(LocalDate.of(10000, 1, 3)))));
+    }
+
+    @Test
+    public void testOnH2() throws SQLException {
+        final List<Formula<ChronoLocalDate>> formulas = Arrays.asList(
+                And.of(AfterYear.orEqualTo(2001), BeforeYear.orEqualTo(2009), EitherMonth.of(2), EitherDayOfMonth.of(28, 29)),
+                And.of(EitherYear.notOf(2005), EitherDayOfMonth.of(13), EitherDayOfWeek.of(DayOfWeek.FRIDAY)),
+                Or.of(And.of(EitherYear.of(2003, 2004, 2010), Not.of(EitherMonth.of(6, 7, 8))),
+                      And.of(AfterMonth.orEqualTo(11), BeforeDayOfMonth.of(3), EitherDate.notOf(LocalDate.of(2006, 12, 1)))),
+                And.of(AfterYear.of(2000), EitherDate.of(LocalDate.of(2000, 12, 31), LocalDate.of(2001, 1, 1), LocalDate.of(2001, 1, 2))));
+
+        try (final Connection connection = DriverManager.getConnection("jdbc:h2:mem:calql")) {
+            try (final Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE events (d DATE NOT NULL PRIMARY KEY)");
+            }
+            try (final PreparedStatement insert = connection.prepareStatement("INSERT INTO events (d) VALUES (?)")) {
+                for (LocalDate date = LocalDate.of(2000, 1, 1); date.getYear() <= 2011; date = date.plusDays(1)) {
+                    insert.setObject(1, date);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+
+            for (final Formula<ChronoLocalDate> formula : formulas) {
+                final DateMatcher matcher = DateMatcher.of(formula);
+                final ArrayList<LocalDate> expected = new ArrayList<>();
+                for (LocalDate date = LocalDate.of(2000, 1, 1); date.getYear() <= 2011; date = date.plusDays(1)) {
+                    if (matcher.test(date)) {
+                        expected.add(date);
+                    }
+                }
+
+                for (final int maxRanges : new int[] { 1, SqlDatePredicate.DEFAULT_MAX_RANGES, 1000 }) {
+                    final String where = SqlDatePredicate.of("d", "EXTRACT(ISO_DAY_OF_WEEK FROM d)", maxRanges).where(formula);
+                    final ArrayList<LocalDate> actual = new ArrayList<>();
+                    try (final Statement statement = connection.createStatement();
+                            final ResultSet resultSet = statement.executeQuery("SELECT d FROM events WHERE " + where + " ORDER BY d")) {
+                        while (resultSet.next()) {
+                            actual.add(resultSet.getObject(1, LocalDate.class));
+                        }
+                    }
+                    assertEquals(expected, actual, where);
+                }
+            }
+        }
+    }
+}
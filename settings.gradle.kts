@@ -1,3 +1,4 @@
 rootProject.name = "calql"
 
 include(":calql-query")
+include(":calql-jmh")